@@ -0,0 +1,243 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.benchmark.config;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.deltaspike.core.api.config.Config;
+import org.apache.deltaspike.core.api.config.ConfigResolver;
+import org.apache.deltaspike.core.api.config.ConfigSnapshot;
+import org.apache.deltaspike.core.impl.config.MapConfigSource;
+import org.apache.deltaspike.core.impl.config.PropertyFileConfigSource;
+import org.apache.deltaspike.core.spi.config.ConfigFilter;
+import org.apache.deltaspike.core.spi.config.ConfigSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the hot paths of the config resolution.
+ *
+ * The config consists of the default ConfigSources (system properties, environment, ...),
+ * a configurable number of property files, a {@link MapConfigSource} with the highest ordinal
+ * and a {@link ConfigFilter}. All the looked up keys are provided by the property file with the lowest ordinal,
+ * so every lookup has to go through all the other ConfigSources first.
+ * With {@code reloading=async} the property files are indexable and get served by the ConfigSource index,
+ * with {@code reloading=polling} (the default of property files) they get asked one after the other.
+ *
+ * Build the benchmarks with {@code mvn -Pbenchmarks package} and run the contention scenarios
+ * by setting the number of threads, e.g.:
+ * <pre>
+ * java -jar target/benchmarks.jar ConfigResolutionBenchmark -t 1
+ * java -jar target/benchmarks.jar ConfigResolutionBenchmark -t 8
+ * java -jar target/benchmarks.jar ConfigResolutionBenchmark -t 64
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConfigResolutionBenchmark
+{
+    private static final String KEY_PREFIX = "deltaspike.benchmark.";
+
+    @Param({ "1", "4", "16" })
+    private int propertyFileCount;
+
+    @Param({ "async", "polling" })
+    private String reloading;
+
+    private final List<File> propertyFiles = new ArrayList<File>();
+    private final List<ConfigSource> configSources = new ArrayList<ConfigSource>();
+
+    private Config config;
+    private ConfigResolver.TypedResolver<Integer> uncachedResolver;
+    private ConfigResolver.TypedResolver<Integer> cachedResolver;
+    private ConfigResolver.TypedResolver<String> hostResolver;
+    private ConfigResolver.TypedResolver<Integer> portResolver;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException
+    {
+        for (int i = 0; i < propertyFileCount; i++)
+        {
+            File propertyFile = File.createTempFile("deltaspike-benchmark-" + i, ".properties");
+            propertyFiles.add(propertyFile);
+
+            FileWriter fw = new FileWriter(propertyFile);
+            try
+            {
+                fw.write(ConfigSource.DELTASPIKE_ORDINAL + "=" + (1000 + i) + "\n");
+                if ("async".equals(reloading))
+                {
+                    fw.write(PropertyFileConfigSource.RELOAD_ASYNC + "=true\n");
+                }
+                fw.write(KEY_PREFIX + "file" + i + "=value" + i + "\n");
+                if (i == 0)
+                {
+                    fw.write(KEY_PREFIX + "string=someValue\n");
+                    fw.write(KEY_PREFIX + "int=4711\n");
+                    fw.write(KEY_PREFIX + "host=localhost\n");
+                    fw.write(KEY_PREFIX + "port=8080\n");
+                    fw.write(KEY_PREFIX + "url=http://${" + KEY_PREFIX + "host}:${" + KEY_PREFIX + "port}/app\n");
+                    fw.write(KEY_PREFIX + "stage.Production=production\n");
+                    fw.write(KEY_PREFIX + "stage=default\n");
+                }
+            }
+            finally
+            {
+                fw.close();
+            }
+
+            configSources.add(new PropertyFileConfigSource(propertyFile.toURI().toURL()));
+        }
+
+        Map<String, String> highOrdinalValues = new HashMap<String, String>();
+        highOrdinalValues.put(KEY_PREFIX + "map", "mapValue");
+        configSources.add(new BenchmarkMapConfigSource(highOrdinalValues));
+
+        ConfigResolver.addConfigSources(configSources);
+        ConfigResolver.addConfigFilter(new BenchmarkConfigFilter());
+
+        config = ConfigResolver.getConfig();
+        uncachedResolver = config.resolve(KEY_PREFIX + "int").as(Integer.class);
+        cachedResolver = config.resolve(KEY_PREFIX + "int").as(Integer.class).cacheUntilChanged();
+        hostResolver = config.resolve(KEY_PREFIX + "host");
+        portResolver = config.resolve(KEY_PREFIX + "port").as(Integer.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception
+    {
+        ConfigResolver.freeConfigSources();
+
+        for (ConfigSource configSource : configSources)
+        {
+            if (configSource instanceof AutoCloseable)
+            {
+                ((AutoCloseable) configSource).close();
+            }
+        }
+        for (File propertyFile : propertyFiles)
+        {
+            propertyFile.delete();
+        }
+    }
+
+    @Benchmark
+    public String getPropertyValue()
+    {
+        return ConfigResolver.getPropertyValue(KEY_PREFIX + "string");
+    }
+
+    @Benchmark
+    public String getPropertyValueMissing()
+    {
+        return ConfigResolver.getPropertyValue(KEY_PREFIX + "nonexisting");
+    }
+
+    @Benchmark
+    public String getProjectStageAwarePropertyValue()
+    {
+        return ConfigResolver.getProjectStageAwarePropertyValue(KEY_PREFIX + "stage");
+    }
+
+    @Benchmark
+    public String getPropertyValueWithVariables()
+    {
+        return ConfigResolver.getPropertyValue(KEY_PREFIX + "url", true);
+    }
+
+    @Benchmark
+    public Integer resolveTyped()
+    {
+        return config.resolve(KEY_PREFIX + "int").as(Integer.class).getValue();
+    }
+
+    @Benchmark
+    public Integer resolveTypedReused()
+    {
+        return uncachedResolver.getValue();
+    }
+
+    @Benchmark
+    public Integer resolveTypedCached()
+    {
+        return cachedResolver.getValue();
+    }
+
+    @Benchmark
+    public Integer snapshot()
+    {
+        ConfigSnapshot snapshot = config.snapshotFor(hostResolver, portResolver);
+        return hostResolver.getValue(snapshot).length() + portResolver.getValue(snapshot);
+    }
+
+    private static class BenchmarkMapConfigSource extends MapConfigSource
+    {
+        BenchmarkMapConfigSource(Map<String, String> map)
+        {
+            super(map);
+            initOrdinal(2000);
+        }
+
+        @Override
+        public String getConfigName()
+        {
+            return "benchmark-map";
+        }
+    }
+
+    /**
+     * Behaves like a typical password filter, which only touches some of the keys.
+     */
+    private static class BenchmarkConfigFilter implements ConfigFilter
+    {
+        @Override
+        public String filterValue(String key, String value)
+        {
+            return value;
+        }
+
+        @Override
+        public String filterValueForLog(String key, String value)
+        {
+            return key.contains("password") ? "*******" : value;
+        }
+    }
+}
@@ -468,6 +468,8 @@ public final class ConfigResolver
          * Specify that a resolved value will get cached for a certain amount of time.
          * After the time expires the next {@link #getValue()} will again resolve the value
          * from the underlying {@link ConfigResolver}.
+         * The value also gets resolved again if a {@link ConfigSource} reports a change
+         * of one of the keys the value got resolved from.
          *
          * @param timeUnit the TimeUnit for the value
          * @param value the amount of the TimeUnit to wait
@@ -475,6 +477,21 @@ public final class ConfigResolver
          */
         TypedResolver<T> cacheFor(TimeUnit timeUnit, long value);
 
+        /**
+         * Specify that a resolved value will get cached until a {@link ConfigSource} reports
+         * a change of one of the keys the value got resolved from.
+         * This also includes the keys of evaluated variables.
+         *
+         * Note that changes will only be picked up from ConfigSources which report them
+         * via {@link ConfigSource#setOnAttributeChange(java.util.function.Consumer)}.
+         * Use {@link #cacheFor(TimeUnit, long)} if values might change in other ConfigSources.
+         *
+         * @return This builder
+         *
+         * @since 1.9.5
+         */
+        TypedResolver<T> cacheUntilChanged();
+
         /**
          * Whether to evaluate variables in configured values.
          * A variable starts with '${' and ends with '}', e.g.
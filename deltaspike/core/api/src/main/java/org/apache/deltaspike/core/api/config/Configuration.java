@@ -52,4 +52,16 @@ public @interface Configuration
      * @return the key prefix to apply to all methods.
      */
     String prefix() default "";
+
+    /**
+     * If enabled, all the values of the interface get resolved together into an immutable snapshot.
+     * The snapshot gets replaced as a whole once a ConfigSource reported a change
+     * or once the time configured via {@link #cacheFor()} elapsed.
+     * Values of ConfigSources which don't report their changes are therefore only reloaded
+     * if {@link #cacheFor()} is set.
+     *
+     * @return whether the values get served from a snapshot.
+     * @since 1.9.5
+     */
+    boolean snapshot() default false;
 }
@@ -93,6 +93,40 @@ public interface CoreBaseConfig extends DeltaSpikeBaseConfig
                             .withCurrentProjectStage(true)
                             .withDefault(1024)
                             .getValue();
+
+            /**
+             * Windows which weren't accessed for this time get destroyed. A value of 0 or less disables it.
+             */
+            Integer MAX_IDLE_IN_SECONDS =
+                    ConfigResolver.resolve("deltaspike.scope.window.max-idle_in_seconds")
+                            .as(Integer.class)
+                            .withCurrentProjectStage(true)
+                            .withDefault(0)
+                            .getValue();
+
+            /**
+             * The maximum number of window-scoped bean instances of all the windows of a session.
+             * It's an estimation of the memory used by the windows, as the number of instances of a window
+             * only gets updated once the window gets accessed. The least recently used windows get destroyed
+             * once it's exceeded. A value of 0 or less disables it.
+             */
+            Integer MAX_BEAN_COUNT =
+                    ConfigResolver.resolve("deltaspike.scope.window.max-bean-count")
+                            .as(Integer.class)
+                            .withCurrentProjectStage(true)
+                            .withDefault(0)
+                            .getValue();
+
+            /**
+             * Whether the beans of windows which got destroyed because of a quota get destroyed in the background
+             * instead of the end of the request.
+             */
+            Boolean ASYNC_DESTROY =
+                    ConfigResolver.resolve("deltaspike.scope.window.async-destroy")
+                            .as(Boolean.class)
+                            .withCurrentProjectStage(true)
+                            .withDefault(Boolean.FALSE)
+                            .getValue();
         }
     }
 
@@ -106,6 +140,119 @@ public interface CoreBaseConfig extends DeltaSpikeBaseConfig
                         .getValue();
     }
 
+    interface MetricsCustomization
+    {
+        String CONCURRENCY_METRICS_ENABLED_KEY = "deltaspike.metrics.concurrency.enabled";
+
+        /**
+         * Whether the waits of the throttling and locking interceptors get recorded
+         * and exposed via JMX. Disabled by default, so the interceptors don't pay for it.
+         */
+        Boolean CONCURRENCY_METRICS_ENABLED =
+                ConfigResolver.resolve(CONCURRENCY_METRICS_ENABLED_KEY)
+                        .as(Boolean.class)
+                        .withCurrentProjectStage(true)
+                        .withDefault(Boolean.FALSE)
+                        .getValue();
+    }
+
+    interface MonitoringCustomization
+    {
+        /**
+         * Whether {@link org.apache.deltaspike.core.api.monitoring.InvocationMonitored} invocations
+         * get counted per request.
+         */
+        Boolean REQUEST_AGGREGATION_ENABLED =
+                ConfigResolver.resolve("deltaspike.monitoring.request-aggregation.enabled")
+                        .as(Boolean.class)
+                        .withCurrentProjectStage(true)
+                        .withDefault(Boolean.TRUE)
+                        .getValue();
+
+        /**
+         * Whether {@link org.apache.deltaspike.core.api.monitoring.InvocationMonitored} invocations
+         * get counted for the whole application, independent of an active request.
+         */
+        Boolean APPLICATION_AGGREGATION_ENABLED =
+                ConfigResolver.resolve("deltaspike.monitoring.application-aggregation.enabled")
+                        .as(Boolean.class)
+                        .withCurrentProjectStage(true)
+                        .withDefault(Boolean.FALSE)
+                        .getValue();
+
+        /**
+         * The period for publishing the application wide counters.
+         * A value of 0 or less disables the periodic publishing.
+         */
+        Integer APPLICATION_AGGREGATION_PERIOD_IN_SECONDS =
+                ConfigResolver.resolve("deltaspike.monitoring.application-aggregation.period_in_seconds")
+                        .as(Integer.class)
+                        .withCurrentProjectStage(true)
+                        .withDefault(60)
+                        .getValue();
+    }
+
+    interface ExceptionControlCustomization
+    {
+        /**
+         * The name of the thread pool which invokes the asynchronous exception handlers.
+         * It can be configured like the pools of {@code @Futureable} via {@code futureable.pool.<name>.*}.
+         */
+        String ASYNC_HANDLER_POOL =
+                ConfigResolver.resolve("deltaspike.exception-control.async.pool")
+                        .as(String.class)
+                        .withCurrentProjectStage(true)
+                        .withDefault("deltaspike-exception-handlers")
+                        .getValue();
+
+        /**
+         * The maximum number of pending asynchronous deliveries.
+         * Further exceptions get delivered on the thread which caught them.
+         */
+        Integer ASYNC_HANDLER_MAX_PENDING =
+                ConfigResolver.resolve("deltaspike.exception-control.async.max-pending")
+                        .as(Integer.class)
+                        .withCurrentProjectStage(true)
+                        .withDefault(1024)
+                        .getValue();
+
+        /**
+         * Identical exceptions within this time get delivered once to an asynchronous handler.
+         * A value of 0 or less only coalesces exceptions while the delivery is queued.
+         */
+        Integer ASYNC_HANDLER_COALESCING_WINDOW_IN_MILLISECONDS =
+                ConfigResolver.resolve("deltaspike.exception-control.async.coalescing-window_in_milliseconds")
+                        .as(Integer.class)
+                        .withCurrentProjectStage(true)
+                        .withDefault(1000)
+                        .getValue();
+    }
+
+    interface MessageCustomization
+    {
+        /**
+         * The maximum number of parsed {@link java.text.MessageFormat}s which get cached
+         * by the MessageFormatMessageInterpolator. A value of 0 or less disables the cache.
+         */
+        Integer MESSAGE_FORMAT_CACHE_SIZE =
+                ConfigResolver.resolve("deltaspike.message.format-cache.size")
+                        .as(Integer.class)
+                        .withCurrentProjectStage(true)
+                        .withDefault(1024)
+                        .getValue();
+
+        /**
+         * The maximum number of messages which get cached by the DefaultMessageResolver
+         * (including the ones which couldn't be resolved). A value of 0 or less disables the cache.
+         */
+        Integer RESOLVED_MESSAGE_CACHE_SIZE =
+                ConfigResolver.resolve("deltaspike.message.resolved-cache.size")
+                        .as(Integer.class)
+                        .withCurrentProjectStage(true)
+                        .withDefault(4096)
+                        .getValue();
+    }
+
     interface ParentExtensionCustomization
     {
         Boolean PARENT_EXTENSION_ENABLED =
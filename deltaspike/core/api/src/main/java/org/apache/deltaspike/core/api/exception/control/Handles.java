@@ -46,4 +46,13 @@ public @interface Handles
      * a lower ordinal.
      */
     int ordinal() default 0; //TODO discuss Precedence
+
+    /**
+     * Asynchronous handlers get invoked on a background thread and don't delay the thread which caught the exception.
+     * Identical exceptions which occur within a short time get delivered once, see
+     * {@link org.apache.deltaspike.core.api.exception.control.event.ExceptionEvent#getOccurrences()}.
+     * The handling flow requested by an asynchronous handler (e.g. {@code handled()} or {@code abort()}) is ignored,
+     * it only applies to synchronous handlers.
+     */
+    boolean async() default false;
 }
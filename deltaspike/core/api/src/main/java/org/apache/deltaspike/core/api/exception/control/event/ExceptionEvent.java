@@ -75,4 +75,13 @@ public interface ExceptionEvent<T extends Throwable>
      * Check to see if this exception has been handled.
      */
     boolean isMarkedHandled();
+
+    /**
+     * How often the exception occurred. Only asynchronous handlers can get more than one occurrence of identical
+     * exceptions delivered at once.
+     */
+    default int getOccurrences()
+    {
+        return 1;
+    }
 }
@@ -57,6 +57,13 @@ public @interface MBean
      */
     String properties() default "";
 
+    /**
+     * @return whether an application property gets added to the objectName if no objectName was specified,
+     *         so that the MBeans of several applications using the same bean don't replace each other.
+     *         Its value is the configured {@code deltaspike.application.name} or an id of the application.
+     */
+    boolean perApplication() default false;
+
     /**
      * @return the type to use if no objectName was specified. Default is <pre>MBeans</pre> and can be
      *         overriden either directly by the value or by a key used to resolve a value using
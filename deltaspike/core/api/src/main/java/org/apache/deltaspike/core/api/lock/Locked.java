@@ -21,6 +21,7 @@ package org.apache.deltaspike.core.api.lock;
 import javax.enterprise.inject.spi.AnnotatedMethod;
 import javax.enterprise.util.Nonbinding;
 import javax.interceptor.InterceptorBinding;
+import javax.interceptor.InvocationContext;
 import java.lang.annotation.Retention;
 import java.lang.annotation.Target;
 import java.util.concurrent.TimeUnit;
@@ -68,6 +69,29 @@ public @interface Locked
     @Nonbinding
     TimeUnit timeoutUnit() default TimeUnit.MILLISECONDS;
 
+    /**
+     * @return the index of the method parameter which selects the lock, so that invocations for different keys
+     * don't block each other. Ignored by default since it is -1.
+     */
+    @Nonbinding
+    int keyParameter() default -1;
+
+    /**
+     * @return how to retrieve the key which selects the lock. Takes precedence over {@link #keyParameter()}.
+     */
+    @Nonbinding
+    Class<? extends LockKeyExtractor> keyExtractor() default LockKeyExtractor.class;
+
+    /**
+     * @return the number of locks the keys get spread over. Keys sharing a stripe also share the lock,
+     * which keeps the memory bounded for any number of keys. Only used if there is a key,
+     * in which case the locks don't come from the {@link #factory()}.
+     * All keyed methods of a class share their stripes, so they have to use the same number of stripes,
+     * while the other @Locked methods of the class lock all of them.
+     */
+    @Nonbinding
+    int stripes() default 64;
+
     enum Operation
     {
         READ, WRITE
@@ -85,4 +109,16 @@ public @interface Locked
          */
         ReadWriteLock newLock(AnnotatedMethod<?> method, boolean fair);
     }
+
+    /**
+     * Provide the key which selects the lock for an invocation.
+     */
+    interface LockKeyExtractor
+    {
+        /**
+         * @param ic the intercepted invocation.
+         * @return the key, invocations with equal keys share the same lock.
+         */
+        Object extractKey(InvocationContext ic);
+    }
 }
@@ -33,6 +33,10 @@ import java.lang.annotation.Target;
  *
  * At the end of a request the final times will get sent out
  * as {@link MonitorResultEvent}.
+ *
+ * If {@code deltaspike.monitoring.application-aggregation.enabled} is set, the invocations
+ * additionally get counted for the whole application and get sent out periodically
+ * as {@link MonitorResultEvent} as well.
  */
 @Inherited
 @InterceptorBinding
@@ -23,6 +23,7 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.Target;
 import javax.enterprise.inject.spi.AnnotatedMethod;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 import static java.lang.annotation.ElementType.METHOD;
 import static java.lang.annotation.ElementType.TYPE;
@@ -59,6 +60,33 @@ public @interface Throttling
     @Nonbinding
     String name() default "";
 
+    /**
+     * @return how many permits get granted per {@link #rateUnit()}. If set, the invocations are limited in their rate
+     * instead of their concurrency and {@link #permits()} and {@link #fair()} are ignored.
+     * Ignored by default since it is 0.
+     */
+    @Nonbinding
+    int rate() default 0;
+
+    /**
+     * @return the unit of {@link #rate()}.
+     */
+    @Nonbinding
+    TimeUnit rateUnit() default TimeUnit.SECONDS;
+
+    /**
+     * @return how many permits can be accumulated while there are no invocations.
+     * Defaults to the permits granted within one second (at least 1).
+     */
+    @Nonbinding
+    int burst() default 0;
+
+    /**
+     * @return how to get the rate limiter if {@link #rate()} is set. Default to a token bucket.
+     */
+    @Nonbinding
+    Class<? extends RateLimiterFactory> rateLimiterFactory() default RateLimiterFactory.class;
+
     interface SemaphoreFactory
     {
         /**
@@ -70,4 +98,42 @@ public @interface Throttling
          */
         Semaphore newSemaphore(AnnotatedMethod<?> method, String name, boolean fair, int permits);
     }
+
+    interface RateLimiterFactory
+    {
+        /**
+         * @param method the intercepted method.
+         * @param name bucket name.
+         * @param rate how many permits get granted per rateUnit.
+         * @param rateUnit the unit of the rate.
+         * @param burst how many permits can be accumulated.
+         * @return the rate limiter build accordingly the parameters.
+         */
+        RateLimiter newRateLimiter(AnnotatedMethod<?> method, String name, int rate, TimeUnit rateUnit, int burst);
+    }
+
+    /**
+     * Grants a limited number of permits per time unit. Permits don't get released.
+     */
+    interface RateLimiter
+    {
+        /**
+         * Waits until the permits got granted.
+         *
+         * @param permits how many permits to acquire.
+         * @throws InterruptedException if the waiting thread got interrupted.
+         */
+        void acquire(int permits) throws InterruptedException;
+
+        /**
+         * Waits until the permits got granted, if this is possible within the given timeout.
+         *
+         * @param permits how many permits to acquire.
+         * @param timeout the maximum time to wait.
+         * @param unit the unit of timeout.
+         * @return true if the permits got granted, false if they can't be granted in time.
+         * @throws InterruptedException if the waiting thread got interrupted.
+         */
+        boolean tryAcquire(int permits, long timeout, TimeUnit unit) throws InterruptedException;
+    }
 }
@@ -109,6 +109,23 @@ public interface ConfigSource
      */
     boolean isScannable();
 
+    /**
+     * Determines if the values of this config source can be served from an index
+     * which gets built from {@link #getProperties()}.
+     *
+     * A ConfigSource must only return true if {@link #getPropertyValue(String)} always returns
+     * the same value as {@code getProperties().get(key)} and if every change of its values
+     * gets reported via the callback passed to {@link #setOnAttributeChange(Consumer)}.
+     * ConfigSources which are backed by mutable maps or which lazily detect changes
+     * on lookup must return false.
+     *
+     * @return true if the values of this ConfigSource might get indexed, false otherwise.
+     */
+    default boolean isIndexable()
+    {
+        return false;
+    }
+
     /**
      * This callback should get invoked if an attribute change got detected inside the ConfigSource.
      *
@@ -28,4 +28,13 @@ import java.io.Serializable;
 public interface WindowContextQuotaHandler extends Deactivatable, Serializable
 {
     void checkWindowContextQuota(String windowId);
+
+    /**
+     * Called once a window got closed or destroyed, so the handler can forget about it.
+     * @param windowId the id of the window which is gone
+     */
+    default void windowClosed(String windowId)
+    {
+        // nothing to forget by default
+    }
 }
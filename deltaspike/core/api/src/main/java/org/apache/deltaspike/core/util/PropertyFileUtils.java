@@ -30,10 +30,13 @@ import java.util.Locale;
 import java.util.Properties;
 import java.util.ResourceBundle;
 import java.util.Vector;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Typed()
 public abstract class PropertyFileUtils
 {
+    private static final AtomicInteger RESOURCE_BUNDLE_GENERATION = new AtomicInteger();
+
     /**
      * Constructor which prevents the instantiation of this class
      */
@@ -148,4 +151,23 @@ public abstract class PropertyFileUtils
     {
         return ResourceBundle.getBundle(bundleName, locale, ClassUtils.getClassLoader(null));
     }
+
+    /**
+     * Drops the cached ResourceBundles of the current ClassLoader, so they get loaded again with the next access.
+     * Everything which got cached based on the content of the ResourceBundles (e.g. resolved messages)
+     * gets invalidated as well.
+     */
+    public static void reloadResourceBundles()
+    {
+        ResourceBundle.clearCache(ClassUtils.getClassLoader(null));
+        RESOURCE_BUNDLE_GENERATION.incrementAndGet();
+    }
+
+    /**
+     * @return a number which changes whenever the ResourceBundles got reloaded via {@link #reloadResourceBundles()}
+     */
+    public static int getResourceBundleGeneration()
+    {
+        return RESOURCE_BUNDLE_GENERATION.get();
+    }
 }
@@ -33,6 +33,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -44,14 +47,26 @@ public class ConfigImpl implements Config
 {
     private static final Logger LOG = Logger.getLogger(ConfigImpl.class.getName());
 
+    private static final int MAX_VALUE_TEMPLATES = 1024;
+
     private final ClassLoader classLoader;
 
     private ConfigSource[] configSources;
     private List<ConfigFilter> configFilters;
 
+    // immutable and swapped as a whole whenever the ConfigSources or their values change
+    private volatile ConfigSourceIndex configSourceIndex = ConfigSourceIndex.EMPTY;
+
     // volatile to a.) make the read/write behave atomic and b.) guarantee multi-thread safety
     private volatile long lastChanged = 0;
 
+    // compiled variable templates by raw value, cleared whenever a ConfigSource reports a change
+    private final ConcurrentMap<String, ConfigValueTemplate> valueTemplates = new ConcurrentHashMap<>();
+
+    // TypedResolvers which cache their value, weakly referenced to not prevent their garbage collection
+    private final Set<TypedResolverImpl<?>> cachingResolvers
+        = Collections.newSetFromMap(new WeakHashMap<TypedResolverImpl<?>, Boolean>());
+
     public ConfigImpl(ClassLoader classLoader)
     {
         this.classLoader = classLoader;
@@ -155,7 +170,7 @@ public class ConfigImpl implements Config
     }
 
     @Override
-    public void addConfigSources(List<ConfigSource> configSourcesToAdd)
+    public synchronized void addConfigSources(List<ConfigSource> configSourcesToAdd)
     {
         if (configSourcesToAdd == null || configSourcesToAdd.isEmpty())
         {
@@ -179,6 +194,7 @@ public class ConfigImpl implements Config
         }
 
         this.configSources = sortDescending(allConfigSources);
+        this.configSourceIndex = ConfigSourceIndex.build(this.configSources);
     }
 
     @Override
@@ -238,9 +254,68 @@ public class ConfigImpl implements Config
 
     public void onAttributeChange(Set<String> attributesChanged)
     {
+        rebuildConfigSourceIndex();
+        valueTemplates.clear();
+
         // this is to force an incremented lastChanged even on time glitches and fast updates
         long newLastChanged = System.nanoTime();
-        lastChanged = lastChanged >= newLastChanged ? lastChanged++ : newLastChanged;
+        lastChanged = lastChanged >= newLastChanged ? lastChanged + 1 : newLastChanged;
+
+        // must happen after lastChanged got updated, see TypedResolverImpl#getValue
+        List<TypedResolverImpl<?>> resolvers;
+        synchronized (cachingResolvers)
+        {
+            resolvers = new ArrayList<>(cachingResolvers);
+        }
+        for (TypedResolverImpl<?> resolver : resolvers)
+        {
+            resolver.onAttributeChange(attributesChanged);
+        }
+    }
+
+    /**
+     * @param value a raw configured value
+     * @return the compiled template for the given value
+     */
+    ConfigValueTemplate getValueTemplate(String value)
+    {
+        ConfigValueTemplate template = valueTemplates.get(value);
+        if (template == null)
+        {
+            template = ConfigValueTemplate.compile(value);
+
+            // values of ConfigSources which don't report their changes might keep changing
+            if (valueTemplates.size() >= MAX_VALUE_TEMPLATES)
+            {
+                valueTemplates.clear();
+            }
+            valueTemplates.put(value, template);
+        }
+        return template;
+    }
+
+    /**
+     * Register a caching TypedResolver to get notified about changed attributes.
+     */
+    void subscribe(TypedResolverImpl<?> typedResolver)
+    {
+        synchronized (cachingResolvers)
+        {
+            cachingResolvers.add(typedResolver);
+        }
+    }
+
+    private synchronized void rebuildConfigSourceIndex()
+    {
+        this.configSourceIndex = ConfigSourceIndex.build(this.configSources);
+    }
+
+    /**
+     * @return the current lookup structure for all ConfigSources of this Config
+     */
+    ConfigSourceIndex getConfigSourceIndex()
+    {
+        return configSourceIndex;
     }
 
     /**
@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.core.impl.config;
+
+import org.apache.deltaspike.core.spi.config.ConfigSource;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable lookup structure over the ordered ConfigSources of a {@link ConfigImpl}.
+ *
+ * Each run of consecutive {@link ConfigSource#isIndexable() indexable} ConfigSources
+ * gets merged into a single map which only contains the winning value for each key.
+ * All other ConfigSources are kept as they are and get asked in ordinal order.
+ * A new instance gets created whenever the ConfigSources or their values change.
+ */
+final class ConfigSourceIndex
+{
+    static final ConfigSourceIndex EMPTY = new ConfigSourceIndex(new Segment[0]);
+
+    private final Segment[] segments;
+
+    private ConfigSourceIndex(Segment[] segments)
+    {
+        this.segments = segments;
+    }
+
+    static ConfigSourceIndex build(ConfigSource[] configSources)
+    {
+        if (configSources == null)
+        {
+            return EMPTY;
+        }
+
+        List<Segment> segments = new ArrayList<>();
+        List<ConfigSource> indexableRun = new ArrayList<>();
+
+        for (ConfigSource configSource : configSources)
+        {
+            if (configSource.isScannable() && configSource.isIndexable())
+            {
+                indexableRun.add(configSource);
+                continue;
+            }
+
+            if (!indexableRun.isEmpty())
+            {
+                segments.add(Segment.indexed(indexableRun));
+                indexableRun.clear();
+            }
+            segments.add(Segment.direct(configSource));
+        }
+
+        if (!indexableRun.isEmpty())
+        {
+            segments.add(Segment.indexed(indexableRun));
+        }
+
+        return new ConfigSourceIndex(segments.toArray(new Segment[segments.size()]));
+    }
+
+    /**
+     * @return the segments in descending ordinal order
+     */
+    Segment[] getSegments()
+    {
+        return segments;
+    }
+
+    /**
+     * Either a single ConfigSource which gets asked directly,
+     * or the merged values of multiple indexable ConfigSources.
+     */
+    static final class Segment
+    {
+        private final ConfigSource configSource;
+        private final Map<String, IndexedValue> values;
+        private final String configName;
+
+        private Segment(ConfigSource configSource, Map<String, IndexedValue> values, String configName)
+        {
+            this.configSource = configSource;
+            this.values = values;
+            this.configName = configName;
+        }
+
+        private static Segment direct(ConfigSource configSource)
+        {
+            return new Segment(configSource, null, configSource.getConfigName());
+        }
+
+        private static Segment indexed(List<ConfigSource> configSources)
+        {
+            Map<String, IndexedValue> values = new HashMap<>();
+            List<String> configNames = new ArrayList<>(configSources.size());
+
+            // the ConfigSources are sorted descending, so the first value for a key wins
+            for (ConfigSource configSource : configSources)
+            {
+                configNames.add(configSource.getConfigName());
+
+                Map<String, String> properties = configSource.getProperties();
+                if (properties == null)
+                {
+                    continue;
+                }
+
+                for (Map.Entry<String, String> property : properties.entrySet())
+                {
+                    if (property.getValue() != null && !values.containsKey(property.getKey()))
+                    {
+                        values.put(property.getKey(), new IndexedValue(property.getValue(), configSource));
+                    }
+                }
+            }
+
+            return new Segment(null, values, "indexed" + configNames);
+        }
+
+        String getPropertyValue(String key)
+        {
+            if (configSource != null)
+            {
+                return configSource.getPropertyValue(key);
+            }
+
+            IndexedValue indexedValue = values.get(key);
+            return indexedValue != null ? indexedValue.value : null;
+        }
+
+        /**
+         * @return the name of the ConfigSource which provides the value for the given key,
+         *         or the name of this segment if there is no such value
+         */
+        String getConfigName(String key)
+        {
+            if (values != null)
+            {
+                IndexedValue indexedValue = values.get(key);
+                if (indexedValue != null)
+                {
+                    return indexedValue.configSource.getConfigName();
+                }
+            }
+            return configName;
+        }
+    }
+
+    private static final class IndexedValue
+    {
+        private final String value;
+        private final ConfigSource configSource;
+
+        private IndexedValue(String value, ConfigSource configSource)
+        {
+            this.value = value;
+            this.configSource = configSource;
+        }
+    }
+}
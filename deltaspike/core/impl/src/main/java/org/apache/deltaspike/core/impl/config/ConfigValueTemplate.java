@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.core.impl.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A configured value which got parsed into literal parts and {@code ${varName}} variables.
+ *
+ * Templates are immutable and only depend on the raw value, so they can be shared between threads.
+ */
+final class ConfigValueTemplate
+{
+    private static final String VARIABLE_START = "${";
+    private static final String VARIABLE_END = "}";
+
+    /**
+     * Alternating literals and variable names, starting and ending with a (maybe empty) literal.
+     */
+    private final String[] parts;
+
+    private ConfigValueTemplate(String[] parts)
+    {
+        this.parts = parts;
+    }
+
+    /**
+     * @return whether the given value contains anything which might be a variable
+     */
+    static boolean containsVariables(String value)
+    {
+        return value.contains(VARIABLE_START);
+    }
+
+    static ConfigValueTemplate compile(String value)
+    {
+        List<String> parts = new ArrayList<String>();
+        StringBuilder literal = new StringBuilder();
+
+        int pos = 0;
+        int startVar;
+        while ((startVar = value.indexOf(VARIABLE_START, pos)) >= 0)
+        {
+            int endVar = value.indexOf(VARIABLE_END, startVar);
+            if (endVar < 0)
+            {
+                break;
+            }
+
+            // for '${${a}' the inner variable gets used
+            int innerStartVar = value.lastIndexOf(VARIABLE_START, endVar);
+            if (innerStartVar > startVar)
+            {
+                literal.append(value, pos, innerStartVar);
+                pos = innerStartVar;
+                continue;
+            }
+
+            String varName = value.substring(startVar + VARIABLE_START.length(), endVar);
+            if (varName.isEmpty())
+            {
+                // '${}' is no variable
+                literal.append(value, pos, endVar + VARIABLE_END.length());
+                pos = endVar + VARIABLE_END.length();
+                continue;
+            }
+
+            literal.append(value, pos, startVar);
+            parts.add(literal.toString());
+            parts.add(varName);
+            literal.setLength(0);
+
+            pos = endVar + VARIABLE_END.length();
+        }
+
+        literal.append(value, pos, value.length());
+        parts.add(literal.toString());
+
+        return new ConfigValueTemplate(parts.toArray(new String[parts.size()]));
+    }
+
+    /**
+     * @param variableResolver provides the value of a variable or {@code null} if it cannot be resolved.
+     *                         Variables which cannot be resolved are kept as they are.
+     * @return the value with all the resolvable variables replaced
+     */
+    String render(Function<String, String> variableResolver)
+    {
+        if (parts.length == 1)
+        {
+            return parts[0];
+        }
+
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < parts.length; i++)
+        {
+            if (i % 2 == 0)
+            {
+                result.append(parts[i]);
+                continue;
+            }
+
+            String variableValue = variableResolver.apply(parts[i]);
+            if (variableValue != null)
+            {
+                result.append(variableValue);
+            }
+            else
+            {
+                result.append(VARIABLE_START).append(parts[i]).append(VARIABLE_END);
+            }
+        }
+        return result.toString();
+    }
+}
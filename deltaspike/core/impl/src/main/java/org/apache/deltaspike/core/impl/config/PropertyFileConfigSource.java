@@ -43,7 +43,7 @@ import org.apache.deltaspike.core.util.PropertyFileUtils;
  * This does not make sense for property files in JARs, but makes perfect sense
  * whenever a property file URL is directly on the file system.
  */
-public class PropertyFileConfigSource extends BaseConfigSource
+public class PropertyFileConfigSource extends BaseConfigSource implements AutoCloseable
 {
     /**
      * The name of a property which can be defined inside the property file
@@ -70,12 +70,25 @@ public class PropertyFileConfigSource extends BaseConfigSource
     public static final String RELOAD_PERIOD = "deltaspike_reload";
     public static final int RELOAD_PERIOD_DEFAULT = 300;
 
+    /**
+     * The name of a property which can be defined inside the property file
+     * to reload the file in a background thread instead of checking for changes on lookup.
+     * Changes get detected via a {@link java.nio.file.WatchService}.
+     * If the directory of the file cannot be watched, the file gets polled after
+     * the time defined in {@link #RELOAD_PERIOD}.
+     * <pre>
+     * deltaspike_reload_async=true
+     * </pre>
+     * This has no effect if dynamic reloading is disabled.
+     */
+    public static final String RELOAD_ASYNC = "deltaspike_reload_async";
+
     private final ConfigResolver.ConfigHelper configHelper;
 
     /**
      * currently loaded config properties.
      */
-    private Map<String, String> properties;
+    private volatile Map<String, String> properties;
 
     private final URL propertyFileUrl;
     private String filePath;
@@ -83,6 +96,11 @@ public class PropertyFileConfigSource extends BaseConfigSource
     private int reloadAllSeconds = RELOAD_PERIOD_DEFAULT;
     private Instant fileLastModified = null;
 
+    /**
+     * Whether the file gets reloaded by the {@link PropertyFileWatcher} instead of on lookup.
+     */
+    private boolean reloadAsync;
+
     /**
      * Reload after that time in seconds.
      */
@@ -110,6 +128,7 @@ public class PropertyFileConfigSource extends BaseConfigSource
                 fileLastModified = getLastModified();
                 configHelper = ConfigResolver.getConfigProvider().getHelper();
                 reloadAfterSec = getNowSeconds() + reloadAllSeconds;
+                reloadAsync = Boolean.parseBoolean(properties.get(RELOAD_ASYNC));
             }
         }
         else
@@ -118,6 +137,23 @@ public class PropertyFileConfigSource extends BaseConfigSource
         }
 
         initOrdinal(100);
+
+        if (reloadAsync && fileLastModified != null)
+        {
+            try
+            {
+                PropertyFileWatcher.watch(this, Paths.get(propertyFileUrl.toURI()), reloadAllSeconds);
+            }
+            catch (Exception e)
+            {
+                log.log(Level.WARNING, "Cannot watch property file " + filePath + ", reloading on lookup", e);
+                reloadAsync = false;
+            }
+        }
+        else
+        {
+            reloadAsync = false;
+        }
     }
 
     private void calculateReloadTime()
@@ -161,7 +197,7 @@ public class PropertyFileConfigSource extends BaseConfigSource
     @Override
     public Map<String, String> getProperties()
     {
-        if (needsReload())
+        if (!reloadAsync && needsReload())
         {
             reloadProperties();
         }
@@ -172,7 +208,7 @@ public class PropertyFileConfigSource extends BaseConfigSource
     @Override
     public String getPropertyValue(String key)
     {
-        if (needsReload())
+        if (!reloadAsync && needsReload())
         {
             reloadProperties();
         }
@@ -194,6 +230,28 @@ public class PropertyFileConfigSource extends BaseConfigSource
         return false;
     }
 
+    /**
+     * Reloads the property file if it got modified since the last load.
+     * Gets invoked by the {@link PropertyFileWatcher} thread.
+     */
+    void reloadIfModified()
+    {
+        final Instant newLastModified = getLastModified();
+        if (newLastModified != null && fileLastModified != null && newLastModified.isAfter(fileLastModified))
+        {
+            final Map<String, String> newProps = toMap(PropertyFileUtils.loadProperties(propertyFileUrl));
+            final Set<String> modfiedAttributes = configHelper.diffConfig(properties, newProps);
+
+            fileLastModified = newLastModified;
+            this.properties = newProps;
+
+            if (!modfiedAttributes.isEmpty() && reportAttributeChange != null)
+            {
+                reportAttributeChange.accept(modfiedAttributes);
+            }
+        }
+    }
+
     private synchronized void reloadProperties()
     {
         // another thread might have already updated the properties.
@@ -202,13 +260,15 @@ public class PropertyFileConfigSource extends BaseConfigSource
             final Map<String, String> newProps = toMap(PropertyFileUtils.loadProperties(propertyFileUrl));
 
             final Set<String> modfiedAttributes = configHelper.diffConfig(properties, newProps);
+
+            this.properties = newProps;
+
+            // only report the change after the new values are visible
             if (!modfiedAttributes.isEmpty())
             {
                 reportAttributeChange.accept(modfiedAttributes);
             }
 
-            this.properties = newProps;
-
             fileLastModified = getLastModified();
 
             calculateReloadTime();
@@ -263,4 +323,26 @@ public class PropertyFileConfigSource extends BaseConfigSource
     {
         return true;
     }
+
+    /**
+     * A property file can only be indexed if it doesn't get reloaded on lookup.
+     * Otherwise changes would only be detected on {@link #getPropertyValue(String)}.
+     */
+    @Override
+    public boolean isIndexable()
+    {
+        return configHelper == null || reloadAsync;
+    }
+
+    /**
+     * Stops watching the property file if it got reloaded asynchronously.
+     */
+    @Override
+    public void close()
+    {
+        if (reloadAsync)
+        {
+            PropertyFileWatcher.unwatch(this);
+        }
+    }
 }
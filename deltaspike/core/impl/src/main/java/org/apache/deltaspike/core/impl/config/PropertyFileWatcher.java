@@ -0,0 +1,303 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.core.impl.config;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A single background thread which reloads the {@link PropertyFileConfigSource}s
+ * configured with {@link PropertyFileConfigSource#RELOAD_ASYNC}.
+ *
+ * Changes get detected via a {@link WatchService} on the parent directory of each file
+ * and get picked up once the file didn't change for a short time.
+ * If a directory cannot be watched, the file gets polled in its configured reload period instead.
+ * The thread gets started with the first watched file and stops once the last one got unwatched.
+ */
+final class PropertyFileWatcher implements Runnable
+{
+    private static final Logger LOG = Logger.getLogger(PropertyFileWatcher.class.getName());
+
+    private static final long MAX_WAIT_MILLIS = 1000;
+
+    /**
+     * Files are only reloaded once no further change got reported for this time.
+     * This avoids picking up files which are still being written.
+     */
+    private static final long SETTLE_MILLIS = 200;
+
+    // guarded by PropertyFileWatcher.class
+    private static PropertyFileWatcher instance;
+
+    // all the following fields are guarded by PropertyFileWatcher.class as well
+    private final Map<WatchKey, Path> watchedDirectories = new HashMap<WatchKey, Path>();
+    private final List<WatchedFile> watchedFiles = new ArrayList<WatchedFile>();
+
+    private final WatchService watchService;
+    private final Thread thread;
+
+    private volatile boolean running = true;
+
+    // only accessed by the watcher thread
+    private long waitMillis = MAX_WAIT_MILLIS;
+
+    private PropertyFileWatcher()
+    {
+        WatchService newWatchService = null;
+        try
+        {
+            newWatchService = FileSystems.getDefault().newWatchService();
+        }
+        catch (IOException | UnsupportedOperationException e)
+        {
+            LOG.log(Level.INFO, "No WatchService available, falling back to polling property files", e);
+        }
+        watchService = newWatchService;
+
+        thread = new Thread(this, "deltaspike-config-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Start watching the given file for changes.
+     *
+     * @param configSource the ConfigSource which gets reloaded if the file changes
+     * @param file the property file
+     * @param pollSeconds the period for polling the file if its directory cannot be watched
+     */
+    static synchronized void watch(PropertyFileConfigSource configSource, Path file, int pollSeconds)
+    {
+        if (instance == null)
+        {
+            instance = new PropertyFileWatcher();
+        }
+        instance.register(configSource, file, pollSeconds);
+    }
+
+    /**
+     * Stop watching the files of the given ConfigSource.
+     */
+    static synchronized void unwatch(PropertyFileConfigSource configSource)
+    {
+        if (instance != null && instance.unregister(configSource))
+        {
+            instance.stop();
+            instance = null;
+        }
+    }
+
+    private void register(PropertyFileConfigSource configSource, Path path, int pollSeconds)
+    {
+        // a relative file name has no parent directory
+        Path file = path.toAbsolutePath();
+        Path directory = file.getParent();
+        boolean watched = false;
+
+        if (watchService != null && directory != null)
+        {
+            try
+            {
+                // registering the same directory twice returns the same WatchKey
+                WatchKey watchKey = directory.register(watchService,
+                        StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+                watchedDirectories.put(watchKey, directory);
+                watched = true;
+            }
+            catch (IOException | UnsupportedOperationException e)
+            {
+                LOG.log(Level.INFO, "Cannot watch directory " + directory + ", falling back to polling", e);
+            }
+        }
+
+        watchedFiles.add(new WatchedFile(configSource, file, directory, watched,
+                TimeUnit.SECONDS.toNanos(Math.max(1, pollSeconds))));
+    }
+
+    /**
+     * @return {@code true} if there is nothing left to watch
+     */
+    private boolean unregister(PropertyFileConfigSource configSource)
+    {
+        Iterator<WatchedFile> it = watchedFiles.iterator();
+        while (it.hasNext())
+        {
+            if (it.next().configSource == configSource)
+            {
+                it.remove();
+            }
+        }
+
+        return watchedFiles.isEmpty();
+    }
+
+    private void stop()
+    {
+        running = false;
+
+        if (watchService != null)
+        {
+            try
+            {
+                watchService.close();
+            }
+            catch (IOException e)
+            {
+                LOG.log(Level.FINE, "Exception while closing the WatchService", e);
+            }
+        }
+        thread.interrupt();
+    }
+
+    @Override
+    public void run()
+    {
+        while (running)
+        {
+            WatchKey watchKey = null;
+            try
+            {
+                if (watchService != null)
+                {
+                    watchKey = watchService.poll(waitMillis, TimeUnit.MILLISECONDS);
+                }
+                else
+                {
+                    Thread.sleep(waitMillis);
+                }
+            }
+            catch (InterruptedException | ClosedWatchServiceException e)
+            {
+                // either got stopped or will continue with the next loop
+                continue;
+            }
+
+            for (PropertyFileConfigSource configSource : collectChanged(watchKey))
+            {
+                try
+                {
+                    configSource.reloadIfModified();
+                }
+                catch (RuntimeException e)
+                {
+                    LOG.log(Level.WARNING, "Cannot reload ConfigSource " + configSource.getConfigName(), e);
+                }
+            }
+        }
+    }
+
+    private List<PropertyFileConfigSource> collectChanged(WatchKey watchKey)
+    {
+        List<PropertyFileConfigSource> changed = new ArrayList<PropertyFileConfigSource>();
+        long now = System.nanoTime();
+        long nextWakeUp = now + TimeUnit.MILLISECONDS.toNanos(MAX_WAIT_MILLIS);
+
+        synchronized (PropertyFileWatcher.class)
+        {
+            if (watchKey != null)
+            {
+                Path directory = watchedDirectories.get(watchKey);
+                for (WatchEvent<?> event : watchKey.pollEvents())
+                {
+                    boolean overflow = event.kind() == StandardWatchEventKinds.OVERFLOW;
+                    Path changedFile = overflow || directory == null ? null : directory.resolve((Path) event.context());
+
+                    for (WatchedFile watchedFile : watchedFiles)
+                    {
+                        if (overflow ? Objects.equals(watchedFile.directory, directory) :
+                                watchedFile.file.equals(changedFile))
+                        {
+                            // every further change postpones the reload
+                            watchedFile.nextPoll = now + TimeUnit.MILLISECONDS.toNanos(SETTLE_MILLIS);
+                            watchedFile.changePending = true;
+                        }
+                    }
+                }
+
+                if (!watchKey.reset())
+                {
+                    watchedDirectories.remove(watchKey);
+                }
+            }
+
+            for (WatchedFile watchedFile : watchedFiles)
+            {
+                if (watchedFile.watched && !watchedFile.changePending)
+                {
+                    continue;
+                }
+
+                if (now - watchedFile.nextPoll >= 0)
+                {
+                    watchedFile.changePending = false;
+                    watchedFile.nextPoll = now + watchedFile.pollNanos;
+                    if (!changed.contains(watchedFile.configSource))
+                    {
+                        changed.add(watchedFile.configSource);
+                    }
+                }
+
+                if (watchedFile.nextPoll - nextWakeUp < 0)
+                {
+                    nextWakeUp = watchedFile.nextPoll;
+                }
+            }
+        }
+
+        waitMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(nextWakeUp - now));
+        return changed;
+    }
+
+    private static final class WatchedFile
+    {
+        private final PropertyFileConfigSource configSource;
+        private final Path file;
+        private final Path directory;
+        private final boolean watched;
+        private final long pollNanos;
+        private long nextPoll;
+        private boolean changePending;
+
+        private WatchedFile(PropertyFileConfigSource configSource, Path file, Path directory, boolean watched,
+                            long pollNanos)
+        {
+            this.configSource = configSource;
+            this.file = file;
+            this.directory = directory;
+            this.watched = watched;
+            this.pollNanos = pollNanos;
+            this.nextPoll = System.nanoTime() + pollNanos;
+        }
+    }
+}
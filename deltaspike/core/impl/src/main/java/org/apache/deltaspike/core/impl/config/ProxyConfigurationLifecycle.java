@@ -18,8 +18,10 @@
  */
 package org.apache.deltaspike.core.impl.config;
 
+import org.apache.deltaspike.core.api.config.Config;
 import org.apache.deltaspike.core.api.config.ConfigProperty;
 import org.apache.deltaspike.core.api.config.ConfigResolver;
+import org.apache.deltaspike.core.api.config.ConfigSnapshot;
 import org.apache.deltaspike.core.api.config.Configuration;
 import org.apache.deltaspike.core.spi.config.BaseConfigPropertyProducer;
 import org.apache.deltaspike.core.util.metadata.builder.ContextualLifecycle;
@@ -32,11 +34,12 @@ import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Proxy;
 import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
@@ -59,10 +62,22 @@ class ProxyConfigurationLifecycle implements ContextualLifecycle
 
         final Configuration configuration = api[0].getAnnotation(Configuration.class);
         final long cacheFor = configuration.cacheFor();
-        return Proxy.newProxyInstance(
-                Thread.currentThread().getContextClassLoader(), api,
-                new ConfigurationHandler(
-                        cacheFor <= 0 ? -1 : configuration.cacheUnit().toMillis(cacheFor), configuration.prefix()));
+        final long cacheMs = cacheFor <= 0 ? -1 : configuration.cacheUnit().toMillis(cacheFor);
+
+        // in snapshot mode the whole snapshot gets cached instead of the single values
+        final Map<Method, PropertyResolver> dispatchTable = createDispatchTable(
+                configuration.snapshot() ? -1 : cacheMs, configuration.prefix());
+
+        final InvocationHandler handler;
+        if (configuration.snapshot())
+        {
+            handler = new SnapshotConfigurationHandler(dispatchTable, ConfigResolver.getConfig(), cacheMs);
+        }
+        else
+        {
+            handler = new ConfigurationHandler(dispatchTable);
+        }
+        return Proxy.newProxyInstance(Thread.currentThread().getContextClassLoader(), api, handler);
     }
 
     @Override
@@ -71,193 +86,327 @@ class ProxyConfigurationLifecycle implements ContextualLifecycle
         // no-op
     }
 
-    private static final class ConfigurationHandler implements InvocationHandler
+    /**
+     * Inspects all the methods of the interface once, so that invocations only need a single map lookup.
+     * Methods without {@link ConfigProperty} are left out and get rejected when they are called.
+     */
+    private Map<Method, PropertyResolver> createDispatchTable(final long cacheMs, final String prefix)
     {
-        private final BaseConfigPropertyProducer delegate = new BaseConfigPropertyProducer()
+        final BaseConfigPropertyProducer delegate = new BaseConfigPropertyProducer()
         {
         };
 
-        private final ConcurrentMap<Method, Supplier<?>> resolvers =
-                new ConcurrentHashMap<Method, Supplier<?>>();
-        private final long cacheMs;
-        private final String prefix;
-
-        private ConfigurationHandler(final long cacheMs, final String prefix)
+        final Map<Method, PropertyResolver> dispatchTable = new HashMap<Method, PropertyResolver>();
+        for (final Method method : api[0].getMethods())
         {
-            this.cacheMs = cacheMs;
-            this.prefix = prefix;
+            final ConfigProperty annotation = method.getAnnotation(ConfigProperty.class);
+            if (annotation == null || Object.class == method.getDeclaringClass())
+            {
+                continue;
+            }
+
+            dispatchTable.put(method,
+                    createPropertyResolver(delegate, method, annotation, dispatchTable.size(), cacheMs, prefix));
         }
+        return dispatchTable;
+    }
 
-        @Override
-        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable
+    private static PropertyResolver createPropertyResolver(final BaseConfigPropertyProducer delegate,
+                                                           final Method method, final ConfigProperty annotation,
+                                                           final int index, final long cacheMs, final String prefix)
+    {
+        // handle primitive bridge there (cdi doesnt support primitives but no reason our proxies don't)
+        final Class<? extends ConfigResolver.Converter> converter = annotation.converter();
+
+        final Type genericReturnType = method.getGenericReturnType();
+        Class<?> returnType = method.getReturnType();
+        final boolean list;
+        final boolean set;
+        if (converter == ConfigResolver.Converter.class &&
+                ParameterizedType.class.isInstance(genericReturnType))
         {
-            if (Object.class == method.getDeclaringClass())
+            ParameterizedType pt = ParameterizedType.class.cast(genericReturnType);
+            if (List.class == pt.getRawType() && pt.getActualTypeArguments().length == 1)
             {
-                try
+                list = true;
+                set = false;
+                final Type arg = pt.getActualTypeArguments()[0];
+                if (Class.class.isInstance(arg))
                 {
-                    return method.invoke(this, args);
+                    returnType = Class.class.cast(arg);
                 }
-                catch (final InvocationTargetException ite)
+            }
+            else if (Set.class == pt.getRawType() && pt.getActualTypeArguments().length == 1)
+            {
+                list = false;
+                set = true;
+                final Type arg = pt.getActualTypeArguments()[0];
+                if (Class.class.isInstance(arg))
                 {
-                    throw ite.getCause();
+                    returnType = Class.class.cast(arg);
                 }
             }
+            else
+            {
+                list = false;
+                set = false;
+            }
+        }
+        else
+        {
+            list = false;
+            set = false;
 
-            Supplier<?> supplier = resolvers.get(method);
-            if (supplier == null)
+            if (int.class == returnType)
             {
-                final ConfigProperty annotation = method.getAnnotation(ConfigProperty.class);
-                if (annotation == null)
-                {
-                    throw new UnsupportedOperationException(
-                            method + " doesn't have @ConfigProperty and therefore is illegal");
-                }
+                returnType = Integer.class;
+            }
+            else if (long.class == returnType)
+            {
+                returnType = Long.class;
+            }
+            else if (boolean.class == returnType)
+            {
+                returnType = Boolean.class;
+            }
+            else if (short.class == returnType)
+            {
+                returnType = Short.class;
+            }
+            else if (byte.class == returnType)
+            {
+                returnType = Byte.class;
+            }
+            else if (float.class == returnType)
+            {
+                returnType = Float.class;
+            }
+            else if (double.class == returnType)
+            {
+                returnType = Double.class;
+            }
+        }
 
-                // handle primitive bridge there (cdi doesnt support primitives but no reason our proxies don't)
-                final Class<? extends ConfigResolver.Converter> converter = annotation.converter();
+        final String defaultValue = annotation.defaultValue();
+        ConfigResolver.TypedResolver<?> typedResolver = delegate.asResolver(
+                prefix + annotation.name(), list || set ? ConfigProperty.NULL : defaultValue,
+                returnType, converter, annotation.parameterizedBy(),
+                annotation.projectStageAware(), annotation.evaluateVariables());
 
-                final Type genericReturnType = method.getGenericReturnType();
-                Class<?> returnType = method.getReturnType();
-                final boolean list;
-                final boolean set;
-                if (converter == ConfigResolver.Converter.class &&
-                        ParameterizedType.class.isInstance(genericReturnType))
-                {
-                    ParameterizedType pt = ParameterizedType.class.cast(genericReturnType);
-                    if (List.class == pt.getRawType() && pt.getActualTypeArguments().length == 1)
-                    {
-                        list = true;
-                        set = false;
-                        final Type arg = pt.getActualTypeArguments()[0];
-                        if (Class.class.isInstance(arg))
-                        {
-                            returnType = Class.class.cast(arg);
-                        }
-                    }
-                    else if (Set.class == pt.getRawType() && pt.getActualTypeArguments().length == 1)
-                    {
-                        list = false;
-                        set = true;
-                        final Type arg = pt.getActualTypeArguments()[0];
-                        if (Class.class.isInstance(arg))
-                        {
-                            returnType = Class.class.cast(arg);
-                        }
-                    }
-                    else
-                    {
-                        list = false;
-                        set = false;
-                    }
-                }
-                else
-                {
-                    list = false;
-                    set = false;
+        if (cacheMs > 0)
+        {
+            typedResolver.cacheFor(MILLISECONDS, cacheMs);
+        }
 
-                    if (int.class == returnType)
-                    {
-                        returnType = Integer.class;
-                    }
-                    else if (long.class == returnType)
-                    {
-                        returnType = Long.class;
-                    }
-                    else if (boolean.class == returnType)
-                    {
-                        returnType = Boolean.class;
-                    }
-                    else if (short.class == returnType)
-                    {
-                        returnType = Short.class;
-                    }
-                    else if (byte.class == returnType)
-                    {
-                        returnType = Byte.class;
-                    }
-                    else if (float.class == returnType)
-                    {
-                        returnType = Float.class;
-                    }
-                    else if (double.class == returnType)
-                    {
-                        returnType = Double.class;
-                    }
-                }
+        if (list || set)
+        {
+            ConfigResolver.TypedResolver<? extends List<?>> listTypedResolver = typedResolver.asList();
+            if (!ConfigProperty.NULL.equals(defaultValue))
+            {
+                typedResolver = listTypedResolver.withStringDefault(defaultValue);
+            }
+            else
+            {
+                typedResolver = listTypedResolver;
+            }
+        }
 
-                final String defaultValue = annotation.defaultValue();
-                ConfigResolver.TypedResolver<?> typedResolver = delegate.asResolver(
-                        prefix + annotation.name(), list || set ? ConfigProperty.NULL : defaultValue,
-                        returnType, converter, annotation.parameterizedBy(),
-                        annotation.projectStageAware(), annotation.evaluateVariables());
+        return new PropertyResolver(typedResolver, index, set);
+    }
 
-                if (cacheMs > 0)
-                {
-                    typedResolver.cacheFor(MILLISECONDS, cacheMs);
-                }
+    private static Object invokeObjectMethod(final Object handler, final Method method, final Object[] args)
+        throws Throwable
+    {
+        try
+        {
+            return method.invoke(handler, args);
+        }
+        catch (final InvocationTargetException ite)
+        {
+            throw ite.getCause();
+        }
+    }
 
-                if (list || set)
-                {
-                    ConfigResolver.TypedResolver<? extends List<?>> listTypedResolver = typedResolver.asList();
-                    final ConfigResolver.TypedResolver<? extends List<?>> resolver;
-                    if (!ConfigProperty.NULL.equals(defaultValue))
-                    {
-                        resolver = listTypedResolver.withStringDefault(defaultValue);
-                    }
-                    else
-                    {
-                        resolver = listTypedResolver;
-                    }
+    private static PropertyResolver getPropertyResolver(final Map<Method, PropertyResolver> dispatchTable,
+                                                        final Method method)
+    {
+        final PropertyResolver propertyResolver = dispatchTable.get(method);
+        if (propertyResolver == null)
+        {
+            throw new UnsupportedOperationException(
+                    method + " doesn't have @ConfigProperty and therefore is illegal");
+        }
+        return propertyResolver;
+    }
 
-                    if (list)
-                    {
-                        supplier = new DefaultSupplier(resolver);
-                    }
-                    else
+    private static final class ConfigurationHandler implements InvocationHandler
+    {
+        private final Map<Method, PropertyResolver> dispatchTable;
+
+        private ConfigurationHandler(final Map<Method, PropertyResolver> dispatchTable)
+        {
+            this.dispatchTable = dispatchTable;
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable
+        {
+            if (Object.class == method.getDeclaringClass())
+            {
+                return invokeObjectMethod(this, method, args);
+            }
+
+            return getPropertyResolver(dispatchTable, method).getValue();
+        }
+    }
+
+    /**
+     * Serves all the values from one immutable {@link ValueSnapshot},
+     * which gets replaced as a whole once the config changed.
+     */
+    private static final class SnapshotConfigurationHandler implements InvocationHandler
+    {
+        private final Map<Method, PropertyResolver> dispatchTable;
+        private final ConfigResolver.TypedResolver<?>[] typedResolvers;
+        private final PropertyResolver[] propertyResolvers;
+        private final Config config;
+        private final long cacheMs;
+
+        private volatile ValueSnapshot snapshot;
+
+        private SnapshotConfigurationHandler(final Map<Method, PropertyResolver> dispatchTable, final Config config,
+                                             final long cacheMs)
+        {
+            this.dispatchTable = dispatchTable;
+            this.config = config;
+            this.cacheMs = cacheMs;
+
+            propertyResolvers = new PropertyResolver[dispatchTable.size()];
+            typedResolvers = new ConfigResolver.TypedResolver<?>[dispatchTable.size()];
+            for (final PropertyResolver propertyResolver : dispatchTable.values())
+            {
+                propertyResolvers[propertyResolver.index] = propertyResolver;
+                typedResolvers[propertyResolver.index] = propertyResolver.typedResolver;
+            }
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable
+        {
+            if (Object.class == method.getDeclaringClass())
+            {
+                return invokeObjectMethod(this, method, args);
+            }
+
+            final PropertyResolver propertyResolver = getPropertyResolver(dispatchTable, method);
+            return getSnapshot().values[propertyResolver.index];
+        }
+
+        private ValueSnapshot getSnapshot()
+        {
+            ValueSnapshot currentSnapshot = snapshot;
+            if (currentSnapshot == null || currentSnapshot.isOutdated(getLastChanged()))
+            {
+                synchronized (this)
+                {
+                    currentSnapshot = snapshot;
+                    if (currentSnapshot == null || currentSnapshot.isOutdated(getLastChanged()))
                     {
-                        supplier = new Supplier<Set<?>>()
-                        {
-                            @Override
-                            public Set<?> get()
-                            {
-                                return new HashSet(resolver.getValue());
-                            }
-                        };
+                        currentSnapshot = createSnapshot();
+                        snapshot = currentSnapshot;
                     }
                 }
-                else
-                {
-                    supplier = new DefaultSupplier(typedResolver);
-                }
+            }
+            return currentSnapshot;
+        }
 
-                final Supplier<?> existing = resolvers.putIfAbsent(method, supplier);
-                if (existing != null)
-                {
-                    supplier = existing;
-                }
+        private ValueSnapshot createSnapshot()
+        {
+            // read before resolving the values, a change in between just leads to another reload
+            final long lastChanged = getLastChanged();
+            final ConfigSnapshot configSnapshot = config.snapshotFor(typedResolvers);
+
+            final Object[] values = new Object[propertyResolvers.length];
+            for (int i = 0; i < propertyResolvers.length; i++)
+            {
+                values[i] = propertyResolvers[i].getValue(configSnapshot);
             }
-            return supplier.get();
+
+            return new ValueSnapshot(values, lastChanged,
+                    cacheMs > 0 ? System.currentTimeMillis() + cacheMs : Long.MAX_VALUE);
+        }
+
+        private long getLastChanged()
+        {
+            // other Config implementations don't track their changes, so only cacheFor applies
+            return config instanceof ConfigImpl ? ((ConfigImpl) config).getLastChanged() : 0;
         }
     }
 
-    private interface Supplier<T>
+    private static final class ValueSnapshot
     {
-        T get();
+        private final Object[] values;
+        private final long lastChanged;
+        private final long reloadAfter;
+
+        private ValueSnapshot(final Object[] values, final long lastChanged, final long reloadAfter)
+        {
+            this.values = values;
+            this.lastChanged = lastChanged;
+            this.reloadAfter = reloadAfter;
+        }
+
+        private boolean isOutdated(final long currentLastChanged)
+        {
+            return lastChanged != currentLastChanged || System.currentTimeMillis() > reloadAfter;
+        }
     }
 
-    private static class DefaultSupplier<T> implements Supplier<T>
+    /**
+     * The precomputed resolution of a single method of the interface.
+     */
+    private static final class PropertyResolver
     {
-        private final ConfigResolver.TypedResolver<T> delegate;
+        private final ConfigResolver.TypedResolver<?> typedResolver;
+        private final int index;
+        private final boolean set;
 
-        private DefaultSupplier(final ConfigResolver.TypedResolver<T> delegate)
+        private PropertyResolver(final ConfigResolver.TypedResolver<?> typedResolver, final int index,
+                                 final boolean set)
         {
-            this.delegate = delegate;
+            this.typedResolver = typedResolver;
+            this.index = index;
+            this.set = set;
         }
 
-        @Override
-        public T get()
+        private Object getValue()
+        {
+            return toReturnValue(typedResolver.getValue());
+        }
+
+        private Object getValue(final ConfigSnapshot configSnapshot)
         {
-            return delegate.getValue();
+            final Object value = toReturnValue(typedResolver.getValue(configSnapshot));
+
+            // the values of a snapshot get shared between all callers
+            if (value instanceof Set)
+            {
+                return Collections.unmodifiableSet((Set<?>) value);
+            }
+            if (value instanceof List)
+            {
+                return Collections.unmodifiableList((List<?>) value);
+            }
+            return value;
+        }
+
+        private Object toReturnValue(final Object value)
+        {
+            if (set && value != null)
+            {
+                return new HashSet<Object>((List<?>) value);
+            }
+            return value;
         }
     }
 }
@@ -21,7 +21,6 @@ package org.apache.deltaspike.core.impl.config;
 import org.apache.deltaspike.core.api.config.ConfigResolver;
 import org.apache.deltaspike.core.api.config.ConfigSnapshot;
 import org.apache.deltaspike.core.api.projectstage.ProjectStage;
-import org.apache.deltaspike.core.spi.config.ConfigSource;
 import org.apache.deltaspike.core.util.ClassUtils;
 import org.apache.deltaspike.core.util.ExceptionUtils;
 import org.apache.deltaspike.core.util.ProjectStageProducer;
@@ -29,8 +28,11 @@ import org.apache.deltaspike.core.util.ProjectStageProducer;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -69,12 +71,28 @@ public class TypedResolverImpl<T> implements ConfigResolver.UntypedResolver<T>
     private ConfigResolver.ConfigChanged<T> valueChangedCallback = null;
 
     private long cacheTimeMs = -1;
+    private boolean cacheUntilChanged = false;
 
-    private volatile long reloadAfter = -1;
-    private long lastReloadedAt = -1;
+    /**
+     * All keys the value got resolved from, including the keys of evaluated variables.
+     * Only gets maintained if the value is cached.
+     */
+    private volatile Set<String> dependentKeys = Collections.emptySet();
+
+    /**
+     * Gets incremented whenever a ConfigSource reports a change of one of the {@link #dependentKeys}.
+     */
+    private final AtomicInteger changeCount = new AtomicInteger();
+
+    private volatile CachedValue<T> cachedValue;
 
     private T lastValue = null;
 
+    /**
+     * The TypedResolver this one resolves a variable for, used for detecting recursive declarations.
+     */
+    private TypedResolverImpl<?> variableOf;
+
 
     TypedResolverImpl(ConfigImpl config, String propertyName)
     {
@@ -159,6 +177,18 @@ public class TypedResolverImpl<T> implements ConfigResolver.UntypedResolver<T>
     public ConfigResolver.TypedResolver<T> cacheFor(TimeUnit timeUnit, long value)
     {
         this.cacheTimeMs = timeUnit.toMillis(value);
+        if (cacheTimeMs > 0)
+        {
+            config.subscribe(this);
+        }
+        return this;
+    }
+
+    @Override
+    public ConfigResolver.TypedResolver<T> cacheUntilChanged()
+    {
+        this.cacheUntilChanged = true;
+        config.subscribe(this);
         return this;
     }
 
@@ -235,22 +265,22 @@ public class TypedResolverImpl<T> implements ConfigResolver.UntypedResolver<T>
     @Override
     public T getValue()
     {
-        long now = -1;
-        if (cacheTimeMs > 0)
+        boolean cached = cacheUntilChanged || cacheTimeMs > 0;
+        int startChangeCount = changeCount.get();
+        if (cached)
         {
-            now = System.nanoTime();
-            if (now <= reloadAfter)
+            CachedValue<T> currentValue = cachedValue;
+            if (currentValue != null && currentValue.changeCount == startChangeCount &&
+                (cacheUntilChanged || System.nanoTime() - currentValue.reloadAfter <= 0))
             {
-                // now check if anything in the underlying Config got changed
-                long lastCfgChange = config.getLastChanged();
-                if (lastCfgChange < lastReloadedAt)
-                {
-                    return lastValue;
-                }
+                return currentValue.value;
             }
         }
 
-        String valueStr = resolveStringValue();
+        long startLastChanged = config.getLastChanged();
+        Set<String> resolvedKeys = cached ? new HashSet<String>() : null;
+
+        String valueStr = resolveStringValue(resolvedKeys);
         T value;
         if (isList)
         {
@@ -266,7 +296,7 @@ public class TypedResolverImpl<T> implements ConfigResolver.UntypedResolver<T>
             ConfigResolverContext configResolverContext = new ConfigResolverContext()
                     .setEvaluateVariables(evaluateVariables)
                     .setProjectStageAware(projectStageAware);
-            value = fallbackToDefaultIfEmpty(keyResolved, value, defaultValue, configResolverContext);
+            value = fallbackToDefaultIfEmpty(keyResolved, value, defaultValue, configResolverContext, resolvedKeys);
             if (isList && String.class.isInstance(value))
             {
                 value = splitAndConvertListValue(String.class.cast(value));
@@ -290,15 +320,44 @@ public class TypedResolverImpl<T> implements ConfigResolver.UntypedResolver<T>
 
         lastValue = value;
 
-        if (cacheTimeMs > 0)
+        if (cached)
         {
-            reloadAfter = now + TimeUnit.MILLISECONDS.toNanos(cacheTimeMs);
-            lastReloadedAt = now;
+            if (!dependentKeys.containsAll(resolvedKeys))
+            {
+                Set<String> newDependentKeys = new HashSet<String>(dependentKeys);
+                newDependentKeys.addAll(resolvedKeys);
+                dependentKeys = newDependentKeys;
+            }
+
+            // a change got reported while resolving, but maybe before we knew all dependent keys
+            if (startLastChanged == config.getLastChanged())
+            {
+                long reloadAfter = cacheUntilChanged ?
+                        0 : System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(cacheTimeMs);
+                cachedValue = new CachedValue<T>(value, startChangeCount, reloadAfter);
+            }
         }
 
         return value;
     }
 
+    /**
+     * Invoked by the {@link ConfigImpl} if a ConfigSource reported changed attributes.
+     * Invalidates the cached value if it depends on one of them.
+     */
+    void onAttributeChange(Set<String> attributesChanged)
+    {
+        Set<String> keys = dependentKeys;
+        for (String attributeChanged : attributesChanged)
+        {
+            if (keys.contains(attributeChanged))
+            {
+                changeCount.incrementAndGet();
+                return;
+            }
+        }
+    }
+
     private T splitAndConvertListValue(String valueStr)
     {
         if (valueStr == null)
@@ -367,7 +426,7 @@ public class TypedResolverImpl<T> implements ConfigResolver.UntypedResolver<T>
     /**
      * Performs the resolution cascade
      */
-    private String resolveStringValue()
+    private String resolveStringValue(Set<String> resolvedKeys)
     {
         ProjectStage ps = null;
         String value = null;
@@ -399,7 +458,7 @@ public class TypedResolverImpl<T> implements ConfigResolver.UntypedResolver<T>
         }
 
         // make initial resolution of longest key
-        value = getPropertyValue(keyResolved);
+        value = getPropertyValue(keyResolved, resolvedKeys);
 
         // try fallbacks if not strictly
         if (value == null && !strictly)
@@ -413,7 +472,7 @@ public class TypedResolverImpl<T> implements ConfigResolver.UntypedResolver<T>
                 case 2:
                     // try base.param
                     keyResolved = keyOriginal + "." + parameterValue;
-                    value = getPropertyValue(keyResolved);
+                    value = getPropertyValue(keyResolved, resolvedKeys);
 
                     if (value != null)
                     {
@@ -423,7 +482,7 @@ public class TypedResolverImpl<T> implements ConfigResolver.UntypedResolver<T>
                     // try base.ps
                     ps = getProjectStage();
                     keyResolved = keyOriginal + "." + ps;
-                    value = getPropertyValue(keyResolved);
+                    value = getPropertyValue(keyResolved, resolvedKeys);
 
                     if (value != null)
                     {
@@ -433,7 +492,7 @@ public class TypedResolverImpl<T> implements ConfigResolver.UntypedResolver<T>
                 case 1:
                     // try base
                     keyResolved = keyOriginal;
-                    value = getPropertyValue(keyResolved);
+                    value = getPropertyValue(keyResolved, resolvedKeys);
                     return value;
 
                 default:
@@ -509,14 +568,14 @@ public class TypedResolverImpl<T> implements ConfigResolver.UntypedResolver<T>
     }
 
     private <T> T fallbackToDefaultIfEmpty(String key, T value, T defaultValue,
-                                           ConfigResolverContext configResolverContext)
+                                           ConfigResolverContext configResolverContext, Set<String> resolvedKeys)
     {
         if (value == null || (value instanceof String && ((String)value).isEmpty()))
         {
             if (configResolverContext != null && defaultValue instanceof String
                     && configResolverContext.isEvaluateVariables())
             {
-                defaultValue = (T) resolveVariables((String) defaultValue);
+                defaultValue = (T) resolveVariables((String) defaultValue, resolvedKeys);
             }
 
             if (LOG.isLoggable(Level.FINE))
@@ -534,43 +593,34 @@ public class TypedResolverImpl<T> implements ConfigResolver.UntypedResolver<T>
     /**
      * recursively resolve any ${varName} in the value
      */
-    private String resolveVariables(String value)
+    private String resolveVariables(String value, final Set<String> resolvedKeys)
     {
-        int startVar = 0;
-        while ((startVar = value.indexOf("${", startVar)) >= 0)
+        if (!ConfigValueTemplate.containsVariables(value))
         {
-            int endVar = value.indexOf("}", startVar);
-            if (endVar <= 0)
-            {
-                break;
-            }
-            String varName = value.substring(startVar + 2, endVar);
-            if (varName.isEmpty())
-            {
-                break;
-            }
+            return value;
+        }
 
-            try
-            {
-                String variableValue = new TypedResolverImpl<String>(this.config, varName)
-                    .withCurrentProjectStage(this.projectStageAware)
-                    .evaluateVariables(true)
-                    .getValue();
+        return config.getValueTemplate(value).render(varName -> resolveVariable(varName, resolvedKeys));
+    }
 
-                if (variableValue != null)
-                {
-                    value = value.replace("${" + varName + "}", variableValue);
-                }
-            }
-            catch (StackOverflowError soe)
+    private String resolveVariable(String varName, Set<String> resolvedKeys)
+    {
+        for (TypedResolverImpl<?> resolver = this; resolver != null; resolver = resolver.variableOf)
+        {
+            if (resolver.keyOriginal.equals(varName))
             {
-                // just log out
                 LOG.severe("Recursive variable resolution detected for " + varName);
-                throw soe;
+                throw new IllegalStateException("Recursive variable resolution detected for " + varName +
+                    " while resolving " + keyOriginal);
             }
-            startVar++;
         }
-        return value;
+
+        TypedResolverImpl<String> variableResolver = new TypedResolverImpl<String>(this.config, varName);
+        variableResolver.withCurrentProjectStage(this.projectStageAware);
+        variableResolver.evaluateVariables(true);
+        variableResolver.variableOf = this;
+
+        return variableResolver.resolveStringValue(resolvedKeys);
     }
 
     private ProjectStage getProjectStage()
@@ -578,12 +628,20 @@ public class TypedResolverImpl<T> implements ConfigResolver.UntypedResolver<T>
         return ProjectStageProducer.getInstance().getProjectStage();
     }
 
-    private String getPropertyValue(String key)
+    /**
+     * @param resolvedKeys collects all the looked up keys if not null
+     */
+    private String getPropertyValue(String key, Set<String> resolvedKeys)
     {
+        if (resolvedKeys != null)
+        {
+            resolvedKeys.add(key);
+        }
+
         String value;
-        for (ConfigSource configSource : config.getConfigSources())
+        for (ConfigSourceIndex.Segment segment : config.getConfigSourceIndex().getSegments())
         {
-            value = configSource.getPropertyValue(key);
+            value = segment.getPropertyValue(key);
 
             if (value != null)
             {
@@ -591,12 +649,12 @@ public class TypedResolverImpl<T> implements ConfigResolver.UntypedResolver<T>
                 {
                     LOG.log(Level.FINE, "found value {0} for key {1} in ConfigSource {2}.",
                             new Object[]{config.filterConfigValue(key, value, true),
-                                key, configSource.getConfigName()});
+                                key, segment.getConfigName(key)});
                 }
 
                 if (this.evaluateVariables)
                 {
-                    value = resolveVariables(value);
+                    value = resolveVariables(value, resolvedKeys);
                 }
 
                 return config.filterConfigValue(key, value, false);
@@ -605,12 +663,24 @@ public class TypedResolverImpl<T> implements ConfigResolver.UntypedResolver<T>
             if (LOG.isLoggable(Level.FINE))
             {
                 LOG.log(Level.FINER, "NO value found for key {0} in ConfigSource {1}.",
-                        new Object[]{key, configSource.getConfigName()});
+                        new Object[]{key, segment.getConfigName(key)});
             }
         }
 
         return null;
     }
 
+    private static final class CachedValue<T>
+    {
+        private final T value;
+        private final int changeCount;
+        private final long reloadAfter;
 
+        private CachedValue(T value, int changeCount, long reloadAfter)
+        {
+            this.value = value;
+            this.changeCount = changeCount;
+            this.reloadAfter = reloadAfter;
+        }
+    }
 }
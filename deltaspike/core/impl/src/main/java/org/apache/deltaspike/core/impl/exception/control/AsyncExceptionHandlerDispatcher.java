@@ -0,0 +1,325 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.core.impl.exception.control;
+
+import org.apache.deltaspike.core.api.config.base.CoreBaseConfig;
+import org.apache.deltaspike.core.api.exception.control.HandlerMethod;
+import org.apache.deltaspike.core.impl.future.ThreadPoolManager;
+
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.spi.BeanManager;
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Invokes the handlers which are marked with
+ * {@link org.apache.deltaspike.core.api.exception.control.Handles#async()} on a pool of the
+ * {@link ThreadPoolManager}.
+ *
+ * Identical exceptions for the same handler get coalesced while their delivery is pending
+ * and get delivered once with the number of occurrences.
+ * If too many deliveries are pending or the pool rejects them, the handler gets invoked on the calling thread.
+ */
+@ApplicationScoped
+public class AsyncExceptionHandlerDispatcher
+{
+    private static final Logger LOG = Logger.getLogger(AsyncExceptionHandlerDispatcher.class.getName());
+
+    private final ConcurrentMap<DeliveryKey, PendingDelivery> pendingDeliveries =
+            new ConcurrentHashMap<DeliveryKey, PendingDelivery>();
+
+    @Inject
+    private ThreadPoolManager threadPoolManager;
+
+    @Inject
+    private BeanManager beanManager;
+
+    private volatile ScheduledExecutorService scheduler;
+    private volatile boolean closed;
+
+    /**
+     * Delivers the exception to the given handler in the background.
+     *
+     * @param handler   an asynchronous handler
+     * @param exception the exception to handle
+     * @param handled   flag indicating the exception has already been handled by a synchronous handler
+     */
+    public void dispatch(HandlerMethod<?> handler, Throwable exception, boolean handled)
+    {
+        final DeliveryKey key = new DeliveryKey(handler, exception);
+
+        while (true)
+        {
+            PendingDelivery pendingDelivery = pendingDeliveries.get(key);
+            if (pendingDelivery != null)
+            {
+                if (pendingDelivery.join())
+                {
+                    return;
+                }
+
+                // the delivery is already running
+                pendingDeliveries.remove(key, pendingDelivery);
+                continue;
+            }
+
+            if (closed || pendingDeliveries.size() >= CoreBaseConfig.ExceptionControlCustomization
+                    .ASYNC_HANDLER_MAX_PENDING)
+            {
+                deliver(handler, exception, handled, 1);
+                return;
+            }
+
+            pendingDelivery = new PendingDelivery(handler, exception, handled);
+            if (pendingDeliveries.putIfAbsent(key, pendingDelivery) == null)
+            {
+                schedule(key, pendingDelivery);
+                return;
+            }
+        }
+    }
+
+    private void schedule(final DeliveryKey key, final PendingDelivery pendingDelivery)
+    {
+        final int window = CoreBaseConfig.ExceptionControlCustomization.ASYNC_HANDLER_COALESCING_WINDOW_IN_MILLISECONDS;
+        if (window <= 0)
+        {
+            submit(key, pendingDelivery);
+            return;
+        }
+
+        try
+        {
+            getScheduler().schedule(new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    submit(key, pendingDelivery);
+                }
+            }, window, TimeUnit.MILLISECONDS);
+        }
+        catch (RejectedExecutionException e)
+        {
+            // got closed in the meantime
+            run(key, pendingDelivery);
+        }
+    }
+
+    private void submit(final DeliveryKey key, final PendingDelivery pendingDelivery)
+    {
+        Runnable task = new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                AsyncExceptionHandlerDispatcher.this.run(key, pendingDelivery);
+            }
+        };
+
+        try
+        {
+            threadPoolManager.find(CoreBaseConfig.ExceptionControlCustomization.ASYNC_HANDLER_POOL).execute(task);
+        }
+        catch (RejectedExecutionException e)
+        {
+            task.run();
+        }
+        catch (IllegalStateException e)
+        {
+            // the container is shutting down
+            task.run();
+        }
+    }
+
+    private void run(DeliveryKey key, PendingDelivery pendingDelivery)
+    {
+        pendingDeliveries.remove(key, pendingDelivery);
+        int occurrences = pendingDelivery.take();
+        if (occurrences > 0)
+        {
+            deliver(pendingDelivery.handler, pendingDelivery.exception, pendingDelivery.handled, occurrences);
+        }
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private void deliver(HandlerMethod handler, Throwable exception, boolean handled, int occurrences)
+    {
+        LOG.fine(String.format("Notifying asynchronous handler %s about %d occurrence(s)", handler, occurrences));
+
+        try
+        {
+            handler.notify(new DefaultExceptionEvent(exception, handled, occurrences), beanManager);
+        }
+        catch (Exception e)
+        {
+            LOG.log(Level.WARNING, "Asynchronous exception handler " + handler + " failed", e);
+        }
+    }
+
+    private ScheduledExecutorService getScheduler()
+    {
+        if (scheduler == null)
+        {
+            synchronized (this)
+            {
+                if (scheduler == null)
+                {
+                    scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory()
+                    {
+                        @Override
+                        public Thread newThread(Runnable runnable)
+                        {
+                            Thread thread = new Thread(runnable, "deltaspike-exception-coalescing");
+                            thread.setDaemon(true);
+                            return thread;
+                        }
+                    });
+                }
+            }
+        }
+        return scheduler;
+    }
+
+    @PreDestroy
+    protected void stop()
+    {
+        closed = true;
+        if (scheduler != null)
+        {
+            scheduler.shutdownNow();
+        }
+
+        // deliver what got coalesced so far instead of losing it
+        List<Map.Entry<DeliveryKey, PendingDelivery>> remaining =
+                new ArrayList<Map.Entry<DeliveryKey, PendingDelivery>>(pendingDeliveries.entrySet());
+        for (Map.Entry<DeliveryKey, PendingDelivery> entry : remaining)
+        {
+            run(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private static final class PendingDelivery
+    {
+        private final HandlerMethod<?> handler;
+        private final Throwable exception;
+        private final boolean handled;
+
+        // -1 once the delivery started
+        private final AtomicInteger occurrences = new AtomicInteger(1);
+
+        private PendingDelivery(HandlerMethod<?> handler, Throwable exception, boolean handled)
+        {
+            this.handler = handler;
+            this.exception = exception;
+            this.handled = handled;
+        }
+
+        /**
+         * @return {@code false} if the delivery already started
+         */
+        private boolean join()
+        {
+            while (true)
+            {
+                int current = occurrences.get();
+                if (current < 0)
+                {
+                    return false;
+                }
+                if (occurrences.compareAndSet(current, current + 1))
+                {
+                    return true;
+                }
+            }
+        }
+
+        /**
+         * @return the number of occurrences or -1 if the delivery already started
+         */
+        private int take()
+        {
+            return occurrences.getAndSet(-1);
+        }
+    }
+
+    /**
+     * Exceptions are identical if they have the same type, message and origin.
+     */
+    private static final class DeliveryKey
+    {
+        private final HandlerMethod<?> handler;
+        private final Class<?> exceptionClass;
+        private final String message;
+        private final StackTraceElement origin;
+        private final int hashCode;
+
+        private DeliveryKey(HandlerMethod<?> handler, Throwable exception)
+        {
+            this.handler = handler;
+            exceptionClass = exception.getClass();
+            message = exception.getMessage();
+
+            StackTraceElement[] stackTrace = exception.getStackTrace();
+            origin = stackTrace.length > 0 ? stackTrace[0] : null;
+
+            // HandlerMethodImpl#equals ignores the java method, but the handlers are singletons anyway
+            hashCode = Objects.hash(System.identityHashCode(handler), exceptionClass, message, origin);
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (this == o)
+            {
+                return true;
+            }
+            if (!(o instanceof DeliveryKey))
+            {
+                return false;
+            }
+
+            DeliveryKey other = (DeliveryKey) o;
+            return handler == other.handler
+                    && exceptionClass.equals(other.exceptionClass)
+                    && Objects.equals(message, other.message)
+                    && Objects.equals(origin, other.origin);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hashCode;
+        }
+    }
+}
@@ -40,7 +40,7 @@ public class DefaultExceptionEvent<T extends Throwable> implements Introspective
     private Throwable throwNewException;
     private final boolean beforeTraversal;
     private final boolean markedHandled;
-
+    private final int occurrences;
 
     /**
      * Initial state constructor.
@@ -61,6 +61,23 @@ public class DefaultExceptionEvent<T extends Throwable> implements Introspective
         exception = (T) stackEvent.getCurrent();
         this.beforeTraversal = beforeTraversal;
         markedHandled = handled;
+        occurrences = 1;
+        flow = ExceptionHandlingFlow.HANDLED_AND_CONTINUE;
+    }
+
+    /**
+     * Constructor for the delivery to an asynchronous handler.
+     *
+     * @param exception   the exception to handle
+     * @param handled     flag indicating the exception has already been handled by a previous handler
+     * @param occurrences how often identical exceptions occurred
+     */
+    public DefaultExceptionEvent(final T exception, final boolean handled, final int occurrences)
+    {
+        this.exception = exception;
+        beforeTraversal = false;
+        markedHandled = handled;
+        this.occurrences = occurrences;
         flow = ExceptionHandlingFlow.HANDLED_AND_CONTINUE;
     }
 
@@ -129,6 +146,12 @@ public class DefaultExceptionEvent<T extends Throwable> implements Introspective
         return markedHandled;
     }
 
+    @Override
+    public int getOccurrences()
+    {
+        return occurrences;
+    }
+
     @Override
     public boolean isBeforeTraversal()
     {
@@ -19,9 +19,6 @@
 
 package org.apache.deltaspike.core.impl.exception.control;
 
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -67,6 +64,8 @@ public class ExceptionHandlerBroadcaster
 
         Throwable throwException = null;
 
+        AsyncExceptionHandlerDispatcher asyncDispatcher = null;
+
         final HandlerMethodStorage handlerMethodStorage =
                 BeanProvider.getContextualReference(HandlerMethodStorage.class);
 
@@ -84,12 +83,14 @@ public class ExceptionHandlerBroadcaster
         inbound_cause:
             while (stack.getCurrent() != null)
             {
-                final List<HandlerMethod<?>> callbackExceptionEvent = new ArrayList<HandlerMethod<?>>(
+                final List<HandlerMethod<? extends Throwable>> callbackExceptionEvent =
                         handlerMethodStorage.getHandlersForException(stack.getCurrent().getClass(),
-                                beanManager, exceptionEventEvent.getQualifiers(), true));
+                                beanManager, exceptionEventEvent.getQualifiers(), true);
 
-                for (HandlerMethod<?> handler : callbackExceptionEvent)
+                for (int i = 0; i < callbackExceptionEvent.size(); i++)
                 {
+                    final HandlerMethod<?> handler = callbackExceptionEvent.get(i);
+
                     if (!processedHandlers.contains(handler))
                     {
                         LOG.fine(String.format("Notifying handler %s", handler));
@@ -133,20 +134,30 @@ public class ExceptionHandlerBroadcaster
                     }
                 }
 
-                final Collection<HandlerMethod<? extends Throwable>> handlersForException =
+                final List<HandlerMethod<? extends Throwable>> handlerMethods =
                         handlerMethodStorage.getHandlersForException(stack.getCurrent().getClass(),
                                 beanManager, exceptionEventEvent.getQualifiers(), false);
 
-                final List<HandlerMethod<? extends Throwable>> handlerMethods =
-                        new ArrayList<HandlerMethod<? extends Throwable>>(handlersForException);
-
-                // Reverse these so category handlers are last
-                Collections.reverse(handlerMethods);
-
-                for (HandlerMethod<?> handler : handlerMethods)
+                // walk them in reverse order so category handlers are last
+                for (int i = handlerMethods.size() - 1; i >= 0; i--)
                 {
+                    final HandlerMethod<?> handler = handlerMethods.get(i);
+
                     if (!processedHandlers.contains(handler))
                     {
+                        if (handler instanceof HandlerMethodImpl && ((HandlerMethodImpl<?>) handler).isAsync())
+                        {
+                            // doesn't influence the handling flow
+                            if (asyncDispatcher == null)
+                            {
+                                asyncDispatcher =
+                                        BeanProvider.getContextualReference(AsyncExceptionHandlerDispatcher.class);
+                            }
+                            asyncDispatcher.dispatch(handler, stack.getCurrent(), exceptionEventEvent.isHandled());
+                            processedHandlers.add(handler);
+                            continue;
+                        }
+
                         LOG.fine(String.format("Notifying handler %s", handler));
 
                         @SuppressWarnings("rawtypes")
@@ -59,6 +59,7 @@ public class HandlerMethodImpl<T extends Throwable> implements HandlerMethod<T>
     private final AnnotatedMethod<?> handler;
     private final boolean before;
     private final int ordinal;
+    private final boolean async;
     private final Method javaMethod;
     private final AnnotatedParameter<?> handlerParameter;
     private Set<InjectionPoint> injectionPoints;
@@ -94,10 +95,12 @@ public class HandlerMethodImpl<T extends Throwable> implements HandlerMethod<T>
         if (before)
         {
             ordinal = handlerParameter.getAnnotation(BeforeHandles.class).ordinal();
+            async = false;
         }
         else
         {
             ordinal = handlerParameter.getAnnotation(Handles.class).ordinal();
+            async = handlerParameter.getAnnotation(Handles.class).async();
         }
 
         tmpQualifiers.addAll(BeanUtils.getQualifiers(bm, handlerParameter.getAnnotations()));
@@ -228,6 +231,14 @@ public class HandlerMethodImpl<T extends Throwable> implements HandlerMethod<T>
         return ordinal;
     }
 
+    /**
+     * @return {@code true} if the handler gets invoked asynchronously, see {@link Handles#async()}
+     */
+    public boolean isAsync()
+    {
+        return async;
+    }
+
     public AnnotatedParameter<?> getHandlerParameter()
     {
         return handlerParameter;
@@ -310,6 +321,7 @@ public class HandlerMethodImpl<T extends Throwable> implements HandlerMethod<T>
     public String toString()
     {
         return "{Qualifiers: " + qualifiers + ", " + "Handles Type: " + exceptionType + ", " + "Before: " +
-                before + ", " + "Precedence: " + ordinal + ", Method: " + handler.getJavaMember().getName() + "}";
+                before + ", " + "Precedence: " + ordinal + ", Async: " + async + ", Method: " +
+                handler.getJavaMember().getName() + "}";
     }
 }
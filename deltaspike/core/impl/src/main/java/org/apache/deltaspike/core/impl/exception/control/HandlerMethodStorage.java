@@ -24,7 +24,7 @@ import org.apache.deltaspike.core.api.exception.control.HandlerMethod;
 import javax.enterprise.inject.spi.BeanManager;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
-import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -48,9 +48,9 @@ public interface HandlerMethodStorage
      * @param bm                active BeanManager
      * @param handlerQualifiers additional handlerQualifiers to limit handlers
      * @param isBefore          traversal limiter
-     * @return An order collection of handlers for the given type.
+     * @return An ordered and immutable list of handlers for the given type.
      */
-    Collection<HandlerMethod<? extends Throwable>> getHandlersForException(Type exceptionClass, BeanManager bm,
-                                                                           Set<Annotation> handlerQualifiers,
-                                                                           boolean isBefore);
+    List<HandlerMethod<? extends Throwable>> getHandlersForException(Type exceptionClass, BeanManager bm,
+                                                                     Set<Annotation> handlerQualifiers,
+                                                                     boolean isBefore);
 }
@@ -27,50 +27,92 @@ import javax.enterprise.inject.Typed;
 import javax.enterprise.inject.spi.BeanManager;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Logger;
 
 /**
  * Basic implementation for {@link HandlerMethodStorage}.
+ *
+ * The sorted handlers get cached per exception type, qualifiers and traversal mode.
+ * Registering a handler replaces the known handlers and the cache as a whole,
+ * so a lookup never sees a half updated state.
  */
 @SuppressWarnings("CdiManagedBeanInconsistencyInspection")
 @Typed()
 class HandlerMethodStorageImpl implements HandlerMethodStorage
 {
-    private final Map<Type, Collection<HandlerMethod<? extends Throwable>>> allHandlers;
+    private static final Annotation ANY = new AnyLiteral();
+
+    private volatile HandlerState state;
 
     private Logger log = Logger.getLogger(HandlerMethodStorageImpl.class.getName());
 
     HandlerMethodStorageImpl(Map<Type, Collection<HandlerMethod<? extends Throwable>>> allHandlers)
     {
-        this.allHandlers = allHandlers;
+        Map<Type, Collection<HandlerMethod<? extends Throwable>>> handlers =
+                new HashMap<Type, Collection<HandlerMethod<? extends Throwable>>>();
+        for (Map.Entry<Type, Collection<HandlerMethod<? extends Throwable>>> entry : allHandlers.entrySet())
+        {
+            handlers.put(entry.getKey(), new HashSet<HandlerMethod<? extends Throwable>>(entry.getValue()));
+        }
+        this.state = new HandlerState(handlers);
     }
 
     @Override
-    public <T extends Throwable> void registerHandlerMethod(HandlerMethod<T> handlerMethod)
+    public synchronized <T extends Throwable> void registerHandlerMethod(HandlerMethod<T> handlerMethod)
     {
         log.fine(String.format("Adding handler %s to known handlers", handlerMethod));
-        if (allHandlers.containsKey(handlerMethod.getExceptionType()))
-        {
-            allHandlers.get(handlerMethod.getExceptionType()).add(handlerMethod);
-        }
-        else
+
+        Map<Type, Collection<HandlerMethod<? extends Throwable>>> handlers =
+                new HashMap<Type, Collection<HandlerMethod<? extends Throwable>>>(state.handlers);
+
+        Collection<HandlerMethod<? extends Throwable>> handlersForType = handlers.get(handlerMethod.getExceptionType());
+        handlersForType = handlersForType == null ? new HashSet<HandlerMethod<? extends Throwable>>()
+                : new HashSet<HandlerMethod<? extends Throwable>>(handlersForType);
+        handlersForType.add(handlerMethod);
+        handlers.put(handlerMethod.getExceptionType(), handlersForType);
+
+        // also drops all the cached lookups
+        state = new HandlerState(handlers);
+    }
+
+    @Override
+    public List<HandlerMethod<? extends Throwable>> getHandlersForException(Type exceptionClass,
+                                                                            BeanManager bm,
+                                                                            Set<Annotation> handlerQualifiers,
+                                                                            boolean isBefore)
+    {
+        final HandlerState currentState = state;
+        final HandlerCacheKey cacheKey = new HandlerCacheKey(exceptionClass, handlerQualifiers, isBefore);
+
+        List<HandlerMethod<? extends Throwable>> returningHandlers = currentState.cache.get(cacheKey);
+        if (returningHandlers == null)
         {
-            allHandlers.put(handlerMethod.getExceptionType(),
-                    new HashSet<HandlerMethod<? extends Throwable>>(Collections.singleton(handlerMethod)));
+            returningHandlers = findHandlers(currentState, exceptionClass, handlerQualifiers, isBefore);
+
+            // the qualifiers might get changed by the caller afterwards
+            currentState.cache.putIfAbsent(new HandlerCacheKey(exceptionClass,
+                    Collections.unmodifiableSet(new HashSet<Annotation>(handlerQualifiers)), isBefore),
+                    returningHandlers);
+
+            log.fine(String.format("Found handlers %s for exception type %s, qualifiers %s", returningHandlers,
+                    exceptionClass, handlerQualifiers));
         }
+        return returningHandlers;
     }
 
-    @Override
-    public Collection<HandlerMethod<? extends Throwable>> getHandlersForException(Type exceptionClass,
-                                                                                  BeanManager bm,
-                                                                                  Set<Annotation> handlerQualifiers,
-                                                                                  boolean isBefore)
+    private List<HandlerMethod<? extends Throwable>> findHandlers(HandlerState currentState, Type exceptionClass,
+                                                                  Set<Annotation> handlerQualifiers, boolean isBefore)
     {
         final Collection<HandlerMethod<? extends Throwable>> returningHandlers =
                 new TreeSet<HandlerMethod<? extends Throwable>>(new ExceptionHandlerComparator());
@@ -79,44 +121,83 @@ class HandlerMethodStorageImpl implements HandlerMethodStorage
 
         for (Type hierarchyType : closure)
         {
-            if (allHandlers.get(hierarchyType) != null)
+            Collection<HandlerMethod<? extends Throwable>> handlersForType = currentState.handlers.get(hierarchyType);
+            if (handlersForType == null)
+            {
+                continue;
+            }
+
+            for (HandlerMethod<? extends Throwable> handler : handlersForType)
             {
-                for (HandlerMethod<?> handler : allHandlers.get(hierarchyType))
+                if (handler.isBeforeHandler() != isBefore)
+                {
+                    continue;
+                }
+
+                if (handler.getQualifiers().contains(ANY))
+                {
+                    returningHandlers.add(handler);
+                }
+                else if (!handlerQualifiers.isEmpty() && handlerQualifiers.equals(handler.getQualifiers()))
                 {
-                    if (handler.isBeforeHandler() && isBefore)
-                    {
-                        if (handler.getQualifiers().contains(new AnyLiteral()))
-                        {
-                            returningHandlers.add(handler);
-                        }
-                        else
-                        {
-                            if (!handlerQualifiers.isEmpty() && handlerQualifiers.equals(handler.getQualifiers()))
-                            {
-                                returningHandlers.add(handler);
-                            }
-                        }
-                    }
-                    else if (!handler.isBeforeHandler() && !isBefore)
-                    {
-                        if (handler.getQualifiers().contains(new AnyLiteral()))
-                        {
-                            returningHandlers.add(handler);
-                        }
-                        else
-                        {
-                            if (!handlerQualifiers.isEmpty() && handlerQualifiers.equals(handler.getQualifiers()))
-                            {
-                                returningHandlers.add(handler);
-                            }
-                        }
-                    }
+                    returningHandlers.add(handler);
                 }
             }
         }
 
-        log.fine(String.format("Found handlers %s for exception type %s, qualifiers %s", returningHandlers,
-                exceptionClass, handlerQualifiers));
-        return Collections.unmodifiableCollection(returningHandlers);
+        return Collections.unmodifiableList(Arrays.asList(
+                returningHandlers.toArray(new HandlerMethod<?>[returningHandlers.size()])));
+    }
+
+    private static final class HandlerState
+    {
+        private final Map<Type, Collection<HandlerMethod<? extends Throwable>>> handlers;
+        private final ConcurrentMap<HandlerCacheKey, List<HandlerMethod<? extends Throwable>>> cache =
+                new ConcurrentHashMap<HandlerCacheKey, List<HandlerMethod<? extends Throwable>>>();
+
+        private HandlerState(Map<Type, Collection<HandlerMethod<? extends Throwable>>> handlers)
+        {
+            this.handlers = handlers;
+        }
+    }
+
+    private static final class HandlerCacheKey
+    {
+        private final Type exceptionClass;
+        private final Set<Annotation> handlerQualifiers;
+        private final boolean isBefore;
+        private final int hashCode;
+
+        private HandlerCacheKey(Type exceptionClass, Set<Annotation> handlerQualifiers, boolean isBefore)
+        {
+            this.exceptionClass = exceptionClass;
+            this.handlerQualifiers = handlerQualifiers;
+            this.isBefore = isBefore;
+            this.hashCode = 31 * (31 * exceptionClass.hashCode() + handlerQualifiers.hashCode()) + (isBefore ? 1 : 0);
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (this == o)
+            {
+                return true;
+            }
+            if (!(o instanceof HandlerCacheKey))
+            {
+                return false;
+            }
+
+            HandlerCacheKey other = (HandlerCacheKey) o;
+            return isBefore == other.isBefore
+                    && exceptionClass.equals(other.exceptionClass)
+                    && handlerQualifiers.equals(other.handlerQualifiers);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hashCode;
+        }
     }
 }
@@ -129,6 +129,10 @@ public class MBeanExtension implements Extension, Deactivatable
                     }
                 } // else skip. type is important in JMX but name is a fully custom property so we are able to skip it
             }
+            if (mBeanAnnotation.perApplication())
+            {
+                builder.append(",application=").append(getApplicationName());
+            }
             if (!properties.isEmpty())
             {
                 builder.append(',').append(properties);
@@ -184,6 +188,17 @@ public class MBeanExtension implements Extension, Deactivatable
         return ManagementFactory.getPlatformMBeanServer();
     }
 
+    private String getApplicationName()
+    {
+        final String appName = ConfigResolver.getPropertyValue(ConfigResolver.DELTASPIKE_APP_NAME_CONFIG);
+        if (appName == null || appName.isEmpty())
+        {
+            // each application gets its own instance of the extension
+            return Integer.toHexString(System.identityHashCode(this));
+        }
+        return ObjectName.quote(appName);
+    }
+
     private String getConfigurableAttribute(final String annotationAttributeValue, final String defaultValue)
     {
         String val = annotationAttributeValue.trim();
@@ -34,7 +34,7 @@ public class DefaultLockedStrategy implements LockedStrategy
     @Override
     public Object execute(InvocationContext ic) throws Exception
     {
-        final Lock lock = lockSupplierStorage.getLockSupplier(ic).get();
+        final Lock lock = lockSupplierStorage.getLockSupplier(ic).get(ic);
         try
         {
             return ic.proceed();
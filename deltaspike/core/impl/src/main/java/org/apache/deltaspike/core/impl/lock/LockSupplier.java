@@ -18,9 +18,13 @@
  */
 package org.apache.deltaspike.core.impl.lock;
 
+import javax.interceptor.InvocationContext;
 import java.util.concurrent.locks.Lock;
 
 interface LockSupplier
 {
-    Lock get();
+    /**
+     * @return the acquired lock for the given invocation.
+     */
+    Lock get(InvocationContext ic);
 }
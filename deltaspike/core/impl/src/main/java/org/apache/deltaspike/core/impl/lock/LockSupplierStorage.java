@@ -19,6 +19,8 @@
 package org.apache.deltaspike.core.impl.lock;
 
 import org.apache.deltaspike.core.api.lock.Locked;
+import org.apache.deltaspike.core.impl.monitoring.ConcurrencyMetrics;
+import org.apache.deltaspike.core.impl.monitoring.ConcurrencyMetricsStorage;
 import org.apache.deltaspike.core.impl.util.AnnotatedMethods;
 
 import javax.enterprise.context.ApplicationScoped;
@@ -32,6 +34,7 @@ import java.lang.reflect.Method;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -44,12 +47,19 @@ public class LockSupplierStorage implements Locked.LockFactory
 {
     private final ConcurrentMap<String, ReadWriteLock> locks = new ConcurrentHashMap<String, ReadWriteLock>();
 
+    // the stripes of all keyed locks of a class
+    private final ConcurrentMap<String, ReadWriteLock[]> stripedLocks =
+            new ConcurrentHashMap<String, ReadWriteLock[]>();
+
     // read or write
     private final ConcurrentMap<Method, LockSupplier> lockSuppliers = new ConcurrentHashMap<Method, LockSupplier>();
 
     @Inject
     private BeanManager beanManager;
 
+    @Inject
+    private ConcurrencyMetricsStorage metricsStorage;
+
     protected LockSupplier getLockSupplier(final InvocationContext ic)
     {
         final Method key = ic.getMethod();
@@ -60,58 +70,41 @@ public class LockSupplierStorage implements Locked.LockFactory
             final AnnotatedType<Object> annotatedType = beanManager.createAnnotatedType(declaringClass);
             final AnnotatedMethod<?> annotatedMethod = AnnotatedMethods.findMethod(annotatedType, key);
 
-            Locked config = annotatedMethod.getAnnotation(Locked.class);
-            if (config == null)
+            final Locked config = LockedMethods.getConfig(annotatedType, annotatedMethod);
+            final boolean read = config.operation() == READ;
+            final int stripes = LockedMethods.getStripes(annotatedType, declaringClass);
+
+            final Locked.LockKeyExtractor keyExtractor = getKeyExtractor(config, key);
+            final ReadWriteLock[] readWriteLocks;
+            final Lock lock;
+            if (keyExtractor != null)
             {
-                config = annotatedType.getAnnotation(Locked.class);
+                readWriteLocks = getStripedLocks(annotatedMethod, config.fair(), stripes);
+                lock = null;
             }
-            final Locked.LockFactory factory = config.factory() != Locked.LockFactory.class ?
-                    Locked.LockFactory.class.cast(
-                            beanManager.getReference(beanManager.resolve(
-                                    beanManager.getBeans(
-                                            config.factory())),
-                                    Locked.LockFactory.class, null)) : this;
-
-            final ReadWriteLock writeLock = factory.newLock(annotatedMethod, config.fair());
-            final long timeout = config.timeoutUnit().toMillis(config.timeout());
-            final Lock lock = config.operation() == READ ? writeLock.readLock() : writeLock.writeLock();
-
-            if (timeout > 0)
+            else if (stripes > 0)
             {
-                operation = new LockSupplier()
-                {
-                    @Override
-                    public Lock get()
-                    {
-                        try
-                        {
-                            if (!lock.tryLock(timeout, TimeUnit.MILLISECONDS))
-                            {
-                                throw new IllegalStateException("Can't lock for " + key + " in " + timeout + "ms");
-                            }
-                        }
-                        catch (final InterruptedException e)
-                        {
-                            Thread.interrupted();
-                            throw new IllegalStateException("Locking interrupted", e);
-                        }
-                        return lock;
-                    }
-                };
+                // a lock for the whole class has to exclude the keyed methods as well
+                readWriteLocks = null;
+                lock = new AllStripesLock(getStripedLocks(annotatedMethod, config.fair(), stripes), read);
             }
             else
             {
-                operation = new LockSupplier()
-                {
-                    @Override
-                    public Lock get()
-                    {
-                        lock.lock();
-                        return lock;
-                    }
-                };
+                final Locked.LockFactory factory = config.factory() != Locked.LockFactory.class ?
+                        Locked.LockFactory.class.cast(
+                                beanManager.getReference(beanManager.resolve(
+                                        beanManager.getBeans(
+                                                config.factory())),
+                                        Locked.LockFactory.class, null)) : this;
+                final ReadWriteLock readWriteLock = factory.newLock(annotatedMethod, config.fair());
+                readWriteLocks = null;
+                lock = read ? readWriteLock.readLock() : readWriteLock.writeLock();
             }
 
+            final long timeout = config.timeoutUnit().toMillis(config.timeout());
+            operation = new StripedLockSupplier(key, lock, readWriteLocks, keyExtractor, read,
+                    timeout, metricsStorage.getLockMetrics(declaringClass.getName()));
+
             final LockSupplier existing = lockSuppliers.putIfAbsent(key, operation);
             if (existing != null)
             {
@@ -137,4 +130,248 @@ public class LockSupplierStorage implements Locked.LockFactory
         }
         return lock;
     }
+
+    /**
+     * @return the lock stripes shared by all the @Locked methods of the declaring class.
+     */
+    protected ReadWriteLock[] getStripedLocks(final AnnotatedMethod<?> method, final boolean fair, final int stripes)
+    {
+        final String name = method.getJavaMember().getDeclaringClass().getName();
+        ReadWriteLock[] lockStripes = stripedLocks.get(name);
+        if (lockStripes == null)
+        {
+            lockStripes = new ReadWriteLock[stripes];
+            for (int i = 0; i < stripes; i++)
+            {
+                lockStripes[i] = new ReentrantReadWriteLock(fair);
+            }
+
+            final ReadWriteLock[] existing = stripedLocks.putIfAbsent(name, lockStripes);
+            if (existing != null)
+            {
+                lockStripes = existing;
+            }
+        }
+        return lockStripes;
+    }
+
+    private Locked.LockKeyExtractor getKeyExtractor(final Locked config, final Method method)
+    {
+        if (config.keyExtractor() != Locked.LockKeyExtractor.class)
+        {
+            return Locked.LockKeyExtractor.class.cast(
+                    beanManager.getReference(beanManager.resolve(
+                            beanManager.getBeans(
+                                    config.keyExtractor())),
+                            Locked.LockKeyExtractor.class, null));
+        }
+
+        final int keyParameter = config.keyParameter();
+        if (keyParameter < 0)
+        {
+            return null;
+        }
+
+        return new Locked.LockKeyExtractor()
+        {
+            @Override
+            public Object extractKey(final InvocationContext ic)
+            {
+                return ic.getParameters()[keyParameter];
+            }
+        };
+    }
+
+    private static final class StripedLockSupplier implements LockSupplier
+    {
+        private final Method method;
+        private final Lock lock;
+        private final ReadWriteLock[] readWriteLocks;
+        private final Locked.LockKeyExtractor keyExtractor;
+        private final boolean read;
+        private final long timeout;
+        private final ConcurrencyMetrics metrics;
+
+        private StripedLockSupplier(final Method method, final Lock lock, final ReadWriteLock[] readWriteLocks,
+                                    final Locked.LockKeyExtractor keyExtractor, final boolean read,
+                                    final long timeout, final ConcurrencyMetrics metrics)
+        {
+            this.method = method;
+            this.lock = lock;
+            this.readWriteLocks = readWriteLocks;
+            this.keyExtractor = keyExtractor;
+            this.read = read;
+            this.timeout = timeout;
+            this.metrics = metrics;
+        }
+
+        @Override
+        public Lock get(final InvocationContext ic)
+        {
+            final Lock lock = getLock(ic);
+
+            final long start = metrics != null ? metrics.startWaiting() : 0;
+            boolean acquired = false;
+            try
+            {
+                acquired = acquire(lock);
+            }
+            catch (final InterruptedException e)
+            {
+                Thread.interrupted();
+                throw new IllegalStateException("Locking interrupted", e);
+            }
+            finally
+            {
+                if (metrics != null)
+                {
+                    metrics.stopWaiting(start, acquired);
+                }
+            }
+
+            if (!acquired)
+            {
+                throw new IllegalStateException("Can't lock for " + method + " in " + timeout + "ms");
+            }
+            return lock;
+        }
+
+        private boolean acquire(final Lock lock) throws InterruptedException
+        {
+            if (timeout > 0)
+            {
+                return lock.tryLock(timeout, TimeUnit.MILLISECONDS);
+            }
+
+            lock.lock();
+            return true;
+        }
+
+        private Lock getLock(final InvocationContext ic)
+        {
+            if (keyExtractor == null)
+            {
+                return lock;
+            }
+
+            final Object lockKey = keyExtractor.extractKey(ic);
+            final ReadWriteLock readWriteLock;
+            if (lockKey == null)
+            {
+                readWriteLock = readWriteLocks[0];
+            }
+            else
+            {
+                // spread the higher bits as hashCodes often only differ there
+                final int hash = lockKey.hashCode();
+                readWriteLock = readWriteLocks[Math.floorMod(hash ^ (hash >>> 16), readWriteLocks.length)];
+            }
+            return read ? readWriteLock.readLock() : readWriteLock.writeLock();
+        }
+    }
+
+    /**
+     * Locks all the stripes of a class in their order, so it doesn't deadlock with other AllStripesLocks.
+     */
+    private static final class AllStripesLock implements Lock
+    {
+        private final Lock[] stripes;
+
+        private AllStripesLock(final ReadWriteLock[] readWriteLocks, final boolean read)
+        {
+            stripes = new Lock[readWriteLocks.length];
+            for (int i = 0; i < readWriteLocks.length; i++)
+            {
+                stripes[i] = read ? readWriteLocks[i].readLock() : readWriteLocks[i].writeLock();
+            }
+        }
+
+        @Override
+        public void lock()
+        {
+            for (final Lock stripe : stripes)
+            {
+                stripe.lock();
+            }
+        }
+
+        @Override
+        public void lockInterruptibly() throws InterruptedException
+        {
+            int locked = 0;
+            try
+            {
+                for (; locked < stripes.length; locked++)
+                {
+                    stripes[locked].lockInterruptibly();
+                }
+            }
+            finally
+            {
+                if (locked < stripes.length)
+                {
+                    unlock(locked);
+                }
+            }
+        }
+
+        @Override
+        public boolean tryLock()
+        {
+            for (int i = 0; i < stripes.length; i++)
+            {
+                if (!stripes[i].tryLock())
+                {
+                    unlock(i);
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public boolean tryLock(final long time, final TimeUnit unit) throws InterruptedException
+        {
+            final long deadline = System.nanoTime() + unit.toNanos(time);
+            int locked = 0;
+            try
+            {
+                for (; locked < stripes.length; locked++)
+                {
+                    if (!stripes[locked].tryLock(deadline - System.nanoTime(), TimeUnit.NANOSECONDS))
+                    {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            finally
+            {
+                if (locked < stripes.length)
+                {
+                    unlock(locked);
+                }
+            }
+        }
+
+        @Override
+        public void unlock()
+        {
+            unlock(stripes.length);
+        }
+
+        private void unlock(final int count)
+        {
+            for (int i = count - 1; i >= 0; i--)
+            {
+                stripes[i].unlock();
+            }
+        }
+
+        @Override
+        public Condition newCondition()
+        {
+            throw new UnsupportedOperationException("@Locked doesn't support conditions");
+        }
+    }
 }
@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.core.impl.lock;
+
+import org.apache.deltaspike.core.spi.activation.Deactivatable;
+import org.apache.deltaspike.core.util.ClassDeactivationUtils;
+
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.spi.AnnotatedType;
+import javax.enterprise.inject.spi.BeforeBeanDiscovery;
+import javax.enterprise.inject.spi.Extension;
+import javax.enterprise.inject.spi.ProcessManagedBean;
+
+/**
+ * Validates the &#064;Locked methods of the beans during the deployment,
+ * see {@link LockedMethods#getStripes(AnnotatedType, Class)}.
+ */
+public class LockedExtension implements Extension, Deactivatable
+{
+    private Boolean isActivated = true;
+
+    protected void init(@Observes BeforeBeanDiscovery beforeBeanDiscovery)
+    {
+        isActivated = ClassDeactivationUtils.isActivated(getClass());
+    }
+
+    protected void validateLockedMethods(@Observes ProcessManagedBean<?> bean)
+    {
+        if (!isActivated)
+        {
+            return;
+        }
+
+        final AnnotatedType<?> type = bean.getAnnotatedBeanClass();
+        try
+        {
+            LockedMethods.getStripes(type, type.getJavaClass());
+        }
+        catch (final IllegalStateException e)
+        {
+            bean.addDefinitionError(e);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.core.impl.lock;
+
+import org.apache.deltaspike.core.api.lock.Locked;
+
+import javax.enterprise.inject.spi.AnnotatedMethod;
+import javax.enterprise.inject.spi.AnnotatedType;
+
+/**
+ * Resolves the {@link Locked} configuration of the methods of a class.
+ */
+public final class LockedMethods
+{
+    private LockedMethods()
+    {
+        // no-op
+    }
+
+    /**
+     * @return the @Locked of the method, the one of the class or {@code null} if there is none
+     */
+    public static Locked getConfig(final AnnotatedType<?> type, final AnnotatedMethod<?> method)
+    {
+        final Locked config = method.getAnnotation(Locked.class);
+        return config != null ? config : type.getAnnotation(Locked.class);
+    }
+
+    public static boolean isKeyed(final Locked config)
+    {
+        return config.keyExtractor() != Locked.LockKeyExtractor.class || config.keyParameter() >= 0;
+    }
+
+    /**
+     * All keyed @Locked methods of a class share one table of lock stripes,
+     * the other @Locked methods of the class lock all the stripes.
+     *
+     * @param type the annotated type of the class
+     * @param declaringClass the class which declares the locked methods
+     * @return the number of stripes of the keyed methods declared by the class or 0 if there are none
+     * @throws IllegalStateException if the keyed methods use a different number of stripes
+     *                               or other methods of the class use a custom {@link Locked.LockFactory}
+     */
+    public static int getStripes(final AnnotatedType<?> type, final Class<?> declaringClass)
+    {
+        int stripes = 0;
+        AnnotatedMethod<?> keyedMethod = null;
+        AnnotatedMethod<?> customFactoryMethod = null;
+
+        for (final AnnotatedMethod<?> method : type.getMethods())
+        {
+            if (method.getJavaMember().getDeclaringClass() != declaringClass)
+            {
+                continue;
+            }
+
+            final Locked config = getConfig(type, method);
+            if (config == null)
+            {
+                continue;
+            }
+
+            if (!isKeyed(config))
+            {
+                if (config.factory() != Locked.LockFactory.class)
+                {
+                    customFactoryMethod = method;
+                }
+                continue;
+            }
+
+            if (config.stripes() <= 0)
+            {
+                throw new IllegalStateException("@Locked of " + method.getJavaMember() + " needs at least one stripe");
+            }
+            if (config.keyExtractor() == Locked.LockKeyExtractor.class &&
+                    config.keyParameter() >= method.getJavaMember().getParameterTypes().length)
+            {
+                throw new IllegalStateException("@Locked of " + method.getJavaMember() + " uses the key parameter " +
+                        config.keyParameter() + " but the method only has " +
+                        method.getJavaMember().getParameterTypes().length + " parameters");
+            }
+            if (keyedMethod != null && stripes != config.stripes())
+            {
+                throw new IllegalStateException("The keyed @Locked methods " + keyedMethod.getJavaMember() +
+                        " and " + method.getJavaMember() + " share their locks, so they need the same stripes");
+            }
+            keyedMethod = method;
+            stripes = config.stripes();
+        }
+
+        if (keyedMethod != null && customFactoryMethod != null)
+        {
+            throw new IllegalStateException("@Locked of " + customFactoryMethod.getJavaMember() +
+                    " uses a custom factory, but the class also has the keyed @Locked method " +
+                    keyedMethod.getJavaMember() + " which locks the stripes of the class");
+        }
+        return stripes;
+    }
+}
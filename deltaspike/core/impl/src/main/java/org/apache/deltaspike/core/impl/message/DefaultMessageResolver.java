@@ -23,10 +23,11 @@ import org.apache.deltaspike.core.api.message.MessageResolver;
 import org.apache.deltaspike.core.util.PropertyFileUtils;
 
 import javax.enterprise.context.Dependent;
-import java.util.Iterator;
+import javax.inject.Inject;
 import java.util.List;
 import java.util.Locale;
 import java.util.MissingResourceException;
+import java.util.Optional;
 import java.util.ResourceBundle;
 
 @Dependent
@@ -35,6 +36,9 @@ public class DefaultMessageResolver implements MessageResolver
 {
     private static final long serialVersionUID = 5834411208472341006L;
 
+    @Inject
+    private ResolvedMessageCache resolvedMessageCache;
+
     @Override
     public String getMessage(MessageContext messageContext, String messageTemplate, String category)
     {
@@ -57,47 +61,62 @@ public class DefaultMessageResolver implements MessageResolver
                 return null;
             }
 
-            Iterator<String> messageSourceIterator = messageSources.iterator();
-
             Locale locale = messageContext.getLocale();
 
-            String currentMessageSource;
-            while (messageSourceIterator.hasNext())
+            if (resolvedMessageCache == null || !resolvedMessageCache.isEnabled())
+            {
+                return resolveMessage(messageSources, locale, resourceKey, category);
+            }
+
+            // read before resolving the message to detect a reload of the ResourceBundles in the meantime
+            int generation = PropertyFileUtils.getResourceBundleGeneration();
+            Optional<String> cachedMessage =
+                    resolvedMessageCache.getMessage(messageSources, locale, resourceKey, category);
+            if (cachedMessage != null)
             {
-                currentMessageSource = messageSourceIterator.next();
-
-                try
-                {
-                    ResourceBundle messageBundle = PropertyFileUtils.getResourceBundle(currentMessageSource, locale);
-
-                    if (category != null && category.length() > 0)
-                    {
-                        try
-                        {
-                            return messageBundle.getString(resourceKey + "_" + category);
-                        }
-                        catch (MissingResourceException e)
-                        {
-                            // we fallback on the version without the category
-                            return messageBundle.getString(resourceKey);
-                        }
-                    }
-
-                    return messageBundle.getString(resourceKey);
-                }
-                catch (MissingResourceException e)
-                {
-                    if (!messageSourceIterator.hasNext())
-                    {
-                        return null;
-                    }
-                }
+                return cachedMessage.orElse(null);
             }
+
+            String message = resolveMessage(messageSources, locale, resourceKey, category);
+            resolvedMessageCache.putMessage(messageSources, locale, resourceKey, category, message, generation);
+            return message;
         }
 
         return messageTemplate;
     }
 
+    /**
+     * @return the message of the first message-source which contains the given key or {@code null}
+     */
+    protected String resolveMessage(List<String> messageSources, Locale locale, String resourceKey, String category)
+    {
+        for (String currentMessageSource : messageSources)
+        {
+            ResourceBundle messageBundle;
+            try
+            {
+                messageBundle = PropertyFileUtils.getResourceBundle(currentMessageSource, locale);
+            }
+            catch (MissingResourceException e)
+            {
+                continue;
+            }
+
+            if (category != null && category.length() > 0 && messageBundle.containsKey(resourceKey + "_" + category))
+            {
+                return messageBundle.getString(resourceKey + "_" + category);
+            }
+
+            // we fallback on the version without the category
+            if (messageBundle.containsKey(resourceKey))
+            {
+                return messageBundle.getString(resourceKey);
+            }
+        }
+
+        return null;
+    }
+
     protected List<String> getMessageSources(MessageContext messageContext)
     {
         return messageContext.getMessageSources();
@@ -26,6 +26,8 @@ import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.deltaspike.core.api.literal.AnyLiteral;
 import org.apache.deltaspike.core.api.message.LocaleResolver;
@@ -51,6 +53,9 @@ public class MessageBundleInvocationHandler implements InvocationHandler, Serial
     @Inject
     private MessageContext baseMessageContext = null;
 
+    // the metadata of the invoked methods, doesn't need to get serialized
+    private transient volatile ConcurrentMap<Method, MessageBundleMethod> messageBundleMethods;
+
     /**
      * @see java.lang.reflect.InvocationHandler#invoke(java.lang.Object,
      *      java.lang.reflect.Method, java.lang.Object[])
@@ -82,48 +87,86 @@ public class MessageBundleInvocationHandler implements InvocationHandler, Serial
             return null;
         }
 
-        final MessageTemplate messageTemplate = method.getAnnotation(MessageTemplate.class);
+        final MessageBundleMethod messageBundleMethod = getMessageBundleMethod(method);
 
-        String messageTemplateValue;
+        MessageContext messageContext = resolveMessageContextFromArguments(args);
+        List<Serializable> arguments = resolveMessageArguments(args);
 
-        if (messageTemplate != null)
+        if (messageContext == null)
         {
-            messageTemplateValue = messageTemplate.value();
+            // already contains the message-source of the bundle
+            messageContext = messageBundleMethod.messageContext.clone();
         }
         else
         {
-            messageTemplateValue = "{" + method.getName() + "}";
+            messageContext.messageSource(messageBundleMethod.messageBundleName);
         }
 
-        MessageContext messageContext = resolveMessageContextFromArguments(args);
-        List<Serializable> arguments = resolveMessageArguments(args);
+        Message message =  messageContext
+                .message()
+                .template(messageBundleMethod.messageTemplate)
+                .argument(arguments.toArray(new Serializable[arguments.size()]));
 
-        if (messageContext == null)
+        if (messageBundleMethod.stringResult)
         {
-            messageContext = baseMessageContext.clone();
+            return message.toString();
+        }
 
-            MessageContextConfig messageContextConfig =
-                method.getDeclaringClass().getAnnotation(MessageContextConfig.class);
+        return message;
+    }
 
-            if (messageContextConfig != null)
+    private MessageBundleMethod getMessageBundleMethod(Method method)
+    {
+        ConcurrentMap<Method, MessageBundleMethod> cache = messageBundleMethods;
+        if (cache == null)
+        {
+            cache = new ConcurrentHashMap<Method, MessageBundleMethod>();
+            messageBundleMethods = cache;
+        }
+
+        MessageBundleMethod messageBundleMethod = cache.get(method);
+        if (messageBundleMethod == null)
+        {
+            messageBundleMethod = createMessageBundleMethod(method);
+            MessageBundleMethod existing = cache.putIfAbsent(method, messageBundleMethod);
+            if (existing != null)
             {
-                applyMessageContextConfig(messageContext, messageContextConfig);
+                messageBundleMethod = existing;
             }
         }
+        return messageBundleMethod;
+    }
 
-        String messageBundleName = method.getDeclaringClass().getName();
+    private MessageBundleMethod createMessageBundleMethod(Method method)
+    {
+        final MessageTemplate messageTemplate = method.getAnnotation(MessageTemplate.class);
 
-        Message message =  messageContext
-                .messageSource(messageBundleName).message()
-                .template(messageTemplateValue)
-                .argument(arguments.toArray(new Serializable[arguments.size()]));
+        String messageTemplateValue;
 
-        if (String.class.isAssignableFrom(method.getReturnType()))
+        if (messageTemplate != null)
         {
-            return message.toString();
+            messageTemplateValue = messageTemplate.value();
+        }
+        else
+        {
+            messageTemplateValue = "{" + method.getName() + "}";
         }
 
-        return message;
+        MessageContext messageContext = baseMessageContext.clone();
+
+        MessageContextConfig messageContextConfig =
+            method.getDeclaringClass().getAnnotation(MessageContextConfig.class);
+
+        if (messageContextConfig != null)
+        {
+            applyMessageContextConfig(messageContext, messageContextConfig);
+        }
+
+        String messageBundleName = method.getDeclaringClass().getName();
+        messageContext.messageSource(messageBundleName);
+
+        return new MessageBundleMethod(messageTemplateValue, messageContext, messageBundleName,
+                String.class.isAssignableFrom(method.getReturnType()));
     }
 
     private void applyMessageContextConfig(MessageContext messageContext, MessageContextConfig messageContextConfig)
@@ -200,4 +243,28 @@ public class MessageBundleInvocationHandler implements InvocationHandler, Serial
         return null;
     }
 
+    /**
+     * Everything about a method of a message bundle which doesn't depend on the arguments.
+     */
+    private static final class MessageBundleMethod
+    {
+        private final String messageTemplate;
+
+        /**
+         * The configured MessageContext which gets cloned for each invocation.
+         */
+        private final MessageContext messageContext;
+
+        private final String messageBundleName;
+        private final boolean stringResult;
+
+        private MessageBundleMethod(String messageTemplate, MessageContext messageContext, String messageBundleName,
+                                    boolean stringResult)
+        {
+            this.messageTemplate = messageTemplate;
+            this.messageContext = messageContext;
+            this.messageBundleName = messageBundleName;
+            this.stringResult = stringResult;
+        }
+    }
 }
@@ -23,13 +23,20 @@ import javax.enterprise.inject.Alternative;
 import java.io.Serializable;
 import java.util.Locale;
 import java.text.MessageFormat;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+import org.apache.deltaspike.core.api.config.base.CoreBaseConfig;
 import org.apache.deltaspike.core.api.message.MessageInterpolator;
 
 /**
  * This is an Alternative implementation of a {@link MessageInterpolator} which
  * uses java.text.MessageFormat for formatting.
  *
+ * The parsed MessageFormats get cached per template and locale. As a MessageFormat isn't thread-safe,
+ * the cached instances are never used directly but only cloned.
+ *
  * Please note that for some EE containers you might need to add this &lt;alternative&gt>
  * to all JARs and classpath entries beanx.xml files.
  *
@@ -41,10 +48,81 @@ public class MessageFormatMessageInterpolator implements MessageInterpolator, Se
 {
     private static final long serialVersionUID = -8854087197813424812L;
 
+    private transient volatile ConcurrentMap<FormatKey, MessageFormat> messageFormats;
+
     @Override
     public String interpolate(String messageTemplate, Serializable[] arguments, Locale locale)
     {
-        MessageFormat messageFormat = new MessageFormat(messageTemplate, locale);
-        return messageFormat.format(arguments);
+        return getMessageFormat(messageTemplate, locale).format(arguments);
+    }
+
+    /**
+     * @return a MessageFormat which is exclusively used by the caller
+     */
+    protected MessageFormat getMessageFormat(String messageTemplate, Locale locale)
+    {
+        int maxSize = CoreBaseConfig.MessageCustomization.MESSAGE_FORMAT_CACHE_SIZE;
+        if (maxSize <= 0)
+        {
+            return new MessageFormat(messageTemplate, locale);
+        }
+
+        ConcurrentMap<FormatKey, MessageFormat> cache = messageFormats;
+        if (cache == null)
+        {
+            cache = new ConcurrentHashMap<FormatKey, MessageFormat>();
+            messageFormats = cache;
+        }
+
+        FormatKey key = new FormatKey(messageTemplate, locale);
+        MessageFormat messageFormat = cache.get(key);
+        if (messageFormat == null)
+        {
+            messageFormat = new MessageFormat(messageTemplate, locale);
+
+            // keep the cache bounded, e.g. for templates which contain already formatted values
+            if (cache.size() >= maxSize)
+            {
+                cache.clear();
+            }
+            cache.putIfAbsent(key, messageFormat);
+        }
+        return (MessageFormat) messageFormat.clone();
+    }
+
+    private static final class FormatKey
+    {
+        private final String messageTemplate;
+        private final Locale locale;
+        private final int hashCode;
+
+        private FormatKey(String messageTemplate, Locale locale)
+        {
+            this.messageTemplate = messageTemplate;
+            this.locale = locale;
+            this.hashCode = 31 * messageTemplate.hashCode() + Objects.hashCode(locale);
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (this == o)
+            {
+                return true;
+            }
+            if (!(o instanceof FormatKey))
+            {
+                return false;
+            }
+
+            FormatKey other = (FormatKey) o;
+            return messageTemplate.equals(other.messageTemplate) && Objects.equals(locale, other.locale);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hashCode;
+        }
     }
 }
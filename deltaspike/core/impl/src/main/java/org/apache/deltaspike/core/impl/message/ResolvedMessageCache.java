@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.core.impl.message;
+
+import org.apache.deltaspike.core.api.config.base.CoreBaseConfig;
+import org.apache.deltaspike.core.util.PropertyFileUtils;
+
+import javax.enterprise.context.ApplicationScoped;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Caches the messages resolved by the {@link DefaultMessageResolver} per message-sources, locale, key and category.
+ * Messages which couldn't be found get cached as well.
+ *
+ * The cache gets cleared once {@link PropertyFileUtils#reloadResourceBundles()} got called
+ * or once it reached its maximum size.
+ */
+@ApplicationScoped
+public class ResolvedMessageCache
+{
+    private final ConcurrentMap<MessageKey, Optional<String>> messages =
+            new ConcurrentHashMap<MessageKey, Optional<String>>();
+
+    private volatile int resourceBundleGeneration = PropertyFileUtils.getResourceBundleGeneration();
+
+    public boolean isEnabled()
+    {
+        return CoreBaseConfig.MessageCustomization.RESOLVED_MESSAGE_CACHE_SIZE > 0;
+    }
+
+    /**
+     * @return the cached message, an empty Optional if the message is known to be missing
+     *         or {@code null} if nothing got cached so far
+     */
+    public Optional<String> getMessage(List<String> messageSources, Locale locale, String key, String category)
+    {
+        int currentGeneration = PropertyFileUtils.getResourceBundleGeneration();
+        if (currentGeneration != resourceBundleGeneration)
+        {
+            messages.clear();
+            resourceBundleGeneration = currentGeneration;
+            return null;
+        }
+
+        return messages.get(new MessageKey(messageSources, locale, key, category));
+    }
+
+    /**
+     * @param message the resolved message or {@code null} if it couldn't be found
+     * @param generation the {@link PropertyFileUtils#getResourceBundleGeneration() generation} of the
+     *                   ResourceBundles read before the message got resolved
+     */
+    public void putMessage(List<String> messageSources, Locale locale, String key, String category, String message,
+                           int generation)
+    {
+        if (generation != resourceBundleGeneration || generation != PropertyFileUtils.getResourceBundleGeneration())
+        {
+            // might be resolved from an outdated ResourceBundle
+            return;
+        }
+
+        if (messages.size() >= CoreBaseConfig.MessageCustomization.RESOLVED_MESSAGE_CACHE_SIZE)
+        {
+            messages.clear();
+        }
+
+        // the message-sources of a MessageContext can change afterwards
+        List<String> messageSourcesCopy = Collections.unmodifiableList(new ArrayList<String>(messageSources));
+        messages.put(new MessageKey(messageSourcesCopy, locale, key, category), Optional.ofNullable(message));
+    }
+
+    private static final class MessageKey
+    {
+        private final List<String> messageSources;
+        private final Locale locale;
+        private final String key;
+        private final String category;
+        private final int hashCode;
+
+        private MessageKey(List<String> messageSources, Locale locale, String key, String category)
+        {
+            this.messageSources = messageSources;
+            this.locale = locale;
+            this.key = key;
+            this.category = category;
+            this.hashCode = Objects.hash(messageSources, locale, key, category);
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (this == o)
+            {
+                return true;
+            }
+            if (!(o instanceof MessageKey))
+            {
+                return false;
+            }
+
+            MessageKey other = (MessageKey) o;
+            return key.equals(other.key)
+                    && Objects.equals(category, other.category)
+                    && Objects.equals(locale, other.locale)
+                    && messageSources.equals(other.messageSources);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hashCode;
+        }
+    }
+}
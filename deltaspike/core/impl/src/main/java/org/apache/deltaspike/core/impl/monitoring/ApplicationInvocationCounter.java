@@ -0,0 +1,250 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.core.impl.monitoring;
+
+import org.apache.deltaspike.core.api.config.base.CoreBaseConfig;
+import org.apache.deltaspike.core.api.monitoring.MonitorResultEvent;
+
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Event;
+import javax.inject.Inject;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * This bean counts the invocations of monitored methods for the whole application.
+ *
+ * In contrast to the {@link RequestInvocationCounter} counting doesn't need an active request
+ * and doesn't allocate anything once a method got invoked the first time.
+ * The counters get published periodically as {@link MonitorResultEvent} which only contains the invocations
+ * since the last publishing, and via the {@link InvocationMonitorMBean}.
+ */
+@ApplicationScoped
+public class ApplicationInvocationCounter
+{
+    private static final Logger LOG = Logger.getLogger(ApplicationInvocationCounter.class.getName());
+
+    private final ConcurrentMap<Class<?>, ConcurrentMap<Method, InvocationMetrics>> metricsByClass =
+            new ConcurrentHashMap<Class<?>, ConcurrentMap<Method, InvocationMetrics>>();
+    private final AtomicInteger nextId = new AtomicInteger();
+
+    @Inject
+    private Event<MonitorResultEvent> mre;
+
+    // guarded by this
+    private ScheduledExecutorService publisher;
+    private boolean stopped;
+
+    /**
+     * increment the respective counters
+     * @param targetClass the class of the invoked instance
+     * @param method the invoked method
+     * @param duration duration of the method invocation in nano time
+     */
+    public void count(Class<?> targetClass, Method method, long duration)
+    {
+        getMetrics(targetClass, method).record(duration);
+    }
+
+    /**
+     * @return the metrics of all the methods invoked so far, ordered by their id
+     */
+    public List<InvocationMetrics> getAllMetrics()
+    {
+        List<InvocationMetrics> result = new ArrayList<InvocationMetrics>();
+        for (ConcurrentMap<Method, InvocationMetrics> methodMetrics : metricsByClass.values())
+        {
+            result.addAll(methodMetrics.values());
+        }
+        Collections.sort(result, new Comparator<InvocationMetrics>()
+        {
+            @Override
+            public int compare(InvocationMetrics m1, InvocationMetrics m2)
+            {
+                return Integer.compare(m1.getId(), m2.getId());
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Fires a {@link MonitorResultEvent} with all the invocations since the last call,
+     * if there were any.
+     */
+    public synchronized void publish()
+    {
+        Map<String, AtomicInteger> methodInvocations = new HashMap<String, AtomicInteger>();
+        Map<String, AtomicInteger> classInvocations = new HashMap<String, AtomicInteger>();
+        Map<String, AtomicLong> methodDurations = new HashMap<String, AtomicLong>();
+
+        for (InvocationMetrics metrics : getAllMetrics())
+        {
+            long[] delta = metrics.snapshotDelta();
+            if (delta[0] <= 0)
+            {
+                continue;
+            }
+
+            // overloaded methods share the same key
+            add(methodInvocations, metrics.getMethodKey(), (int) delta[0]);
+            add(classInvocations, metrics.getClassName(), (int) delta[0]);
+
+            AtomicLong duration = methodDurations.get(metrics.getMethodKey());
+            if (duration == null)
+            {
+                duration = new AtomicLong();
+                methodDurations.put(metrics.getMethodKey(), duration);
+            }
+            duration.addAndGet(delta[1]);
+        }
+
+        if (!methodInvocations.isEmpty())
+        {
+            mre.fire(new MonitorResultEvent(methodInvocations, classInvocations, methodDurations));
+        }
+    }
+
+    public synchronized void reset()
+    {
+        for (InvocationMetrics metrics : getAllMetrics())
+        {
+            metrics.reset();
+        }
+    }
+
+    @PreDestroy
+    public void stop()
+    {
+        synchronized (this)
+        {
+            stopped = true;
+            if (publisher != null)
+            {
+                publisher.shutdownNow();
+                publisher = null;
+            }
+        }
+
+        try
+        {
+            publish();
+        }
+        catch (RuntimeException e)
+        {
+            LOG.log(Level.FINE, "Cannot publish the last invocation monitoring results", e);
+        }
+    }
+
+    private InvocationMetrics getMetrics(Class<?> targetClass, Method method)
+    {
+        ConcurrentMap<Method, InvocationMetrics> methodMetrics = metricsByClass.get(targetClass);
+        if (methodMetrics == null)
+        {
+            methodMetrics = new ConcurrentHashMap<Method, InvocationMetrics>();
+            ConcurrentMap<Method, InvocationMetrics> existing = metricsByClass.putIfAbsent(targetClass, methodMetrics);
+            if (existing != null)
+            {
+                methodMetrics = existing;
+            }
+        }
+
+        InvocationMetrics metrics = methodMetrics.get(method);
+        if (metrics == null)
+        {
+            metrics = createMetrics(methodMetrics, targetClass, method);
+        }
+        return metrics;
+    }
+
+    private synchronized InvocationMetrics createMetrics(ConcurrentMap<Method, InvocationMetrics> methodMetrics,
+                                                         Class<?> targetClass, Method method)
+    {
+        InvocationMetrics metrics = methodMetrics.get(method);
+        if (metrics == null)
+        {
+            metrics = new InvocationMetrics(nextId.getAndIncrement(), targetClass.getName(), method.getName());
+            methodMetrics.put(method, metrics);
+            startPublisher();
+        }
+        return metrics;
+    }
+
+    private static void add(Map<String, AtomicInteger> counters, String key, int delta)
+    {
+        AtomicInteger counter = counters.get(key);
+        if (counter == null)
+        {
+            counter = new AtomicInteger();
+            counters.put(key, counter);
+        }
+        counter.addAndGet(delta);
+    }
+
+    // guarded by this
+    private void startPublisher()
+    {
+        int period = CoreBaseConfig.MonitoringCustomization.APPLICATION_AGGREGATION_PERIOD_IN_SECONDS;
+        if (publisher != null || stopped || period <= 0)
+        {
+            return;
+        }
+
+        publisher = Executors.newSingleThreadScheduledExecutor(new ThreadFactory()
+        {
+            @Override
+            public Thread newThread(Runnable runnable)
+            {
+                Thread thread = new Thread(runnable, "deltaspike-invocation-monitor");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        publisher.scheduleAtFixedRate(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                try
+                {
+                    publish();
+                }
+                catch (RuntimeException e)
+                {
+                    LOG.log(Level.WARNING, "Cannot publish the invocation monitoring results", e);
+                }
+            }
+        }, period, period, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.core.impl.monitoring;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The waits for a single named semaphore, rate or lock.
+ *
+ * A waiting thread calls {@link #startWaiting()} before it blocks
+ * and {@link #stopWaiting(long, boolean)} once it got the permits or gave up.
+ */
+public final class ConcurrencyMetrics
+{
+    private final String name;
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder waiting = new LongAdder();
+    private final LatencyHistogram waitTimes = new LatencyHistogram();
+
+    public ConcurrencyMetrics(String name)
+    {
+        this.name = name;
+    }
+
+    /**
+     * @return the start time to pass to {@link #stopWaiting(long, boolean)}
+     */
+    public long startWaiting()
+    {
+        waiting.increment();
+        return System.nanoTime();
+    }
+
+    /**
+     * @param start the value returned by {@link #startWaiting()}
+     * @param acquired {@code false} if the wait timed out or got interrupted
+     */
+    public void stopWaiting(long start, boolean acquired)
+    {
+        waitTimes.record(System.nanoTime() - start);
+        waiting.decrement();
+        if (acquired)
+        {
+            acquisitions.increment();
+        }
+        else
+        {
+            timeouts.increment();
+        }
+    }
+
+    public String getName()
+    {
+        return name;
+    }
+
+    public long getAcquisitions()
+    {
+        return acquisitions.sum();
+    }
+
+    public long getTimeouts()
+    {
+        return timeouts.sum();
+    }
+
+    /**
+     * @return the number of threads which are currently waiting
+     */
+    public long getQueueLength()
+    {
+        return waiting.sum();
+    }
+
+    public LatencyHistogram getWaitTimes()
+    {
+        return waitTimes;
+    }
+
+    /**
+     * Resets all the counters apart from the current queue length.
+     */
+    public void reset()
+    {
+        acquisitions.reset();
+        timeouts.reset();
+        waitTimes.reset();
+    }
+
+    @Override
+    public String toString()
+    {
+        return name + "[acquisitions=" + getAcquisitions() + ", timeouts=" + getTimeouts() +
+                ", queueLength=" + getQueueLength() +
+                ", meanWaitMicros=" + TimeUnit.NANOSECONDS.toMicros(waitTimes.getMeanNanos()) + "]";
+    }
+}
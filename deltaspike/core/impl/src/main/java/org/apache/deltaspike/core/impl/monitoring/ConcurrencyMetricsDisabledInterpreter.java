@@ -0,0 +1,35 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.core.impl.monitoring;
+
+import org.apache.deltaspike.core.api.config.base.CoreBaseConfig;
+import org.apache.deltaspike.core.api.interpreter.ExpressionInterpreter;
+
+/**
+ * Excludes the {@link ConcurrencyMetricsMBean} unless the concurrency metrics got enabled.
+ * The default property expressions can't exclude a bean if the key isn't configured at all.
+ */
+public class ConcurrencyMetricsDisabledInterpreter implements ExpressionInterpreter<String, Boolean>
+{
+    @Override
+    public Boolean evaluate(String expression)
+    {
+        return !CoreBaseConfig.MetricsCustomization.CONCURRENCY_METRICS_ENABLED;
+    }
+}
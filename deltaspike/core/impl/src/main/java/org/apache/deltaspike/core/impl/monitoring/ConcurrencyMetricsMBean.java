@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.core.impl.monitoring;
+
+import org.apache.deltaspike.core.api.config.base.CoreBaseConfig;
+import org.apache.deltaspike.core.api.exclude.Exclude;
+import org.apache.deltaspike.core.api.jmx.JmxManaged;
+import org.apache.deltaspike.core.api.jmx.MBean;
+import org.apache.deltaspike.core.api.jmx.Table;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exposes the {@link ConcurrencyMetrics} of the throttling and locking interceptors via JMX.
+ * All the wait times are in microseconds.
+ * It only gets registered if {@code deltaspike.metrics.concurrency.enabled} is set.
+ */
+@ApplicationScoped
+@MBean(type = "Metrics", name = "Concurrency", perApplication = true,
+        description = "Wait times of the @Throttled and @Locked interceptors")
+@Exclude(onExpression = CoreBaseConfig.MetricsCustomization.CONCURRENCY_METRICS_ENABLED_KEY,
+        interpretedBy = ConcurrencyMetricsDisabledInterpreter.class)
+public class ConcurrencyMetricsMBean
+{
+    private static final String[] COLUMNS =
+    {
+        "name", "acquisitions", "timeouts", "queueLength", "meanWait", "p50Wait", "p99Wait", "maxWait"
+    };
+
+    @Inject
+    private ConcurrencyMetricsStorage metricsStorage;
+
+    @JmxManaged(description = "Semaphores and rates of @Throttled methods")
+    private Table throttling;
+
+    @JmxManaged(description = "Locks of @Locked methods")
+    private Table locks;
+
+    public Table getThrottling()
+    {
+        return toTable(metricsStorage.getAllThrottlingMetrics());
+    }
+
+    public Table getLocks()
+    {
+        return toTable(metricsStorage.getAllLockMetrics());
+    }
+
+    @JmxManaged(description = "Resets all the counters and wait times")
+    public void reset()
+    {
+        metricsStorage.reset();
+    }
+
+    private static Table toTable(Collection<ConcurrencyMetrics> allMetrics)
+    {
+        Table table = new Table().withColumns(COLUMNS);
+        for (ConcurrencyMetrics metrics : allMetrics)
+        {
+            LatencyHistogram waitTimes = metrics.getWaitTimes();
+            table.withLine(
+                    metrics.getName(),
+                    String.valueOf(metrics.getAcquisitions()),
+                    String.valueOf(metrics.getTimeouts()),
+                    String.valueOf(metrics.getQueueLength()),
+                    toMicros(waitTimes.getMeanNanos()),
+                    toMicros(waitTimes.getPercentileNanos(50)),
+                    toMicros(waitTimes.getPercentileNanos(99)),
+                    toMicros(waitTimes.getMaxNanos()));
+        }
+        return table;
+    }
+
+    private static String toMicros(long nanos)
+    {
+        return String.valueOf(TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.core.impl.monitoring;
+
+import org.apache.deltaspike.core.api.config.base.CoreBaseConfig;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.Typed;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Holds the {@link ConcurrencyMetrics} of all the semaphores, rates and locks
+ * used by the throttling and locking interceptors.
+ *
+ * {@link CoreBaseConfig.MetricsCustomization#CONCURRENCY_METRICS_ENABLED} is disabled by default,
+ * in which case no metrics get created, so the interceptors neither read the time nor count anything.
+ */
+@ApplicationScoped
+@Typed(ConcurrencyMetricsStorage.class)
+public class ConcurrencyMetricsStorage
+{
+    private final ConcurrentMap<String, ConcurrencyMetrics> throttlingMetrics =
+            new ConcurrentHashMap<String, ConcurrencyMetrics>();
+    private final ConcurrentMap<String, ConcurrencyMetrics> lockMetrics =
+            new ConcurrentHashMap<String, ConcurrencyMetrics>();
+
+    private final boolean enabled = CoreBaseConfig.MetricsCustomization.CONCURRENCY_METRICS_ENABLED;
+
+    /**
+     * @return the metrics of the given throttling name or {@code null} if metrics are disabled
+     */
+    public ConcurrencyMetrics getThrottlingMetrics(String name)
+    {
+        return getOrCreate(throttlingMetrics, name);
+    }
+
+    /**
+     * @return the metrics of the given lock name or {@code null} if metrics are disabled
+     */
+    public ConcurrencyMetrics getLockMetrics(String name)
+    {
+        return getOrCreate(lockMetrics, name);
+    }
+
+    public Collection<ConcurrencyMetrics> getAllThrottlingMetrics()
+    {
+        return Collections.unmodifiableCollection(throttlingMetrics.values());
+    }
+
+    public Collection<ConcurrencyMetrics> getAllLockMetrics()
+    {
+        return Collections.unmodifiableCollection(lockMetrics.values());
+    }
+
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    public void reset()
+    {
+        for (ConcurrencyMetrics metrics : throttlingMetrics.values())
+        {
+            metrics.reset();
+        }
+        for (ConcurrencyMetrics metrics : lockMetrics.values())
+        {
+            metrics.reset();
+        }
+    }
+
+    private ConcurrencyMetrics getOrCreate(ConcurrentMap<String, ConcurrencyMetrics> metricsByName, String name)
+    {
+        if (!enabled)
+        {
+            return null;
+        }
+
+        ConcurrencyMetrics metrics = metricsByName.get(name);
+        if (metrics == null)
+        {
+            metrics = new ConcurrencyMetrics(name);
+            ConcurrencyMetrics existing = metricsByName.putIfAbsent(name, metrics);
+            if (existing != null)
+            {
+                metrics = existing;
+            }
+        }
+        return metrics;
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.core.impl.monitoring;
+
+/**
+ * The application wide counters of a single monitored method of a single class.
+ */
+public final class InvocationMetrics
+{
+    private final int id;
+    private final String className;
+    private final String methodKey;
+    private final LatencyHistogram durations = new LatencyHistogram();
+
+    // the values of the last published snapshot, only used by the publishing thread
+    private long publishedCount;
+    private long publishedNanos;
+
+    InvocationMetrics(int id, String className, String methodName)
+    {
+        this.id = id;
+        this.className = className;
+        this.methodKey = className + "#" + methodName;
+    }
+
+    public void record(long durationNanos)
+    {
+        durations.record(durationNanos);
+    }
+
+    /**
+     * @return the id which got assigned at the first invocation, ascending in the order of the first invocation
+     */
+    public int getId()
+    {
+        return id;
+    }
+
+    public String getClassName()
+    {
+        return className;
+    }
+
+    /**
+     * @return the fully qualified method name in the same format as used by
+     *         {@link org.apache.deltaspike.core.api.monitoring.MonitorResultEvent}
+     */
+    public String getMethodKey()
+    {
+        return methodKey;
+    }
+
+    public LatencyHistogram getDurations()
+    {
+        return durations;
+    }
+
+    /**
+     * @return the invocation count and the duration since the last call of this method
+     */
+    long[] snapshotDelta()
+    {
+        long count = durations.getCount();
+        long nanos = durations.getTotalNanos();
+        long[] delta = new long[] { count - publishedCount, nanos - publishedNanos };
+        publishedCount = count;
+        publishedNanos = nanos;
+        return delta;
+    }
+
+    void reset()
+    {
+        durations.reset();
+        publishedCount = 0;
+        publishedNanos = 0;
+    }
+}
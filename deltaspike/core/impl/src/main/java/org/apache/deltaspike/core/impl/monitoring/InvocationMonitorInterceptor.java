@@ -18,6 +18,7 @@
  */
 package org.apache.deltaspike.core.impl.monitoring;
 
+import org.apache.deltaspike.core.api.config.base.CoreBaseConfig;
 import org.apache.deltaspike.core.api.monitoring.InvocationMonitored;
 
 import javax.enterprise.context.ContextNotActiveException;
@@ -38,20 +39,33 @@ public class InvocationMonitorInterceptor implements Serializable
     @Inject
     private RequestInvocationCounter requestInvocationCounter;
 
+    @Inject
+    private ApplicationInvocationCounter applicationInvocationCounter;
+
     @AroundInvoke
     public Object track(InvocationContext ic) throws Exception
     {
         long start = System.nanoTime();
         Object retVal = ic.proceed();
         long end = System.nanoTime();
-        try
+
+        if (CoreBaseConfig.MonitoringCustomization.APPLICATION_AGGREGATION_ENABLED)
         {
-            requestInvocationCounter.count(ic.getTarget().getClass().getName(), ic.getMethod().getName(), end - start);
+            applicationInvocationCounter.count(ic.getTarget().getClass(), ic.getMethod(), end - start);
         }
-        catch (ContextNotActiveException cnae)
+
+        if (CoreBaseConfig.MonitoringCustomization.REQUEST_AGGREGATION_ENABLED)
         {
-            logger.log(Level.FINE, "could not monitor invocatino to {} due to RequestContext not being active",
-                ic.getMethod().toString());
+            try
+            {
+                requestInvocationCounter.count(
+                    ic.getTarget().getClass().getName(), ic.getMethod().getName(), end - start);
+            }
+            catch (ContextNotActiveException cnae)
+            {
+                logger.log(Level.FINE, "could not monitor invocatino to {} due to RequestContext not being active",
+                    ic.getMethod().toString());
+            }
         }
 
         return retVal;
@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.core.impl.monitoring;
+
+import org.apache.deltaspike.core.api.exclude.Exclude;
+import org.apache.deltaspike.core.api.jmx.JmxManaged;
+import org.apache.deltaspike.core.api.jmx.MBean;
+import org.apache.deltaspike.core.api.jmx.Table;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exposes the application wide counters of the {@link ApplicationInvocationCounter} via JMX.
+ * All the durations are in microseconds.
+ * It only gets registered if {@code deltaspike.monitoring.application-aggregation.enabled} is set.
+ */
+@ApplicationScoped
+@MBean(type = "Metrics", name = "Invocations",
+        description = "Invocations of @InvocationMonitored methods")
+@Exclude(onExpression = "deltaspike.monitoring.application-aggregation.enabled!=true")
+public class InvocationMonitorMBean
+{
+    @Inject
+    private ApplicationInvocationCounter invocationCounter;
+
+    @JmxManaged(description = "Invocation count and durations per method")
+    private Table invocations;
+
+    public Table getInvocations()
+    {
+        Table table = new Table().withColumns(
+                "id", "method", "invocations", "meanDuration", "p50Duration", "p99Duration", "maxDuration");
+        for (InvocationMetrics metrics : invocationCounter.getAllMetrics())
+        {
+            LatencyHistogram durations = metrics.getDurations();
+            table.withLine(
+                    String.valueOf(metrics.getId()),
+                    metrics.getMethodKey(),
+                    String.valueOf(durations.getCount()),
+                    toMicros(durations.getMeanNanos()),
+                    toMicros(durations.getPercentileNanos(50)),
+                    toMicros(durations.getPercentileNanos(99)),
+                    toMicros(durations.getMaxNanos()));
+        }
+        return table;
+    }
+
+    @JmxManaged(description = "Fires the invocations since the last publishing as MonitorResultEvent")
+    public void publish()
+    {
+        invocationCounter.publish();
+    }
+
+    @JmxManaged(description = "Resets all the counters and durations")
+    public void reset()
+    {
+        invocationCounter.reset();
+    }
+
+    private static String toMicros(long nanos)
+    {
+        return String.valueOf(TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+}
@@ -20,9 +20,65 @@ package org.apache.deltaspike.core.impl.scope.conversation;
 
 import org.apache.deltaspike.core.api.scope.WindowScoped;
 import org.apache.deltaspike.core.impl.scope.AbstractBeanHolder;
+import org.apache.deltaspike.core.util.context.ContextualStorage;
+
+import javax.enterprise.inject.spi.BeanManager;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 @WindowScoped
 public class ConversationBeanHolder extends AbstractBeanHolder<ConversationKey>
 {
     private static final long serialVersionUID = 6313493410718133308L;
+
+    //conversation-group -> keys of the storages of the group (might contain keys of storages which got removed already)
+    private Map<Class<?>, Set<ConversationKey>> groupIndex = new ConcurrentHashMap<Class<?>, Set<ConversationKey>>();
+
+    @Override
+    protected synchronized ContextualStorage createContextualStorage(BeanManager beanManager, ConversationKey key)
+    {
+        ContextualStorage contextualStorage = super.createContextualStorage(beanManager, key);
+
+        Set<ConversationKey> conversationKeys = this.groupIndex.get(key.getConversationGroup());
+        if (conversationKeys == null)
+        {
+            conversationKeys = ConcurrentHashMap.newKeySet();
+            this.groupIndex.put(key.getConversationGroup(), conversationKeys);
+        }
+        conversationKeys.add(key);
+
+        return contextualStorage;
+    }
+
+    /**
+     * @return the keys of all storages which belong to the given conversation-group
+     */
+    public Set<ConversationKey> getConversationKeys(Class<?> conversationGroup)
+    {
+        Set<ConversationKey> conversationKeys = this.groupIndex.get(conversationGroup);
+        if (conversationKeys == null)
+        {
+            return Collections.emptySet();
+        }
+        return conversationKeys;
+    }
+
+    public ContextualStorage removeContextualStorage(ConversationKey key)
+    {
+        Set<ConversationKey> conversationKeys = this.groupIndex.get(key.getConversationGroup());
+        if (conversationKeys != null)
+        {
+            conversationKeys.remove(key);
+        }
+        return getStorageMap().remove(key);
+    }
+
+    @Override
+    public synchronized Map<ConversationKey, ContextualStorage> forceNewStorage()
+    {
+        this.groupIndex = new ConcurrentHashMap<Class<?>, Set<ConversationKey>>();
+        return super.forceNewStorage();
+    }
 }
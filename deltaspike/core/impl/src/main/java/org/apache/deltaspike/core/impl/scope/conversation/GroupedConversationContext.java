@@ -30,6 +30,7 @@ import org.apache.deltaspike.core.util.context.ContextualStorage;
 import javax.enterprise.context.spi.Contextual;
 import javax.enterprise.inject.Typed;
 import javax.enterprise.inject.spi.BeanManager;
+import javax.enterprise.inject.spi.PassivationCapable;
 import java.lang.annotation.Annotation;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -37,6 +38,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Typed()
 //TODO add RequestCache
@@ -49,6 +51,9 @@ public class GroupedConversationContext extends AbstractContext implements Group
 
     private final WindowContextImpl windowContext;
 
+    //the key only depends on the bean, so it just gets computed once per bean (and not once per lookup)
+    private final Map<Object, ConversationKey> conversationKeyCache = new ConcurrentHashMap<Object, ConversationKey>();
+
     private ConversationBeanHolder conversationBeanHolder;
 
     public GroupedConversationContext(BeanManager beanManager, WindowContextImpl windowContext)
@@ -67,7 +72,16 @@ public class GroupedConversationContext extends AbstractContext implements Group
     @Override
     protected ContextualStorage getContextualStorage(Contextual<?> contextual, boolean createIfNotExist)
     {
-        ConversationKey conversationKey = ConversationUtils.convertToConversationKey(contextual, this.beanManager);
+        //wrapped contextuals might be different instances for the same bean
+        Object cacheKey = contextual instanceof PassivationCapable ?
+            ((PassivationCapable) contextual).getId() : contextual;
+
+        ConversationKey conversationKey = this.conversationKeyCache.get(cacheKey);
+        if (conversationKey == null)
+        {
+            conversationKey = ConversationUtils.convertToConversationKey(contextual, this.beanManager);
+            this.conversationKeyCache.put(cacheKey, conversationKey);
+        }
         return this.conversationBeanHolder.getContextualStorage(this.beanManager, conversationKey, createIfNotExist);
     }
 
@@ -95,7 +109,7 @@ public class GroupedConversationContext extends AbstractContext implements Group
     public ContextualStorage closeConversation(Class<?> conversationGroup, Annotation... qualifiers)
     {
         ConversationKey conversationKey = new ConversationKey(conversationGroup, qualifiers);
-        ContextualStorage contextualStorage = this.conversationBeanHolder.getStorageMap().remove(conversationKey);
+        ContextualStorage contextualStorage = this.conversationBeanHolder.removeContextualStorage(conversationKey);
 
         if (contextualStorage != null)
         {
@@ -122,34 +136,36 @@ public class GroupedConversationContext extends AbstractContext implements Group
         }
 
         Map<ConversationKey, ContextualStorage> storageMap = this.conversationBeanHolder.getStorageMap();
-        for (Map.Entry<ConversationKey, ContextualStorage> entry : storageMap.entrySet())
+        for (ConversationKey conversationKey : this.conversationBeanHolder.getConversationKeys(conversationGroup))
         {
-            if (entry.getKey().getConversationGroup().equals(conversationGroup))
+            ContextualStorage contextualStorage = storageMap.get(conversationKey);
+            if (contextualStorage == null)
             {
-                if (subGroups == null)
-                {
-                    AbstractContext.destroyAllActive(entry.getValue());
-                    result.add(entry.getValue());
-                    storageMap.remove(entry.getKey()); //ok due to ConcurrentHashMap
-                }
-                else
-                {
-                    tryToDestroySubGroup(subGroups, entry);
+                this.conversationBeanHolder.removeContextualStorage(conversationKey);
+                continue;
+            }
 
-                    if (entry.getValue().getStorage().isEmpty())
-                    {
-                        storageMap.remove(entry.getKey()); //ok due to ConcurrentHashMap
-                    }
+            if (subGroups == null)
+            {
+                AbstractContext.destroyAllActive(contextualStorage);
+                result.add(contextualStorage);
+                this.conversationBeanHolder.removeContextualStorage(conversationKey); //ok due to the concurrent set
+            }
+            else
+            {
+                tryToDestroySubGroup(subGroups, contextualStorage);
+
+                if (contextualStorage.getStorage().isEmpty())
+                {
+                    this.conversationBeanHolder.removeContextualStorage(conversationKey);
                 }
             }
         }
         return result;
     }
 
-    private void tryToDestroySubGroup(Set<Class<?>> subGroups, Map.Entry<ConversationKey, ContextualStorage> entry)
+    private void tryToDestroySubGroup(Set<Class<?>> subGroups, ContextualStorage storage)
     {
-        ContextualStorage storage = entry.getValue();
-
         for (Map.Entry<Object, ContextualInstanceInfo<?>> storageEntry : storage.getStorage().entrySet())
         {
             for (Class<?> subGroup : subGroups)
@@ -18,16 +18,20 @@
  */
 package org.apache.deltaspike.core.impl.scope.viewaccess;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.HashSet;
+import java.util.Set;
 import javax.enterprise.context.RequestScoped;
 
+/**
+ * The keys of the beans which got accessed during the current request.
+ * Every bean is contained just once, no matter how often it got accessed.
+ */
 @RequestScoped
 public class ViewAccessBeanAccessHistory
 {    
-    private final List<String> accessedBeans = new ArrayList<String>();
+    private final Set<String> accessedBeans = new HashSet<String>();
 
-    public List<String> getAccessedBeans()
+    public Set<String> getAccessedBeans()
     {
         return accessedBeans;
     }
@@ -31,12 +31,18 @@ import javax.enterprise.inject.Typed;
 import javax.enterprise.inject.spi.BeanManager;
 import javax.enterprise.inject.spi.PassivationCapable;
 import java.lang.annotation.Annotation;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
 
+/**
+ * The beans of a window get stored per view. Once the view changes, the beans which got accessed
+ * during the request get moved to the storage of the new view and the storage of the previous view
+ * gets destroyed as a whole. So the effort only depends on the accessed beans and not on all the beans of a window.
+ */
 @Typed()
 public class ViewAccessContext extends AbstractContext implements ViewAccessContextManager
 {
-    private static final String KEY = "VAS"; //TODO re-visit key (e.g. view-id instead of using one big storage)
+    private static final String KEY = "VAS";
 
     private final BeanManager beanManager;
     private final WindowContextImpl windowContext;
@@ -99,7 +105,19 @@ public class ViewAccessContext extends AbstractContext implements ViewAccessCont
     @Override
     protected ContextualStorage getContextualStorage(Contextual<?> contextual, boolean createIfNotExist)
     {
-        return this.viewAccessBeanHolder.getContextualStorage(this.beanManager, KEY, createIfNotExist);
+        return this.viewAccessBeanHolder.getContextualStorage(
+                this.beanManager, getStorageKey(this.viewAccessViewHistory.getLastView()), createIfNotExist);
+    }
+
+    @Override
+    protected List<ContextualStorage> getActiveContextualStorages()
+    {
+        return new ArrayList<ContextualStorage>(this.viewAccessBeanHolder.getStorageMap().values());
+    }
+
+    private static String getStorageKey(String view)
+    {
+        return view == null ? KEY : KEY + ":" + view;
     }
 
     @Override
@@ -128,32 +146,52 @@ public class ViewAccessContext extends AbstractContext implements ViewAccessCont
         }
 
         // destroy beans only if the view has been changed
-        if (force || !view.equals(viewAccessViewHistory.getLastView()))
+        if (force)
         {
             viewAccessViewHistory.setLastView(view);
-            
-            destroyExpiredBeans(force);
+
+            destroyAllActive();
+            viewAccessBeanHolder.getStorageMap().clear();
+        }
+        else if (!view.equals(viewAccessViewHistory.getLastView()))
+        {
+            String lastView = viewAccessViewHistory.getLastView();
+            viewAccessViewHistory.setLastView(view);
+
+            destroyExpiredBeans(lastView, view);
         }
         
         // clear history after each rendering process
         viewAccessBeanAccessHistory.getAccessedBeans().clear();
     }
     
-    private void destroyExpiredBeans(boolean force)
+    private void destroyExpiredBeans(String lastView, String view)
     {
-        ContextualStorage storage = viewAccessBeanHolder.getContextualStorage(beanManager, KEY, false);
-        if (storage != null)
+        ContextualStorage lastViewStorage =
+                viewAccessBeanHolder.getStorageMap().remove(getStorageKey(lastView));
+        if (lastViewStorage == null)
+        {
+            return;
+        }
+
+        ContextualStorage viewStorage = null;
+        for (String accessedBean : viewAccessBeanAccessHistory.getAccessedBeans())
         {
-            for (Map.Entry<Object, ContextualInstanceInfo<?>> storageEntry : storage.getStorage().entrySet())
+            ContextualInstanceInfo<?> contextualInstanceInfo = lastViewStorage.getStorage().remove(accessedBean);
+            if (contextualInstanceInfo == null)
             {
-                if (force || !viewAccessBeanAccessHistory.getAccessedBeans().contains((String) storageEntry.getKey()))
-                {
-                    Contextual bean = storage.getBean(storageEntry.getKey());
-                    AbstractContext.destroyBean(bean, storageEntry.getValue());
-                    storage.getStorage().remove(storageEntry.getKey()); //ok due to ConcurrentHashMap
-                }
+                continue;
             }
+
+            if (viewStorage == null)
+            {
+                viewStorage = viewAccessBeanHolder.getContextualStorage(beanManager, getStorageKey(view), true);
+            }
+            viewStorage.getStorage().put(accessedBean, contextualInstanceInfo);
         }
+
+        // everything which is left didn't get accessed
+        AbstractContext.destroyAllActive(lastViewStorage);
     }
 
     @Override
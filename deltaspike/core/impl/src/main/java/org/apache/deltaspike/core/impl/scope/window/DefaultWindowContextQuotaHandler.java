@@ -20,12 +20,22 @@ package org.apache.deltaspike.core.impl.scope.window;
 
 import org.apache.deltaspike.core.api.config.base.CoreBaseConfig;
 import org.apache.deltaspike.core.spi.scope.window.WindowContextQuotaHandler;
+import org.apache.deltaspike.core.util.context.ContextualStorage;
 
 import javax.annotation.PostConstruct;
 import javax.enterprise.context.SessionScoped;
 import javax.inject.Inject;
-import java.util.Stack;
+import java.io.Serializable;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Destroys the least recently used windows once the max. window count, the max. idle time
+ * or the max. number of window-scoped beans is exceeded.
+ * All the operations for a window access are O(1), the windows are kept in access order.
+ */
 @SessionScoped
 //could be also dependent-scoped since we only inject it in one session-scoped bean, however,
 //if users would like to customize the behavior they wouldn't be able to use it (if it would be dependent-scoped)
@@ -33,10 +43,22 @@ public class DefaultWindowContextQuotaHandler implements WindowContextQuotaHandl
 {
     protected int maxWindowContextCount;
 
+    protected long maxIdleMillis =
+            TimeUnit.SECONDS.toMillis(CoreBaseConfig.ScopeCustomization.WindowRestriction.MAX_IDLE_IN_SECONDS);
+
+    protected int maxBeanCount = CoreBaseConfig.ScopeCustomization.WindowRestriction.MAX_BEAN_COUNT;
+
     @Inject
     private WindowContextQuotaHandlerCache quotaHandlerCache;
 
-    private Stack<String> windowIdStack = new Stack<String>();
+    @Inject
+    private WindowBeanHolder windowBeanHolder;
+
+    // the least recently used window comes first
+    private final LinkedHashMap<String, WindowUsage> windowUsages =
+            new LinkedHashMap<String, WindowUsage>(16, 0.75f, true);
+
+    private int totalBeanCount;
 
     @PostConstruct
     protected void init()
@@ -60,24 +82,97 @@ public class DefaultWindowContextQuotaHandler implements WindowContextQuotaHandl
          * the following part gets executed only once per request, if the window-id is the same
          */
 
-        if (this.windowIdStack.contains(windowId))
+        long now = System.currentTimeMillis();
+
+        // also moves the window to the end
+        WindowUsage windowUsage = this.windowUsages.get(windowId);
+        if (windowUsage == null)
         {
-            if (windowIdStack.size() > 1) //don't move it up if there is just one entry
-            {
-                this.windowIdStack.remove(windowId);
-                this.windowIdStack.push(windowId);
-            }
+            windowUsage = new WindowUsage();
+            this.windowUsages.put(windowId, windowUsage);
         }
-        else
+        windowUsage.lastAccess = now;
+
+        if (this.maxBeanCount > 0)
         {
-            this.windowIdStack.push(windowId);
-            if (this.windowIdStack.size() > this.maxWindowContextCount)
+            updateBeanCount(windowId, windowUsage);
+        }
+
+        destroyExceededWindows(windowId, now);
+    }
+
+    /**
+     * Windows which got closed manually mustn't count for the quotas anymore.
+     */
+    @Override
+    public synchronized void windowClosed(String windowId)
+    {
+        WindowUsage windowUsage = this.windowUsages.remove(windowId);
+        if (windowUsage != null)
+        {
+            this.totalBeanCount -= windowUsage.beanCount;
+        }
+    }
+
+    private void updateBeanCount(String windowId, WindowUsage windowUsage)
+    {
+        ContextualStorage contextualStorage = this.windowBeanHolder.getStorageMap().get(windowId);
+        int beanCount = contextualStorage != null ? contextualStorage.getStorage().size() : 0;
+
+        this.totalBeanCount += beanCount - windowUsage.beanCount;
+        windowUsage.beanCount = beanCount;
+    }
+
+    private void destroyExceededWindows(String currentWindowId, long now)
+    {
+        Iterator<Map.Entry<String, WindowUsage>> windowUsageIterator = this.windowUsages.entrySet().iterator();
+        while (windowUsageIterator.hasNext())
+        {
+            Map.Entry<String, WindowUsage> leastRecentlyUsed = windowUsageIterator.next();
+
+            // the current window is the most recently used one and never gets destroyed
+            if (leastRecentlyUsed.getKey().equals(currentWindowId) ||
+                    !isQuotaExceeded(leastRecentlyUsed.getValue(), now))
             {
-                String windowIdToRemove = this.windowIdStack.remove(0);
-                //destroy it lazily at the end of the request to avoid an overhead during the request
-                //which might be caused by pre-destroy logic of window-scoped beans
-                this.quotaHandlerCache.setWindowIdToDestroy(windowIdToRemove);
+                return;
             }
+
+            windowUsageIterator.remove();
+            this.totalBeanCount -= leastRecentlyUsed.getValue().beanCount;
+
+            //destroy it lazily at the end of the request to avoid an overhead during the request
+            //which might be caused by pre-destroy logic of window-scoped beans
+            this.quotaHandlerCache.addWindowIdToDestroy(leastRecentlyUsed.getKey());
+        }
+    }
+
+    /**
+     * @param leastRecentlyUsed the usage of the least recently used window
+     * @param now the current time in milliseconds
+     * @return true if the least recently used window should get destroyed
+     */
+    protected boolean isQuotaExceeded(WindowUsage leastRecentlyUsed, long now)
+    {
+        return this.windowUsages.size() > this.maxWindowContextCount ||
+                (this.maxIdleMillis > 0 && now - leastRecentlyUsed.lastAccess > this.maxIdleMillis) ||
+                (this.maxBeanCount > 0 && this.totalBeanCount > this.maxBeanCount);
+    }
+
+    protected static class WindowUsage implements Serializable
+    {
+        private static final long serialVersionUID = -2958214394727406455L;
+
+        private long lastAccess;
+        private int beanCount;
+
+        public long getLastAccess()
+        {
+            return lastAccess;
+        }
+
+        public int getBeanCount()
+        {
+            return beanCount;
         }
     }
 }
@@ -65,4 +65,18 @@ public class WindowBeanHolder extends AbstractBeanHolder<String>
         }
         return result;
     }
+
+    /**
+     * Removes the storage of a closed or destroyed window without destroying its beans.
+     * @return the removed storage or {@code null} if there was none
+     */
+    public ContextualStorage removeWindowStorage(String windowId)
+    {
+        ContextualStorage windowStorage = getStorageMap().remove(windowId);
+        if (this.windowContextQuotaHandlerEnabled)
+        {
+            this.windowContextQuotaHandler.windowClosed(windowId);
+        }
+        return windowStorage;
+    }
 }
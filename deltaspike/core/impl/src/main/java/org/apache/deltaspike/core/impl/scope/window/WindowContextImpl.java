@@ -93,7 +93,7 @@ public class WindowContextImpl extends AbstractContext implements WindowContext
             return false;
         }
 
-        ContextualStorage windowStorage = windowBeanHolder.getStorageMap().remove(windowId);
+        ContextualStorage windowStorage = windowBeanHolder.removeWindowStorage(windowId);
 
         if (windowStorage != null)
         {
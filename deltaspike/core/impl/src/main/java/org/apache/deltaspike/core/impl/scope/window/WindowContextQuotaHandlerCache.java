@@ -18,22 +18,39 @@
  */
 package org.apache.deltaspike.core.impl.scope.window;
 
+import org.apache.deltaspike.core.api.config.base.CoreBaseConfig;
+import org.apache.deltaspike.core.impl.future.ThreadPoolManager;
 import org.apache.deltaspike.core.spi.scope.window.WindowContext;
+import org.apache.deltaspike.core.util.context.AbstractContext;
+import org.apache.deltaspike.core.util.context.ContextualStorage;
 
 import javax.annotation.PreDestroy;
 import javax.enterprise.context.RequestScoped;
 import javax.inject.Inject;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 
 @RequestScoped
 public class WindowContextQuotaHandlerCache implements Serializable
 {
+    private static final String DESTROY_POOL_NAME = "deltaspike-window-destroy";
+
+    protected boolean asyncDestroy = CoreBaseConfig.ScopeCustomization.WindowRestriction.ASYNC_DESTROY;
+
     private String checkedWindowId;
-    private String windowIdToRemove;
+    private List<String> windowIdsToRemove;
 
     @Inject
     private WindowContext windowContext;
 
+    @Inject
+    private WindowBeanHolder windowBeanHolder;
+
+    @Inject
+    private ThreadPoolManager threadPoolManager;
+
     /**
      * @param currentWindowId window-id which gets processed right now
      * @return true if the previously checked window-id is the same, false otherwise
@@ -47,15 +64,72 @@ public class WindowContextQuotaHandlerCache implements Serializable
 
     public void setWindowIdToDestroy(String windowIdToRemove)
     {
-        this.windowIdToRemove = windowIdToRemove;
+        addWindowIdToDestroy(windowIdToRemove);
+    }
+
+    /**
+     * @param windowIdToRemove a window which gets destroyed at the end of the request
+     */
+    public void addWindowIdToDestroy(String windowIdToRemove)
+    {
+        if (this.windowIdsToRemove == null)
+        {
+            this.windowIdsToRemove = new ArrayList<String>(1);
+        }
+        this.windowIdsToRemove.add(windowIdToRemove);
     }
 
     @PreDestroy
     public void cleanup()
     {
-        if (this.windowIdToRemove != null)
+        if (this.windowIdsToRemove == null)
+        {
+            return;
+        }
+
+        List<String> windowIds = this.windowIdsToRemove;
+        this.windowIdsToRemove = null;
+
+        for (String windowIdToRemove : windowIds)
+        {
+            if (windowIdToRemove.equals(this.checkedWindowId) || !this.asyncDestroy)
+            {
+                this.windowContext.closeWindow(windowIdToRemove);
+                continue;
+            }
+
+            // only the beans get destroyed in the background, the window itself is gone immediately
+            final ContextualStorage windowStorage = this.windowBeanHolder.removeWindowStorage(windowIdToRemove);
+            if (windowStorage != null)
+            {
+                destroyInBackground(windowStorage);
+            }
+        }
+    }
+
+    private void destroyInBackground(final ContextualStorage windowStorage)
+    {
+        Runnable destroyTask = new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                AbstractContext.destroyAllActive(windowStorage);
+            }
+        };
+
+        try
+        {
+            this.threadPoolManager.find(DESTROY_POOL_NAME).execute(destroyTask);
+        }
+        catch (RejectedExecutionException e)
+        {
+            destroyTask.run();
+        }
+        catch (IllegalStateException e)
         {
-            this.windowContext.closeWindow(this.windowIdToRemove);
+            // the container is shutting down
+            destroyTask.run();
         }
     }
 }
@@ -18,64 +18,68 @@
  */
 package org.apache.deltaspike.core.impl.throttling;
 
+import org.apache.deltaspike.core.impl.monitoring.ConcurrencyMetrics;
 import org.apache.deltaspike.core.util.ExceptionUtils;
 
 import javax.interceptor.InvocationContext;
-import java.util.concurrent.Semaphore;
-import java.util.concurrent.TimeUnit;
 
-class Invoker
+abstract class Invoker
 {
-    private final int weight;
-    private final Semaphore semaphore;
-    private final long timeout;
+    protected final int weight;
+    protected final long timeout;
+    private final ConcurrencyMetrics metrics;
 
-    Invoker(final Semaphore semaphore, final int weight, final long timeout)
+    protected Invoker(final int weight, final long timeout, final ConcurrencyMetrics metrics)
     {
-        this.semaphore = semaphore;
         this.weight = weight;
         this.timeout = timeout;
+        this.metrics = metrics;
     }
 
     public Object invoke(final InvocationContext context) throws Exception
     {
-        if (timeout > 0)
+        final long start = metrics != null ? metrics.startWaiting() : 0;
+        boolean acquired = false;
+        try
         {
-            try
-            {
-                if (!semaphore.tryAcquire(weight, timeout, TimeUnit.MILLISECONDS))
-                {
-                    throw new IllegalStateException(
-                        "Can't acquire " + weight + " permits for " + context.getMethod() + " in " + timeout + "ms");
-                }
-            }
-            catch (final InterruptedException e)
-            {
-                return onInterruption(e);
-            }
+            acquired = acquire();
         }
-        else
+        catch (final InterruptedException e)
         {
-            try
-            {
-                semaphore.acquire(weight);
-            }
-            catch (final InterruptedException e)
+            return onInterruption(e);
+        }
+        finally
+        {
+            if (metrics != null)
             {
-                return onInterruption(e);
+                metrics.stopWaiting(start, acquired);
             }
         }
+
+        if (!acquired)
+        {
+            throw new IllegalStateException(
+                "Can't acquire " + weight + " permits for " + context.getMethod() + " in " + timeout + "ms");
+        }
+
         try
         {
             return context.proceed();
         }
         finally
         {
-            semaphore.release(weight);
+            release();
         }
     }
 
-    private static Semaphore onInterruption(final InterruptedException e)
+    /**
+     * @return {@code false} if the permits couldn't be acquired within the timeout
+     */
+    protected abstract boolean acquire() throws InterruptedException;
+
+    protected abstract void release();
+
+    protected static Object onInterruption(final InterruptedException e)
     {
         Thread.interrupted();
         throw ExceptionUtils.throwAsRuntimeException(e);
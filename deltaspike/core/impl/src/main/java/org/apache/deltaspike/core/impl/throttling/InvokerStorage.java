@@ -21,6 +21,7 @@ package org.apache.deltaspike.core.impl.throttling;
 
 import org.apache.deltaspike.core.api.throttling.Throttled;
 import org.apache.deltaspike.core.api.throttling.Throttling;
+import org.apache.deltaspike.core.impl.monitoring.ConcurrencyMetricsStorage;
 import org.apache.deltaspike.core.impl.util.AnnotatedMethods;
 
 import javax.enterprise.context.ApplicationScoped;
@@ -34,17 +35,23 @@ import java.lang.reflect.Method;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 @ApplicationScoped
 @Typed(InvokerStorage.class)
-public class InvokerStorage implements Throttling.SemaphoreFactory
+public class InvokerStorage implements Throttling.SemaphoreFactory, Throttling.RateLimiterFactory
 {
     private final ConcurrentMap<String, Semaphore> semaphores = new ConcurrentHashMap<String, Semaphore>();
+    private final ConcurrentMap<String, Throttling.RateLimiter> rateLimiters =
+            new ConcurrentHashMap<String, Throttling.RateLimiter>();
     private final ConcurrentMap<Method, Invoker> providers = new ConcurrentHashMap<Method, Invoker>();
 
     @Inject
     private BeanManager beanManager;
 
+    @Inject
+    private ConcurrencyMetricsStorage metricsStorage;
+
     Invoker getOrCreateInvoker(final InvocationContext ic)
     {
         final Method method = ic.getMethod();
@@ -66,23 +73,46 @@ public class InvokerStorage implements Throttling.SemaphoreFactory
                 sharedConfig = annotatedType.getAnnotation(Throttling.class);
             }
 
-            final Throttling.SemaphoreFactory factory =
-                    sharedConfig != null && sharedConfig.factory() != Throttling.SemaphoreFactory.class ?
-                            Throttling.SemaphoreFactory.class.cast(
-                                    beanManager.getReference(beanManager.resolve(
-                                            beanManager.getBeans(
-                                                    sharedConfig.factory())),
-                                            Throttling.SemaphoreFactory.class, null)) : this;
-
-            final Semaphore semaphore = factory.newSemaphore(
-                    annotatedMethod,
-                    sharedConfig != null && !sharedConfig.name().isEmpty() ?
-                            sharedConfig.name() : declaringClass.getName(),
-                    sharedConfig != null && sharedConfig.fair(),
-                    sharedConfig != null ? sharedConfig.permits() : 1);
+            final String name = sharedConfig != null && !sharedConfig.name().isEmpty() ?
+                    sharedConfig.name() : declaringClass.getName();
             final long timeout = config.timeoutUnit().toMillis(config.timeout());
             final int weigth = config.weight();
-            i = new Invoker(semaphore, weigth, timeout);
+
+            if (sharedConfig != null && sharedConfig.rate() > 0)
+            {
+                final Throttling.RateLimiterFactory factory =
+                        sharedConfig.rateLimiterFactory() != Throttling.RateLimiterFactory.class ?
+                                Throttling.RateLimiterFactory.class.cast(
+                                        beanManager.getReference(beanManager.resolve(
+                                                beanManager.getBeans(
+                                                        sharedConfig.rateLimiterFactory())),
+                                                Throttling.RateLimiterFactory.class, null)) : this;
+
+                final int burst = sharedConfig.burst() > 0 ? sharedConfig.burst() :
+                        (int) Math.max(1, sharedConfig.rate() * TimeUnit.SECONDS.toNanos(1) /
+                                sharedConfig.rateUnit().toNanos(1));
+
+                final Throttling.RateLimiter rateLimiter = factory.newRateLimiter(
+                        annotatedMethod, name, sharedConfig.rate(), sharedConfig.rateUnit(), burst);
+                i = new RateLimitedInvoker(rateLimiter, weigth, timeout, metricsStorage.getThrottlingMetrics(name));
+            }
+            else
+            {
+                final Throttling.SemaphoreFactory factory =
+                        sharedConfig != null && sharedConfig.factory() != Throttling.SemaphoreFactory.class ?
+                                Throttling.SemaphoreFactory.class.cast(
+                                        beanManager.getReference(beanManager.resolve(
+                                                beanManager.getBeans(
+                                                        sharedConfig.factory())),
+                                                Throttling.SemaphoreFactory.class, null)) : this;
+
+                final Semaphore semaphore = factory.newSemaphore(
+                        annotatedMethod,
+                        name,
+                        sharedConfig != null && sharedConfig.fair(),
+                        sharedConfig != null ? sharedConfig.permits() : 1);
+                i = new SemaphoreInvoker(semaphore, weigth, timeout, metricsStorage.getThrottlingMetrics(name));
+            }
             final Invoker existing = providers.putIfAbsent(ic.getMethod(), i);
             if (existing != null)
             {
@@ -108,4 +138,21 @@ public class InvokerStorage implements Throttling.SemaphoreFactory
         }
         return semaphore;
     }
+
+    @Override
+    public Throttling.RateLimiter newRateLimiter(final AnnotatedMethod<?> method, final String name,
+                                                 final int rate, final TimeUnit rateUnit, final int burst)
+    {
+        Throttling.RateLimiter rateLimiter = rateLimiters.get(name);
+        if (rateLimiter == null)
+        {
+            rateLimiter = new TokenBucketRateLimiter(rate, rateUnit, burst);
+            final Throttling.RateLimiter existing = rateLimiters.putIfAbsent(name, rateLimiter);
+            if (existing != null)
+            {
+                rateLimiter = existing;
+            }
+        }
+        return rateLimiter;
+    }
 }
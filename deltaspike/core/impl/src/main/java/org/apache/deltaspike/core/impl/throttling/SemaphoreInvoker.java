@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.core.impl.throttling;
+
+import org.apache.deltaspike.core.impl.monitoring.ConcurrencyMetrics;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+class SemaphoreInvoker extends Invoker
+{
+    private final Semaphore semaphore;
+
+    SemaphoreInvoker(final Semaphore semaphore, final int weight, final long timeout,
+                     final ConcurrencyMetrics metrics)
+    {
+        super(weight, timeout, metrics);
+        this.semaphore = semaphore;
+    }
+
+    @Override
+    protected boolean acquire() throws InterruptedException
+    {
+        if (timeout > 0)
+        {
+            return semaphore.tryAcquire(weight, timeout, TimeUnit.MILLISECONDS);
+        }
+
+        semaphore.acquire(weight);
+        return true;
+    }
+
+    @Override
+    protected void release()
+    {
+        semaphore.release(weight);
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.core.impl.throttling;
+
+import org.apache.deltaspike.core.api.throttling.Throttling;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A lock-free token bucket.
+ *
+ * Instead of counting tokens it only stores the point in time up to which all the tokens are handed out.
+ * Acquiring permits moves this point further into the future, for a full bucket it lies {@code burst} permits
+ * in the past.
+ * Callers reserve their permits with a single CAS and then park until their reservation is due,
+ * so waiting callers get served in the order of their reservations without spinning.
+ */
+final class TokenBucketRateLimiter implements Throttling.RateLimiter
+{
+    private final long nanosPerPermit;
+    private final long burstNanos;
+
+    // the time (System.nanoTime) up to which all the tokens are handed out
+    private final AtomicLong nextFree;
+
+    TokenBucketRateLimiter(final int rate, final TimeUnit rateUnit, final int burst)
+    {
+        if (rate <= 0 || burst <= 0)
+        {
+            throw new IllegalArgumentException("rate and burst must be positive but were " + rate + "/" + burst);
+        }
+
+        nanosPerPermit = Math.max(1, rateUnit.toNanos(1) / rate);
+        burstNanos = nanosPerPermit * burst;
+        nextFree = new AtomicLong(System.nanoTime() - burstNanos);
+    }
+
+    @Override
+    public void acquire(final int permits) throws InterruptedException
+    {
+        awaitReservation(reserve(permits, Long.MAX_VALUE));
+    }
+
+    @Override
+    public boolean tryAcquire(final int permits, final long timeout, final TimeUnit unit) throws InterruptedException
+    {
+        final long due = reserve(permits, unit.toNanos(timeout));
+        if (due == Long.MIN_VALUE)
+        {
+            return false;
+        }
+
+        awaitReservation(due);
+        return true;
+    }
+
+    /**
+     * @return the time at which the reservation is due or {@link Long#MIN_VALUE} if it would take longer than maxWait
+     */
+    private long reserve(final int permits, final long maxWait)
+    {
+        while (true)
+        {
+            final long now = System.nanoTime();
+            final long currentNextFree = nextFree.get();
+
+            // tokens beyond the burst don't get accumulated
+            final long start = currentNextFree - (now - burstNanos) < 0 ? now - burstNanos : currentNextFree;
+            final long newNextFree = start + permits * nanosPerPermit;
+
+            // the reservation is due once the bucket contains the requested permits
+            final long due = Math.max(now, newNextFree);
+            if (due - now > maxWait)
+            {
+                return Long.MIN_VALUE;
+            }
+
+            if (nextFree.compareAndSet(currentNextFree, newNextFree))
+            {
+                return due;
+            }
+        }
+    }
+
+    private static void awaitReservation(final long due) throws InterruptedException
+    {
+        long remaining;
+        while ((remaining = due - System.nanoTime()) > 0)
+        {
+            LockSupport.parkNanos(remaining);
+            if (Thread.interrupted())
+            {
+                throw new InterruptedException();
+            }
+        }
+    }
+}
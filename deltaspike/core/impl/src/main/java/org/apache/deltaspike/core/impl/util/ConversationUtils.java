@@ -54,7 +54,8 @@ public abstract class ConversationUtils
 
         Bean<?> bean = (Bean<?>) contextual;
 
-        //don't cache it (due to the support of different producers)
+        //not cached here, GroupedConversationContext caches the key per bean (id),
+        //which also works for producers since each of them is an own bean with own qualifiers
         ConversationGroup conversationGroupAnnotation = findConversationGroupAnnotation(bean);
 
         Class<?> conversationGroup;
@@ -210,6 +210,66 @@ public class ConfigResolverTest
         Assert.assertEquals("pre-crazy-post/ohgosh/crazy", tr.getValue());
     }
 
+    @Test
+    public void testConfigVariableCycle()
+    {
+        setTestConfigSourceValue("deltaspike.test.cycle.variable1", "a-${deltaspike.test.cycle.variable2}");
+        setTestConfigSourceValue("deltaspike.test.cycle.variable2", "b-${deltaspike.test.cycle.variable1}");
+        try
+        {
+            ConfigResolver.getPropertyValue("deltaspike.test.cycle.variable1", true);
+            Assert.fail("recursive variable declaration not detected");
+        }
+        catch (IllegalStateException e)
+        {
+            // all fine
+        }
+        finally
+        {
+            setTestConfigSourceValue("deltaspike.test.cycle.variable1", null);
+            setTestConfigSourceValue("deltaspike.test.cycle.variable2", null);
+        }
+    }
+
+    @Test
+    public void testConfigVariableSelfReference()
+    {
+        setTestConfigSourceValue("deltaspike.test.cycle.self", "a-${deltaspike.test.cycle.self}");
+        try
+        {
+            ConfigResolver.getPropertyValue("deltaspike.test.cycle.self", true);
+            Assert.fail("recursive variable declaration not detected");
+        }
+        catch (IllegalStateException e)
+        {
+            Assert.assertTrue(e.getMessage().endsWith("while resolving deltaspike.test.cycle.self"));
+        }
+        finally
+        {
+            setTestConfigSourceValue("deltaspike.test.cycle.self", null);
+        }
+    }
+
+    @Test
+    public void testConfigVariableRepeatedAndNested()
+    {
+        setTestConfigSourceValue("deltaspike.test.template.value",
+            "${deltaspike.test.host.url}|${deltaspike.test.host.url}|${}|${deltaspike.test.host.url}");
+        setTestConfigSourceValue("deltaspike.test.template.nested", "${${deltaspike.test.recursive.variable3}");
+        try
+        {
+            Assert.assertEquals("http://localhost:12345|http://localhost:12345|${}|http://localhost:12345",
+                ConfigResolver.getPropertyValue("deltaspike.test.template.value", true));
+            Assert.assertEquals("${crazy",
+                ConfigResolver.getPropertyValue("deltaspike.test.template.nested", true));
+        }
+        finally
+        {
+            setTestConfigSourceValue("deltaspike.test.template.value", null);
+            setTestConfigSourceValue("deltaspike.test.template.nested", null);
+        }
+    }
+
     @Test
     public void testTypedResolver_NonExistingValue()
     {
@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.test.core.api.config;
+
+import org.apache.deltaspike.core.api.config.ConfigResolver;
+import org.apache.deltaspike.core.spi.config.ConfigSource;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+public class ConfigSourceIndexTest
+{
+    private static IndexableTestConfigSource highSource;
+    private static IndexableTestConfigSource lowSource;
+    private static IndexableTestConfigSource middleSource;
+
+    @BeforeClass
+    public static void addConfigSources()
+    {
+        highSource = new IndexableTestConfigSource(10020, true);
+        middleSource = new IndexableTestConfigSource(10010, false);
+        lowSource = new IndexableTestConfigSource(10000, true);
+
+        ConfigResolver.addConfigSources(Arrays.<ConfigSource>asList(lowSource, highSource, middleSource));
+    }
+
+    @Test
+    public void testOrdinalIsRespected()
+    {
+        lowSource.setValue("deltaspike.test.index.key1", "low");
+        Assert.assertEquals("low", ConfigResolver.getPropertyValue("deltaspike.test.index.key1"));
+
+        middleSource.setValue("deltaspike.test.index.key1", "middle");
+        Assert.assertEquals("middle", ConfigResolver.getPropertyValue("deltaspike.test.index.key1"));
+
+        highSource.setValue("deltaspike.test.index.key1", "high");
+        Assert.assertEquals("high", ConfigResolver.getPropertyValue("deltaspike.test.index.key1"));
+    }
+
+    @Test
+    public void testChangeGetsPickedUp()
+    {
+        lowSource.setValue("deltaspike.test.index.key2", "first");
+        Assert.assertEquals("first", ConfigResolver.getPropertyValue("deltaspike.test.index.key2"));
+
+        lowSource.setValue("deltaspike.test.index.key2", "second");
+        Assert.assertEquals("second", ConfigResolver.getPropertyValue("deltaspike.test.index.key2"));
+
+        Assert.assertNull(ConfigResolver.getPropertyValue("deltaspike.test.index.nonexisting"));
+    }
+
+    private static class IndexableTestConfigSource implements ConfigSource
+    {
+        private final Map<String, String> props = new ConcurrentHashMap<String, String>();
+        private final int ordinal;
+        private final boolean indexable;
+
+        private Consumer<Set<String>> reportAttributeChange;
+
+        IndexableTestConfigSource(int ordinal, boolean indexable)
+        {
+            this.ordinal = ordinal;
+            this.indexable = indexable;
+        }
+
+        void setValue(String key, String value)
+        {
+            props.put(key, value);
+            reportAttributeChange.accept(Collections.singleton(key));
+        }
+
+        @Override
+        public int getOrdinal()
+        {
+            return ordinal;
+        }
+
+        @Override
+        public Map<String, String> getProperties()
+        {
+            return new HashMap<String, String>(props);
+        }
+
+        @Override
+        public String getPropertyValue(String key)
+        {
+            return props.get(key);
+        }
+
+        @Override
+        public String getConfigName()
+        {
+            return "indexable-test-" + ordinal;
+        }
+
+        @Override
+        public boolean isScannable()
+        {
+            return true;
+        }
+
+        @Override
+        public boolean isIndexable()
+        {
+            return indexable;
+        }
+
+        @Override
+        public void setOnAttributeChange(Consumer<Set<String>> reportAttributeChange)
+        {
+            this.reportAttributeChange = reportAttributeChange;
+        }
+    }
+}
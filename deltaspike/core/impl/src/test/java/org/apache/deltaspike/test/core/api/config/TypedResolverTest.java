@@ -25,8 +25,11 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Collections;
 import java.util.Date;
 import java.util.GregorianCalendar;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 public class TypedResolverTest
@@ -220,6 +223,42 @@ public class TypedResolverTest
         Assert.assertEquals("TestDataSource", resolver.getValue());
     }
 
+    @Test
+    public void testCacheUntilChanged()
+    {
+        ConfigurableTestConfigSource configSource = ConfigurableTestConfigSource.instance();
+        try
+        {
+            Map<String, String> values = new HashMap<String, String>();
+            values.put("deltaspike.test.cached.host", "host1");
+            values.put("deltaspike.test.cached.url", "http://${deltaspike.test.cached.host}/path");
+            configSource.setValues(values);
+
+            ConfigResolver.TypedResolver<String> resolver = ConfigResolver.resolve("deltaspike.test.cached.url")
+                .withCurrentProjectStage(false)
+                .evaluateVariables(true)
+                .cacheUntilChanged();
+
+            Assert.assertEquals("http://host1/path", resolver.getValue());
+
+            // a change which doesn't get reported is not picked up
+            configSource.getProperties().put("deltaspike.test.cached.host", "host2");
+            Assert.assertEquals("http://host1/path", resolver.getValue());
+
+            // a reported change of an unrelated key doesn't invalidate the cached value
+            configSource.setValues(Collections.singletonMap("deltaspike.test.cached.other", "other"));
+            Assert.assertEquals("http://host1/path", resolver.getValue());
+
+            // but a reported change of a variable does
+            configSource.setValues(Collections.singletonMap("deltaspike.test.cached.host", "host3"));
+            Assert.assertEquals("http://host3/path", resolver.getValue());
+        }
+        finally
+        {
+            configSource.clear();
+        }
+    }
+
     public static class TestDateConverter implements ConfigResolver.Converter<Date> {
 
         @Override
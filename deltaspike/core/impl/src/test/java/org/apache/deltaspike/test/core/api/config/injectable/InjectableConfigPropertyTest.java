@@ -20,10 +20,13 @@ package org.apache.deltaspike.test.core.api.config.injectable;
 
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 
 import org.apache.deltaspike.core.api.provider.BeanProvider;
 import org.apache.deltaspike.test.category.SeCategory;
+import org.apache.deltaspike.test.core.api.config.ConfigurableTestConfigSource;
 import org.apache.deltaspike.test.util.ArchiveUtils;
 import org.apache.deltaspike.test.util.FileUtils;
 import org.jboss.arquillian.container.test.api.Deployment;
@@ -40,6 +43,7 @@ import org.apache.deltaspike.test.core.api.config.injectable.numberconfig.Number
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 
@@ -167,4 +171,31 @@ public class InjectableConfigPropertyTest
         PrefixedConfigBean settingsBean = BeanProvider.getContextualReference(PrefixedConfigBean.class);
         assertEquals("done", settingsBean.value());
     }
+
+    @Test
+    public void proxySnapshot()
+    {
+        ConfigurableTestConfigSource configSource = ConfigurableTestConfigSource.instance();
+        try
+        {
+            configSource.setValues(singletonMap("snapshot.value", "first"));
+
+            SnapshotConfigBean snapshotBean = BeanProvider.getContextualReference(SnapshotConfigBean.class);
+            assertEquals("first", snapshotBean.value());
+            assertEquals(8080, snapshotBean.port());
+            assertEquals(new HashSet<String>(asList("localhost", "127.0.0.1")), snapshotBean.hosts());
+
+            Map<String, String> values = new HashMap<String, String>();
+            values.put("snapshot.value", "second");
+            values.put("snapshot.port", "8443");
+            configSource.setValues(values);
+
+            assertEquals("second", snapshotBean.value());
+            assertEquals(8443, snapshotBean.port());
+        }
+        finally
+        {
+            configSource.clear();
+        }
+    }
 }
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.test.core.api.config.propertyconfigsource;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.deltaspike.core.impl.config.PropertyFileConfigSource;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test for reloading a property file in the background
+ */
+public class AsyncPropertyFileReloadTest
+{
+    @Test
+    public void testAsyncReload() throws Exception
+    {
+        File tempFile = File.createTempFile("deltaspike-async", ".properties");
+        tempFile.deleteOnExit();
+        writeConfig(tempFile, "first");
+
+        final PropertyFileConfigSource configSource = new PropertyFileConfigSource(tempFile.toURI().toURL());
+        try
+        {
+            final CountDownLatch changed = new CountDownLatch(1);
+            configSource.setOnAttributeChange((Set<String> keys) ->
+            {
+                if ("second".equals(configSource.getPropertyValue("deltaspike.test.async.value")))
+                {
+                    changed.countDown();
+                }
+            });
+
+            Assert.assertEquals("first", configSource.getPropertyValue("deltaspike.test.async.value"));
+            Assert.assertTrue(configSource.isIndexable());
+
+            writeConfig(tempFile, "second");
+            // make sure the change gets detected even on file systems with a coarse timestamp resolution
+            tempFile.setLastModified(System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(5));
+
+            Assert.assertTrue(changed.await(30, TimeUnit.SECONDS));
+            Assert.assertEquals("second", configSource.getPropertyValue("deltaspike.test.async.value"));
+        }
+        finally
+        {
+            configSource.close();
+        }
+    }
+
+    private void writeConfig(File file, String value) throws IOException
+    {
+        FileWriter fw = new FileWriter(file);
+        try
+        {
+            fw.write(PropertyFileConfigSource.RELOAD_ASYNC + "=true\n");
+            fw.write(PropertyFileConfigSource.RELOAD_PERIOD + "=1\n");
+            fw.write("deltaspike.test.async.value=" + value + "\n");
+        }
+        finally
+        {
+            fw.close();
+        }
+    }
+}
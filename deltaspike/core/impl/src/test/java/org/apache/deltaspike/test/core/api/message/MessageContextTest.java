@@ -27,6 +27,7 @@ import org.apache.deltaspike.core.api.message.LocaleResolver;
 import org.apache.deltaspike.core.api.message.Message;
 import org.apache.deltaspike.core.api.message.MessageContext;
 import org.apache.deltaspike.core.impl.message.MessageBundleExtension;
+import org.apache.deltaspike.core.util.PropertyFileUtils;
 import org.apache.deltaspike.test.category.SeCategory;
 import org.apache.deltaspike.test.utils.Serializer;
 import org.apache.deltaspike.test.util.ArchiveUtils;
@@ -161,6 +162,34 @@ public class MessageContextTest
         Assert.assertEquals("???xyz123???", messageText);
     }
 
+    @Test
+    public void resolveCachedMessageTest()
+    {
+        final MessageContext englishMessageContext = this.messageContext
+                .localeResolver(new FixedEnglishLocalResolver())
+                .messageSource(TestMessages.class.getName());
+
+        for (int i = 0; i < 2; i++)
+        {
+            Assert.assertEquals("test message to hans",
+                    englishMessageContext.message().template("{hello}").argument("hans").toString());
+            Assert.assertEquals("The value of the property has been set to 42.",
+                    englishMessageContext.message().template("{categoryMessage}").argument("42")
+                            .toString("longText"));
+            Assert.assertEquals("Value 42 was set",
+                    englishMessageContext.message().template("{categoryMessage}").argument("42").toString());
+            Assert.assertEquals("???xyz123???", englishMessageContext.message().template("{xyz123}").toString());
+
+            // the next round has to load the bundles again
+            PropertyFileUtils.reloadResourceBundles();
+        }
+
+        // every locale gets cached separately
+        Assert.assertEquals("Test Nachricht an hans", englishMessageContext.clone()
+                .localeResolver(new FixedGermanLocaleResolver())
+                .message().template("{hello}").argument("hans").toString());
+    }
+
     @Test
     public void createInvalidMessageWithArgumentsTest()
     {
@@ -18,6 +18,13 @@
  */
 package org.apache.deltaspike.test.core.api.message;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import javax.enterprise.inject.spi.Extension;
 import javax.inject.Inject;
 
@@ -95,4 +102,35 @@ public class MessageFormattedMessageTest
     {
         assertEquals("At null on null, project deltaspike had 10 commits.", message.commitsInProject(null, "deltaspike", 10));
     }
+
+    @Test
+    public void testCachedMessageFormatInParallel() throws Exception
+    {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try
+        {
+            List<Future<String>> results = new ArrayList<Future<String>>();
+            for (int i = 0; i < 100; i++)
+            {
+                final int days = i;
+                results.add(executor.submit(new Callable<String>()
+                {
+                    @Override
+                    public String call()
+                    {
+                        return message.incomeSinceDays(days, 12.34f);
+                    }
+                }));
+            }
+
+            for (int i = 0; i < results.size(); i++)
+            {
+                assertEquals("The income since " + i + " days is 12.34", results.get(i).get());
+            }
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
 }
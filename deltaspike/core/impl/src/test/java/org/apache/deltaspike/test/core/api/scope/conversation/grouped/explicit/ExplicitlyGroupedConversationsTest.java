@@ -124,6 +124,26 @@ public class ExplicitlyGroupedConversationsTest
         Assert.assertNull(explicitlyGroupedBeanY.getValue());
     }
 
+    @Test
+    public void reopenedConversationGroupTest()
+    {
+        windowContext.activateWindow("w1");
+
+        explicitlyGroupedBeanX.setValue("x1");
+        this.conversationManager.closeConversationGroup(ExplicitTestGroup.class);
+        Assert.assertNull(explicitlyGroupedBeanX.getValue());
+
+        explicitlyGroupedBeanX.setValue("x2");
+        explicitlyGroupedBeanY.setValue("y2");
+        Assert.assertEquals("x2", explicitlyGroupedBeanX.getValue());
+        Assert.assertEquals("y2", explicitlyGroupedBeanY.getValue());
+
+        this.conversationManager.closeConversationGroup(ExplicitTestGroup.class);
+
+        Assert.assertNull(explicitlyGroupedBeanX.getValue());
+        Assert.assertNull(explicitlyGroupedBeanY.getValue());
+    }
+
     @Test
     public void immediatelyClosedConversationsTest()
     {
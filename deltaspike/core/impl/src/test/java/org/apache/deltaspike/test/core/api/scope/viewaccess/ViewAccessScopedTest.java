@@ -251,4 +251,35 @@ public class ViewAccessScopedTest
         Assert.assertNull(viewAccessScopedBeanY.getValue());
         windowContext.closeWindow("w2");
     }
+
+    @Test
+    public void usageOnSeveralPagesTest()
+    {
+        windowContext.activateWindow("w1");
+
+        viewAccessScopedBeanX.setValue("x1");
+        viewAccessScopedBeanY.setValue("y1");
+        contextExtension.getViewAccessScopedContext().onProcessingViewFinished("viewA");
+
+        Assert.assertEquals("x1", viewAccessScopedBeanX.getValue());
+        contextExtension.getViewAccessScopedContext().onProcessingViewFinished("viewB");
+
+        Assert.assertEquals("x1", viewAccessScopedBeanX.getValue());
+        contextExtension.getViewAccessScopedContext().onProcessingViewFinished("viewC");
+
+        //no access
+        contextExtension.getViewAccessScopedContext().onProcessingViewFinished("viewC");
+
+        Assert.assertEquals("x1", viewAccessScopedBeanX.getValue());
+        Assert.assertNull(viewAccessScopedBeanY.getValue());
+        contextExtension.getViewAccessScopedContext().onProcessingViewFinished("viewA");
+
+        Assert.assertEquals("x1", viewAccessScopedBeanX.getValue());
+
+        windowContext.closeWindow("w1");
+
+        windowContext.activateWindow("w2");
+        Assert.assertNull(viewAccessScopedBeanX.getValue());
+        windowContext.closeWindow("w2");
+    }
 }
@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.test.core.impl.exception.control.handler;
+
+import org.apache.deltaspike.core.api.exception.control.ExceptionHandler;
+import org.apache.deltaspike.core.api.exception.control.Handles;
+import org.apache.deltaspike.core.api.exception.control.event.ExceptionEvent;
+
+import javax.enterprise.context.ApplicationScoped;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@ApplicationScoped
+@ExceptionHandler
+public class AsyncHandler
+{
+    private final CountDownLatch delivered = new CountDownLatch(1);
+    private final AtomicInteger deliveries = new AtomicInteger();
+    private final AtomicInteger occurrences = new AtomicInteger();
+    private volatile Thread asyncThread;
+
+    private final AtomicInteger syncCalls = new AtomicInteger();
+
+    public void asyncHandler(@Handles(async = true) ExceptionEvent<UnsupportedOperationException> event)
+    {
+        asyncThread = Thread.currentThread();
+        occurrences.addAndGet(event.getOccurrences());
+        deliveries.incrementAndGet();
+        delivered.countDown();
+
+        // gets ignored
+        event.abort();
+    }
+
+    public void syncHandler(@Handles(ordinal = -10) ExceptionEvent<UnsupportedOperationException> event)
+    {
+        syncCalls.incrementAndGet();
+        event.handledAndContinue();
+    }
+
+    public CountDownLatch getDelivered()
+    {
+        return delivered;
+    }
+
+    public int getDeliveries()
+    {
+        return deliveries.get();
+    }
+
+    public int getOccurrences()
+    {
+        return occurrences.get();
+    }
+
+    public Thread getAsyncThread()
+    {
+        return asyncThread;
+    }
+
+    public int getSyncCalls()
+    {
+        return syncCalls.get();
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.test.core.impl.exception.control.handler;
+
+import org.apache.deltaspike.core.api.exception.control.event.ExceptionToCatchEvent;
+import org.apache.deltaspike.test.util.ArchiveUtils;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.EmptyAsset;
+import org.jboss.shrinkwrap.api.spec.WebArchive;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import javax.enterprise.inject.spi.BeanManager;
+import javax.inject.Inject;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(Arquillian.class)
+public class AsyncHandlerTest
+{
+    @Deployment(name = "AsyncHandlerTest")
+    public static Archive<?> createTestArchive()
+    {
+        return ShrinkWrap
+                .create(WebArchive.class, "asyncHandler.war")
+                .addAsLibraries(ArchiveUtils.getDeltaSpikeCoreArchive())
+                .addAsWebInfResource(EmptyAsset.INSTANCE, "beans.xml")
+                .addClasses(AsyncHandler.class);
+    }
+
+    @Inject
+    private BeanManager bm;
+
+    @Inject
+    private AsyncHandler asyncHandler;
+
+    @Test
+    public void assertIdenticalExceptionsAreCoalesced() throws Exception
+    {
+        for (int i = 0; i < 3; i++)
+        {
+            bm.fireEvent(new ExceptionToCatchEvent(createException()));
+        }
+
+        // the synchronous handler isn't affected by the abort of the asynchronous one
+        assertEquals(3, asyncHandler.getSyncCalls());
+
+        assertTrue(asyncHandler.getDelivered().await(30, TimeUnit.SECONDS));
+        assertNotSame(Thread.currentThread(), asyncHandler.getAsyncThread());
+        assertEquals(1, asyncHandler.getDeliveries());
+        assertEquals(3, asyncHandler.getOccurrences());
+    }
+
+    private UnsupportedOperationException createException()
+    {
+        // same origin for all the exceptions
+        return new UnsupportedOperationException("not supported");
+    }
+}
@@ -19,7 +19,9 @@
 
 package org.apache.deltaspike.test.core.impl.exception.control.handler;
 
+import org.apache.deltaspike.core.api.exception.control.event.ExceptionEvent;
 import org.apache.deltaspike.core.api.exception.control.HandlerMethod;
+import org.apache.deltaspike.core.api.literal.AnyLiteral;
 import org.apache.deltaspike.core.impl.exception.control.HandlerMethodImpl;
 import org.apache.deltaspike.core.impl.exception.control.HandlerMethodStorage;
 import org.apache.deltaspike.test.core.impl.exception.control.extension.literal.CatchQualifierLiteral;
@@ -38,6 +40,7 @@ import org.junit.runner.RunWith;
 import javax.enterprise.inject.spi.BeanManager;
 import javax.inject.Inject;
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
@@ -45,6 +48,7 @@ import java.util.List;
 import java.util.Set;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.junit.Assert.assertThat;
 
 @RunWith(Arquillian.class)
@@ -111,4 +115,57 @@ public class HandlerComparatorTest
 
         assertThat(handlers.size(), is(4));
     }
+
+    @Test
+    public void assertRegisteredHandlerIsFound()
+    {
+        Set<Annotation> qualifiers = new HashSet<Annotation>();
+        List<HandlerMethod<? extends Throwable>> handlers =
+                storage.getHandlersForException(IllegalStateException.class, bm, qualifiers, false);
+
+        // the sorted handlers get cached and the qualifiers of the caller don't matter
+        qualifiers.add(new CatchQualifierLiteral());
+        assertThat(storage.getHandlersForException(IllegalStateException.class, bm,
+                Collections.<Annotation>emptySet(), false), sameInstance(handlers));
+
+        storage.registerHandlerMethod(new HandlerMethod<IllegalStateException>()
+        {
+            @Override
+            public Set<Annotation> getQualifiers()
+            {
+                return Collections.<Annotation>singleton(new AnyLiteral());
+            }
+
+            @Override
+            public Type getExceptionType()
+            {
+                return IllegalStateException.class;
+            }
+
+            @Override
+            public boolean isBeforeHandler()
+            {
+                return false;
+            }
+
+            @Override
+            public void notify(ExceptionEvent<IllegalStateException> event, BeanManager beanManager)
+            {
+                // not needed
+            }
+
+            @Override
+            public int getOrdinal()
+            {
+                return 0;
+            }
+        });
+
+        List<HandlerMethod<? extends Throwable>> refreshedHandlers =
+                storage.getHandlersForException(IllegalStateException.class, bm, Collections.<Annotation>emptySet(),
+                        false);
+
+        assertThat(refreshedHandlers.size(), is(handlers.size() + 1));
+        assertThat(refreshedHandlers.get(handlers.size()).getExceptionType(), is((Type) IllegalStateException.class));
+    }
 }
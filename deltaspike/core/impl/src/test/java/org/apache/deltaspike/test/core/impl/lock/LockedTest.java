@@ -35,6 +35,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import org.apache.deltaspike.core.impl.lock.LockedInterceptor;
@@ -63,6 +64,9 @@ public class LockedTest {
     @Inject
     private Service service;
 
+    @Inject
+    private KeyedService keyedService;
+
     @Test
     public void simpleNotConcurrent()
     {
@@ -166,4 +170,136 @@ public class LockedTest {
         }
         assertEquals("value", service.read("test"));
     }
+
+    @Test
+    public void keyedLocksDontBlockOtherKeys() throws InterruptedException
+    {
+        final CountDownLatch locked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Thread holder = new Thread()
+        {
+            @Override
+            public void run()
+            {
+                keyedService.hold("a", locked, release);
+            }
+        };
+        holder.start();
+
+        try
+        {
+            assertTrue(locked.await(1, TimeUnit.MINUTES));
+
+            keyedService.write("b", "value");
+            assertEquals("value", keyedService.read("b"));
+
+            try
+            {
+                keyedService.write("a", "value");
+                fail("the lock of key 'a' is held by another thread");
+            }
+            catch (final IllegalStateException e)
+            {
+                // expected
+            }
+        }
+        finally
+        {
+            release.countDown();
+            holder.join(TimeUnit.MINUTES.toMillis(1));
+        }
+
+        keyedService.write("a", "value");
+        assertEquals("value", keyedService.read("a"));
+    }
+
+    @Test
+    public void classWideWriteBlocksKeyedLocks() throws InterruptedException
+    {
+        final CountDownLatch locked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Thread holder = new Thread()
+        {
+            @Override
+            public void run()
+            {
+                keyedService.holdAll(locked, release);
+            }
+        };
+        holder.start();
+
+        try
+        {
+            assertTrue(locked.await(1, TimeUnit.MINUTES));
+
+            try
+            {
+                keyedService.read("a");
+                fail("the class-wide write lock is held by another thread");
+            }
+            catch (final IllegalStateException e)
+            {
+                // expected
+            }
+            try
+            {
+                keyedService.write("b", "value");
+                fail("the class-wide write lock is held by another thread");
+            }
+            catch (final IllegalStateException e)
+            {
+                // expected
+            }
+        }
+        finally
+        {
+            release.countDown();
+            holder.join(TimeUnit.MINUTES.toMillis(1));
+        }
+
+        keyedService.write("b", "value");
+        assertEquals("value", keyedService.read("b"));
+    }
+
+    @Test
+    public void keyedLocksBlockClassWideWrite() throws InterruptedException
+    {
+        final CountDownLatch locked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Thread holder = new Thread()
+        {
+            @Override
+            public void run()
+            {
+                keyedService.hold("a", locked, release);
+            }
+        };
+        holder.start();
+
+        try
+        {
+            assertTrue(locked.await(1, TimeUnit.MINUTES));
+
+            try
+            {
+                keyedService.clear();
+                fail("the lock of key 'a' is held by another thread");
+            }
+            catch (final IllegalStateException e)
+            {
+                // expected
+            }
+
+            // the stripes the failed clear() already got are released again
+            keyedService.write("b", "value");
+        }
+        finally
+        {
+            release.countDown();
+            holder.join(TimeUnit.MINUTES.toMillis(1));
+        }
+
+        keyedService.clear();
+        assertEquals(null, keyedService.read("b"));
+    }
 }
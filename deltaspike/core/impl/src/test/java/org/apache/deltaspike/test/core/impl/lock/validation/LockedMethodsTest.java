@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.test.core.impl.lock.validation;
+
+import org.apache.deltaspike.core.api.lock.Locked;
+import org.apache.deltaspike.core.impl.lock.LockedMethods;
+import org.apache.deltaspike.core.util.metadata.builder.AnnotatedTypeBuilder;
+import org.junit.Test;
+
+import javax.enterprise.inject.spi.AnnotatedMethod;
+import javax.enterprise.inject.spi.AnnotatedType;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static org.apache.deltaspike.core.api.lock.Locked.Operation.WRITE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Kept out of the lock package, so the invalid classes below don't end up in the LockedTest deployment.
+ */
+public class LockedMethodsTest
+{
+    @Test
+    public void sameStripes()
+    {
+        assertEquals(8, getStripes(SameStripes.class));
+    }
+
+    @Test
+    public void notKeyed()
+    {
+        assertEquals(0, getStripes(NotKeyed.class));
+    }
+
+    @Test
+    public void differentStripes()
+    {
+        assertInvalid(DifferentStripes.class);
+    }
+
+    @Test
+    public void customFactoryMixedWithKeys()
+    {
+        assertInvalid(CustomFactoryMixedWithKeys.class);
+    }
+
+    @Test
+    public void unknownKeyParameter()
+    {
+        assertInvalid(UnknownKeyParameter.class);
+    }
+
+    private static <T> int getStripes(final Class<T> type)
+    {
+        final AnnotatedType<T> annotatedType = new AnnotatedTypeBuilder<T>().readFromType(type).create();
+        return LockedMethods.getStripes(annotatedType, type);
+    }
+
+    private static void assertInvalid(final Class<?> type)
+    {
+        try
+        {
+            getStripes(type);
+            fail(type.getSimpleName() + " should be invalid");
+        }
+        catch (final IllegalStateException e)
+        {
+            // expected
+        }
+    }
+
+    public static class SameStripes
+    {
+        @Locked(keyParameter = 0, stripes = 8)
+        public void read(final String key)
+        {
+            // no-op
+        }
+
+        @Locked(keyParameter = 0, stripes = 8, operation = WRITE)
+        public void write(final String key)
+        {
+            // no-op
+        }
+
+        @Locked(operation = WRITE)
+        public void clear()
+        {
+            // no-op
+        }
+    }
+
+    @Locked(factory = CustomLockFactory.class)
+    public static class NotKeyed
+    {
+        public void read()
+        {
+            // no-op
+        }
+    }
+
+    public static class DifferentStripes
+    {
+        @Locked(keyParameter = 0, stripes = 8)
+        public void read(final String key)
+        {
+            // no-op
+        }
+
+        @Locked(keyParameter = 0, stripes = 16, operation = WRITE)
+        public void write(final String key)
+        {
+            // no-op
+        }
+    }
+
+    public static class CustomFactoryMixedWithKeys
+    {
+        @Locked(keyParameter = 0)
+        public void read(final String key)
+        {
+            // no-op
+        }
+
+        @Locked(factory = CustomLockFactory.class, operation = WRITE)
+        public void clear()
+        {
+            // no-op
+        }
+    }
+
+    public static class UnknownKeyParameter
+    {
+        @Locked(keyParameter = 1)
+        public void read(final String key)
+        {
+            // no-op
+        }
+    }
+
+    public static class CustomLockFactory implements Locked.LockFactory
+    {
+        @Override
+        public ReadWriteLock newLock(final AnnotatedMethod<?> method, final boolean fair)
+        {
+            return new ReentrantReadWriteLock(fair);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.test.core.impl.message;
+
+import org.apache.deltaspike.core.impl.message.ResolvedMessageCache;
+import org.apache.deltaspike.core.util.PropertyFileUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+public class ResolvedMessageCacheTest
+{
+    private static final List<String> MESSAGE_SOURCES = Arrays.asList("org.apache.deltaspike.test.Messages");
+
+    @Test
+    public void cachedMessage()
+    {
+        ResolvedMessageCache cache = new ResolvedMessageCache();
+        int generation = PropertyFileUtils.getResourceBundleGeneration();
+
+        Assert.assertNull(cache.getMessage(MESSAGE_SOURCES, Locale.ENGLISH, "hello", null));
+
+        cache.putMessage(MESSAGE_SOURCES, Locale.ENGLISH, "hello", null, "Hello", generation);
+        cache.putMessage(MESSAGE_SOURCES, Locale.ENGLISH, "missing", null, null, generation);
+
+        Assert.assertEquals(Optional.of("Hello"), cache.getMessage(MESSAGE_SOURCES, Locale.ENGLISH, "hello", null));
+        Assert.assertEquals(Optional.empty(), cache.getMessage(MESSAGE_SOURCES, Locale.ENGLISH, "missing", null));
+        Assert.assertNull(cache.getMessage(MESSAGE_SOURCES, Locale.GERMAN, "hello", null));
+    }
+
+    @Test
+    public void clearedAfterReload()
+    {
+        ResolvedMessageCache cache = new ResolvedMessageCache();
+        int generation = PropertyFileUtils.getResourceBundleGeneration();
+        cache.putMessage(MESSAGE_SOURCES, Locale.ENGLISH, "hello", null, "Hello", generation);
+
+        PropertyFileUtils.reloadResourceBundles();
+
+        Assert.assertNull(cache.getMessage(MESSAGE_SOURCES, Locale.ENGLISH, "hello", null));
+    }
+
+    @Test
+    public void messageResolvedBeforeReloadIsNotCached()
+    {
+        ResolvedMessageCache cache = new ResolvedMessageCache();
+
+        // the generation gets read before the message gets resolved from the outdated ResourceBundle
+        int generation = PropertyFileUtils.getResourceBundleGeneration();
+        PropertyFileUtils.reloadResourceBundles();
+
+        // another thread already noticed the reload and cleared the cache
+        Assert.assertNull(cache.getMessage(MESSAGE_SOURCES, Locale.ENGLISH, "hello", null));
+
+        cache.putMessage(MESSAGE_SOURCES, Locale.ENGLISH, "hello", null, "outdated", generation);
+        Assert.assertNull(cache.getMessage(MESSAGE_SOURCES, Locale.ENGLISH, "hello", null));
+
+        cache.putMessage(MESSAGE_SOURCES, Locale.ENGLISH, "hello", null, "Hello",
+                PropertyFileUtils.getResourceBundleGeneration());
+        Assert.assertEquals(Optional.of("Hello"), cache.getMessage(MESSAGE_SOURCES, Locale.ENGLISH, "hello", null));
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.test.core.impl.monitoring;
+
+import org.apache.deltaspike.core.api.monitoring.MonitorResultEvent;
+import org.apache.deltaspike.core.impl.monitoring.ApplicationInvocationCounter;
+import org.apache.deltaspike.test.util.ArchiveUtils;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.EmptyAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.jboss.shrinkwrap.api.spec.WebArchive;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import javax.inject.Inject;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+/**
+ * Test for counting monitored invocations for the whole application
+ */
+@RunWith(Arquillian.class)
+public class ApplicationInvocationCounterTest
+{
+    @Inject
+    private MonitoredService service;
+
+    @Inject
+    private ApplicationInvocationCounter invocationCounter;
+
+    @Inject
+    private MonitorResultObserver observer;
+
+    @Deployment
+    public static WebArchive deploy()
+    {
+        JavaArchive testJar = ShrinkWrap.create(JavaArchive.class, "ApplicationInvocationCounterTest.jar")
+                .addPackage(MonitoredService.class.getPackage().getName())
+                .addAsManifestResource(EmptyAsset.INSTANCE, "beans.xml");
+
+        return ShrinkWrap.create(WebArchive.class, "ApplicationInvocationCounterTest.war")
+                .addAsLibraries(ArchiveUtils.getDeltaSpikeCoreArchive())
+                .addAsLibraries(testJar)
+                .addAsWebInfResource(EmptyAsset.INSTANCE, "beans.xml");
+    }
+
+    @Test
+    public void publishedSinceLastPublishing() throws Exception
+    {
+        String methodKey = findMethodKey();
+
+        invocationCounter.publish();
+        observer.clear();
+
+        for (int i = 0; i < 3; i++)
+        {
+            Assert.assertEquals("a", service.ping("a"));
+        }
+        invocationCounter.publish();
+
+        List<MonitorResultEvent> events = observer.getEvents();
+        Assert.assertEquals(1, events.size());
+        Assert.assertEquals(3, events.get(0).getMethodInvocations().get(methodKey).get());
+        Assert.assertTrue(events.get(0).getMethodDurations().get(methodKey).get() >= 0);
+
+        // nothing got invoked since then
+        observer.clear();
+        invocationCounter.publish();
+        Assert.assertTrue(observer.getEvents().isEmpty());
+    }
+
+    @Test
+    public void exposedViaJmx() throws Exception
+    {
+        String methodKey = findMethodKey();
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName on = new ObjectName("org.apache.deltaspike:type=Metrics,name=Invocations");
+        Assert.assertTrue(server.isRegistered(on));
+
+        TabularData invocations = TabularData.class.cast(server.getAttribute(on, "invocations"));
+        CompositeData pingMetrics = null;
+        for (Object line : invocations.values())
+        {
+            CompositeData data = CompositeData.class.cast(line);
+            if (methodKey.equals(data.get("method")))
+            {
+                pingMetrics = data;
+            }
+        }
+        Assert.assertNotNull(pingMetrics);
+        Assert.assertTrue(Long.parseLong(String.class.cast(pingMetrics.get("invocations"))) >= 1);
+    }
+
+    /**
+     * @return the key of the ping method, which depends on the class of the proxy
+     */
+    private String findMethodKey()
+    {
+        service.ping("init");
+        invocationCounter.publish();
+        for (MonitorResultEvent event : observer.getEvents())
+        {
+            for (String key : event.getMethodInvocations().keySet())
+            {
+                if (key.endsWith("#ping"))
+                {
+                    return key;
+                }
+            }
+        }
+        throw new AssertionError("no invocation of ping got published");
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.test.core.impl.monitoring.concurrency;
+
+import org.apache.deltaspike.core.impl.lock.LockedInterceptor;
+import org.apache.deltaspike.core.impl.monitoring.ConcurrencyMetrics;
+import org.apache.deltaspike.core.impl.monitoring.ConcurrencyMetricsStorage;
+import org.apache.deltaspike.core.impl.throttling.ThrottledInterceptor;
+import org.apache.deltaspike.test.util.ArchiveUtils;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.StringAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.jboss.shrinkwrap.api.spec.WebArchive;
+import org.jboss.shrinkwrap.descriptor.api.Descriptors;
+import org.jboss.shrinkwrap.descriptor.api.beans10.BeansDescriptor;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import javax.inject.Inject;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test for the wait metrics of the locking and throttling interceptors
+ */
+@RunWith(Arquillian.class)
+public class ConcurrencyMetricsTest
+{
+    @Inject
+    private MeteredService service;
+
+    @Inject
+    private ConcurrencyMetricsStorage metricsStorage;
+
+    @Deployment
+    public static WebArchive deploy()
+    {
+        BeansDescriptor beans = Descriptors.create(BeansDescriptor.class);
+        beans.getOrCreateInterceptors()
+                .clazz(ThrottledInterceptor.class.getName())
+                .clazz(LockedInterceptor.class.getName());
+        JavaArchive testJar = ShrinkWrap.create(JavaArchive.class, "ConcurrencyMetricsTest.jar")
+                .addPackage(MeteredService.class.getPackage().getName())
+                .addAsManifestResource(new StringAsset(beans.exportAsString()), "beans.xml");
+
+        return ShrinkWrap.create(WebArchive.class, "ConcurrencyMetricsTest.war")
+                .addAsLibraries(ArchiveUtils.getDeltaSpikeCoreArchive())
+                .addAsLibraries(testJar)
+                .addAsWebInfResource(new StringAsset(beans.exportAsString()), "beans.xml");
+    }
+
+    @Test
+    public void countsLockedAndThrottledCalls() throws Exception
+    {
+        metricsStorage.reset();
+
+        for (int i = 0; i < 3; i++)
+        {
+            Assert.assertEquals("a", service.locked("a"));
+            Assert.assertEquals("b", service.throttled("b"));
+        }
+
+        final CountDownLatch acquired = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        Thread holder = new Thread()
+        {
+            @Override
+            public void run()
+            {
+                service.hold(acquired, release);
+            }
+        };
+        holder.start();
+        try
+        {
+            Assert.assertTrue(acquired.await(1, TimeUnit.MINUTES));
+            service.throttled("c");
+            Assert.fail("the only permit is held by another thread");
+        }
+        catch (IllegalStateException e)
+        {
+            // expected
+        }
+        finally
+        {
+            release.countDown();
+            holder.join(TimeUnit.MINUTES.toMillis(1));
+        }
+
+        ConcurrencyMetrics lockMetrics = metricsStorage.getLockMetrics(MeteredService.class.getName());
+        Assert.assertEquals(3, lockMetrics.getAcquisitions());
+        Assert.assertEquals(0, lockMetrics.getTimeouts());
+        Assert.assertEquals(0, lockMetrics.getQueueLength());
+
+        ConcurrencyMetrics throttlingMetrics = metricsStorage.getThrottlingMetrics("metered");
+        Assert.assertEquals(4, throttlingMetrics.getAcquisitions());
+        Assert.assertEquals(1, throttlingMetrics.getTimeouts());
+        Assert.assertEquals(0, throttlingMetrics.getQueueLength());
+        Assert.assertTrue(throttlingMetrics.getWaitTimes().getMaxNanos() >= TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    @Test
+    public void registeredPerApplication() throws Exception
+    {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        Set<ObjectName> names =
+                server.queryNames(new ObjectName("org.apache.deltaspike:type=Metrics,name=Concurrency,*"), null);
+        Assert.assertEquals(1, names.size());
+        Assert.assertNotNull(names.iterator().next().getKeyProperty("application"));
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.test.core.impl.monitoring.concurrency;
+
+import org.apache.deltaspike.core.api.lock.Locked;
+import org.apache.deltaspike.core.api.throttling.Throttled;
+import org.apache.deltaspike.core.api.throttling.Throttling;
+
+import javax.enterprise.context.ApplicationScoped;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.fail;
+
+@ApplicationScoped
+public class MeteredService
+{
+    @Locked(timeout = 100)
+    public String locked(String value)
+    {
+        return value;
+    }
+
+    @Throttled(timeout = 100)
+    @Throttling(name = "metered")
+    public String throttled(String value)
+    {
+        return value;
+    }
+
+    @Throttled
+    @Throttling(name = "metered")
+    public void hold(CountDownLatch acquired, CountDownLatch release)
+    {
+        acquired.countDown();
+        try
+        {
+            release.await(1, TimeUnit.MINUTES);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.interrupted();
+            fail();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.test.core.impl.scope.window.quota;
+
+import org.apache.deltaspike.core.api.scope.WindowScoped;
+
+import javax.annotation.PreDestroy;
+import java.io.Serializable;
+import java.util.concurrent.CountDownLatch;
+
+@WindowScoped
+public class DestroyedWindowScopedBean implements Serializable
+{
+    static final CountDownLatch DESTROYED = new CountDownLatch(1);
+
+    static volatile Thread destroyingThread;
+
+    private String value;
+
+    public String getValue()
+    {
+        return value;
+    }
+
+    public void setValue(String value)
+    {
+        this.value = value;
+    }
+
+    @PreDestroy
+    protected void destroy()
+    {
+        destroyingThread = Thread.currentThread();
+        DESTROYED.countDown();
+    }
+}
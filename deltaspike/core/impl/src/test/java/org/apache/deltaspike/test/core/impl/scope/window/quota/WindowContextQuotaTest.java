@@ -0,0 +1,212 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.test.core.impl.scope.window.quota;
+
+import org.apache.deltaspike.core.impl.scope.window.WindowBeanHolder;
+import org.apache.deltaspike.core.spi.scope.window.WindowContext;
+import org.apache.deltaspike.test.category.SeCategory;
+import org.apache.deltaspike.test.core.impl.scope.window.SomeWindowScopedBean;
+import org.apache.deltaspike.test.util.ArchiveUtils;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.EmptyAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.jboss.shrinkwrap.api.spec.WebArchive;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+@RunWith(Arquillian.class)
+@Category(SeCategory.class)
+public class WindowContextQuotaTest
+{
+    @Deployment
+    public static WebArchive deploy()
+    {
+        JavaArchive testJar = ShrinkWrap.create(JavaArchive.class, "windowContextQuotaTest.jar")
+                .addPackage(WindowContextQuotaTest.class.getPackage().getName())
+                .addClass(SomeWindowScopedBean.class)
+                .addAsManifestResource(EmptyAsset.INSTANCE, "beans.xml");
+
+        return ShrinkWrap.create(WebArchive.class, "windowContextQuotaTest.war")
+                .addAsLibraries(ArchiveUtils.getDeltaSpikeCoreArchive())
+                .addAsLibraries(testJar)
+                .addAsWebInfResource(EmptyAsset.INSTANCE, "beans.xml");
+    }
+
+    @Inject
+    private WindowContext windowContext;
+
+    @Inject
+    private WindowBeanHolder windowBeanHolder;
+
+    @Inject
+    private SomeWindowScopedBean someWindowScopedBean;
+
+    @Inject
+    private DestroyedWindowScopedBean destroyedWindowScopedBean;
+
+    @Inject
+    private TestWindowContextQuotaHandler quotaHandler;
+
+    @Inject
+    private TestWindowContextQuotaHandlerCache quotaHandlerCache;
+
+    @Before
+    public void closeWindows()
+    {
+        for (String windowId : new ArrayList<String>(windowBeanHolder.getStorageMap().keySet()))
+        {
+            windowContext.closeWindow(windowId);
+        }
+        quotaHandlerCache.setAsyncDestroy(false);
+    }
+
+    @Test
+    public void testLeastRecentlyUsedWindowGetsDestroyed()
+    {
+        quotaHandler.configure(2, 0, 0);
+
+        useWindow("window1", "Hans");
+        useWindow("window2", "Karl");
+        useWindow("window1", "Hans");
+
+        // exceeds the quota of 2 windows, window2 is the least recently used one
+        useWindow("window3", "Otto");
+
+        // usually done at the end of the request
+        quotaHandlerCache.cleanup();
+
+        windowContext.activateWindow("window1");
+        Assert.assertEquals("Hans", someWindowScopedBean.getValue());
+
+        windowContext.activateWindow("window2");
+        Assert.assertNull(someWindowScopedBean.getValue());
+
+        windowContext.activateWindow("window3");
+        Assert.assertEquals("Otto", someWindowScopedBean.getValue());
+    }
+
+    @Test
+    public void testIdleWindowGetsDestroyed() throws InterruptedException
+    {
+        quotaHandler.configure(10, 100, 0);
+
+        useWindow("idleWindow1", "Hans");
+
+        // exceeds the max. idle time of idleWindow1
+        Thread.sleep(300);
+        useWindow("idleWindow2", "Karl");
+
+        // usually done at the end of the request
+        quotaHandlerCache.cleanup();
+
+        windowContext.activateWindow("idleWindow1");
+        Assert.assertNull(someWindowScopedBean.getValue());
+
+        windowContext.activateWindow("idleWindow2");
+        Assert.assertEquals("Karl", someWindowScopedBean.getValue());
+    }
+
+    @Test
+    public void testWindowWithTooManyBeansGetsDestroyed()
+    {
+        quotaHandler.configure(10, 0, 1);
+
+        // the beans of a window only get counted once the window gets accessed again
+        useWindow("beanWindow1", "Hans");
+        useWindow("beanWindow2", "Karl");
+        useWindow("beanWindow1", "Hans");
+
+        // the two beans of both windows exceed the quota of 1 bean, beanWindow1 is the least recently used one
+        useWindow("beanWindow2", "Karl");
+
+        // usually done at the end of the request
+        quotaHandlerCache.cleanup();
+
+        windowContext.activateWindow("beanWindow1");
+        Assert.assertNull(someWindowScopedBean.getValue());
+
+        windowContext.activateWindow("beanWindow2");
+        Assert.assertEquals("Karl", someWindowScopedBean.getValue());
+    }
+
+    @Test
+    public void testClosedWindowDoesntCount()
+    {
+        quotaHandler.configure(2, 0, 0);
+
+        useWindow("closedWindow1", "Hans");
+        useWindow("closedWindow2", "Karl");
+        useWindow("closedWindow1", "Hans");
+        windowContext.closeWindow("closedWindow1");
+
+        // only closedWindow2 and closedWindow3 are left, so the least recently used closedWindow2 stays
+        useWindow("closedWindow3", "Otto");
+
+        // usually done at the end of the request
+        quotaHandlerCache.cleanup();
+
+        windowContext.activateWindow("closedWindow2");
+        Assert.assertEquals("Karl", someWindowScopedBean.getValue());
+
+        windowContext.activateWindow("closedWindow3");
+        Assert.assertEquals("Otto", someWindowScopedBean.getValue());
+    }
+
+    @Test
+    public void testWindowGetsDestroyedInBackground() throws InterruptedException
+    {
+        quotaHandler.configure(1, 0, 0);
+        quotaHandlerCache.setAsyncDestroy(true);
+
+        windowContext.activateWindow("asyncWindow1");
+        destroyedWindowScopedBean.setValue("Hans");
+
+        // exceeds the quota of 1 window
+        windowContext.activateWindow("asyncWindow2");
+        destroyedWindowScopedBean.setValue("Karl");
+
+        // usually done at the end of the request
+        quotaHandlerCache.cleanup();
+
+        Assert.assertTrue(DestroyedWindowScopedBean.DESTROYED.await(10, TimeUnit.SECONDS));
+        Assert.assertNotSame(Thread.currentThread(), DestroyedWindowScopedBean.destroyingThread);
+
+        // the window itself is gone immediately
+        windowContext.activateWindow("asyncWindow1");
+        Assert.assertNull(destroyedWindowScopedBean.getValue());
+
+        windowContext.activateWindow("asyncWindow2");
+        Assert.assertEquals("Karl", destroyedWindowScopedBean.getValue());
+    }
+
+    private void useWindow(String windowId, String value)
+    {
+        windowContext.activateWindow(windowId);
+        someWindowScopedBean.setValue(value);
+    }
+}
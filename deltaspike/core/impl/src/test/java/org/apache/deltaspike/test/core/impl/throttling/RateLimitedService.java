@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.test.core.impl.throttling;
+
+import org.apache.deltaspike.core.api.throttling.Throttled;
+import org.apache.deltaspike.core.api.throttling.Throttling;
+
+import javax.enterprise.context.ApplicationScoped;
+import java.util.concurrent.TimeUnit;
+
+@ApplicationScoped
+public class RateLimitedService
+{
+    @Throttling(name = "rateLimitedBurst", rate = 1, burst = 2)
+    @Throttled(timeout = 100)
+    public String burst(final String value)
+    {
+        return value;
+    }
+
+    @Throttling(name = "rateLimitedQueued", rate = 20, burst = 1)
+    @Throttled
+    public String queued(final String value)
+    {
+        return value;
+    }
+
+    @Throttling(name = "rateLimitedPerMinute", rate = 60, rateUnit = TimeUnit.MINUTES)
+    @Throttled(timeout = 10)
+    public String perMinute(final String value)
+    {
+        return value;
+    }
+}
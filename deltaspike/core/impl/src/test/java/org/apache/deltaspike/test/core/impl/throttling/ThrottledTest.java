@@ -31,7 +31,13 @@ import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
 import javax.inject.Inject;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+import java.lang.management.ManagementFactory;
 import java.util.HashSet;
+import java.util.Set;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -42,6 +48,7 @@ import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 @RunWith(Arquillian.class)
@@ -66,6 +73,9 @@ public class ThrottledTest {
     @Inject
     private Service2 service2;
 
+    @Inject
+    private RateLimitedService rateLimitedService;
+
     @Test
     public void permits()
     {
@@ -292,4 +302,76 @@ public class ThrottledTest {
         }
         assertEquals("value", service.read("test"));
     }
+
+    @Test
+    public void rateBurst()
+    {
+        assertEquals("1", rateLimitedService.burst("1"));
+        assertEquals("2", rateLimitedService.burst("2"));
+        try
+        {
+            rateLimitedService.burst("3");
+            fail("the burst is exhausted and the next permit is only granted in a second");
+        }
+        catch (final IllegalStateException e)
+        {
+            // expected
+        }
+    }
+
+    @Test
+    public void rateQueued()
+    {
+        final long start = System.nanoTime();
+        for (int i = 0; i < 3; i++)
+        {
+            assertEquals("value", rateLimitedService.queued("value"));
+        }
+
+        // one permit from the burst and then two more in intervals of 50ms
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 90);
+    }
+
+    @Test
+    public void rateDefaultBurst()
+    {
+        // 60 per minute is 1 per second, so the default burst is 1
+        assertEquals("1", rateLimitedService.perMinute("1"));
+        try
+        {
+            rateLimitedService.perMinute("2");
+            fail("the next permit is only granted in a second");
+        }
+        catch (final IllegalStateException e)
+        {
+            // expected
+        }
+    }
+
+    @Test
+    public void metrics() throws Exception
+    {
+        service.write("metrics", "value");
+        assertEquals("value", service.read("metrics"));
+
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final Set<ObjectName> names =
+                server.queryNames(new ObjectName("org.apache.deltaspike:type=Metrics,name=Concurrency,*"), null);
+        assertEquals(1, names.size());
+        final ObjectName on = names.iterator().next();
+
+        final TabularData throttling = TabularData.class.cast(server.getAttribute(on, "throttling"));
+        CompositeData serviceMetrics = null;
+        for (final Object line : throttling.values())
+        {
+            final CompositeData data = CompositeData.class.cast(line);
+            if (Service.class.getName().equals(data.get("name")))
+            {
+                serviceMetrics = data;
+            }
+        }
+        assertNotNull(serviceMetrics);
+        assertTrue(Long.parseLong(String.class.cast(serviceMetrics.get("acquisitions"))) >= 2);
+        assertEquals("0", serviceMetrics.get("queueLength"));
+    }
 }
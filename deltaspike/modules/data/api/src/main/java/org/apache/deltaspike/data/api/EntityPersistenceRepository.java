@@ -22,6 +22,7 @@ package org.apache.deltaspike.data.api;
 import org.apache.deltaspike.core.spi.activation.Deactivatable;
 
 import java.io.Serializable;
+import java.util.List;
 
 public interface EntityPersistenceRepository<E, PK extends Serializable> extends Deactivatable
 {
@@ -51,12 +52,36 @@ public interface EntityPersistenceRepository<E, PK extends Serializable> extends
      */
     E saveAndFlushAndRefresh(E entity);
 
+    /**
+     * {@link #save(Object)}s the given entities. Every
+     * {@link org.apache.deltaspike.data.api.config.base.DataBaseConfig.BulkOperationCustomization#BATCH_SIZE}
+     * entities the persistence context gets flushed and cleared, so all entities managed by it
+     * (also the ones not passed to this method) get detached.
+     * @param entities          Entities to save.
+     * @return                  Returns the modified entities.
+     */
+    List<E> saveAll(Iterable<E> entities);
+
+    /**
+     * {@link #saveAll(Iterable)}s the given entities and flushes the persistence context afterwards.
+     * @param entities          Entities to save.
+     * @return                  Returns the modified entities.
+     */
+    List<E> saveAllAndFlush(Iterable<E> entities);
+
     /**
      * Convenience access to {@link javax.persistence.EntityManager#remove(Object)}.
      * @param entity            Entity to remove.
      */
     void remove(E entity);
 
+    /**
+     * Removes the given (also detached) entities. Like {@link #saveAll(Iterable)} the persistence context
+     * gets flushed and cleared in batches.
+     * @param entities          Entities to remove.
+     */
+    void removeAll(Iterable<E> entities);
+
     /**
      * Convenience access to {@link javax.persistence.EntityManager#remove(Object)}
      * with a following flush.
@@ -235,6 +235,26 @@ public interface QueryResult<E>
      */
     QueryResult<E> nextPage();
 
+    /**
+     * Use keyset pagination for {@link #nextPage()}: instead of skipping the rows of the previous pages,
+     * the next page gets restricted to the rows after the sort-key values of the last entity fetched by
+     * {@link #getResultList()}. The cost of fetching a page doesn't depend on its position then.
+     * Requires an order (see {@link #orderAsc(String)} and {@link #orderDesc(String)}) which identifies
+     * the entities uniquely and non-null sort-key values. Other page movements still use the offset.
+     *
+     * @return Fluent API: the result instance.
+     */
+    QueryResult<E> withKeysetPagination();
+
+    /**
+     * Restrict the result to the entities after the given sort-key values, e.g. the ones of the last entity
+     * of a page fetched in a previous request. The values have to match the order of the query result.
+     *
+     * @param sortKeyValues Values of the order attributes in the same sequence as the order clauses.
+     * @return Fluent API: the result instance.
+     */
+    QueryResult<E> seekAfter(Object... sortKeyValues);
+
     /**
      * Move to the previous page.
      *
@@ -0,0 +1,39 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.data.api.config.base;
+
+import org.apache.deltaspike.core.api.config.ConfigResolver;
+import org.apache.deltaspike.core.api.config.base.DeltaSpikeBaseConfig;
+
+public interface DataBaseConfig extends DeltaSpikeBaseConfig
+{
+    interface BulkOperationCustomization
+    {
+        /**
+         * Number of entities after which the bulk operations of an EntityRepository (e.g. saveAll)
+         * flush and clear the persistence-context. A value below 1 disables the batching.
+         */
+        Integer BATCH_SIZE =
+                ConfigResolver.resolve("deltaspike.data.bulk-operation.batch-size")
+                        .as(Integer.class)
+                        .withCurrentProjectStage(true)
+                        .withDefault(50)
+                        .getValue();
+    }
+}
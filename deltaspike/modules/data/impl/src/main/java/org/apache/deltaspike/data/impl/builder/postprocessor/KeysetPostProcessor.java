@@ -0,0 +1,239 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.data.impl.builder.postprocessor;
+
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.persistence.Query;
+
+import org.apache.deltaspike.data.impl.builder.OrderDirection;
+import org.apache.deltaspike.data.impl.handler.CdiQueryInvocationContext;
+import org.apache.deltaspike.data.impl.handler.JpaQueryPostProcessor;
+import org.apache.deltaspike.data.impl.handler.QueryStringPostProcessor;
+
+/**
+ * Restricts a query to the rows after the given sort-key values (keyset or seek pagination).
+ * For the order clauses <code>a asc, b desc</code> it adds the restriction
+ * <code>(a &gt; :a) or (a = :a and b &lt; :b)</code>.
+ */
+public class KeysetPostProcessor implements QueryStringPostProcessor, JpaQueryPostProcessor
+{
+
+    private static final String NAMED_PARAMETER_PREFIX = "keysetValue";
+
+    private static final Pattern CLAUSE =
+            Pattern.compile("(?<![\\w.])(where|group\\s+by|having|order\\s+by)(?![\\w.])");
+    private static final Pattern INDEXED_PARAMETER = Pattern.compile("\\?(\\d+)");
+    private static final Pattern NAMED_PARAMETER = Pattern.compile(":[a-zA-Z_]");
+
+    private final List<OrderByQueryStringPostProcessor> orderBy;
+    private final Object[] values;
+
+    private boolean enabled = true;
+    private int firstIndexedParameter = -1;
+
+    public KeysetPostProcessor(List<OrderByQueryStringPostProcessor> orderBy, Object[] values)
+    {
+        if (orderBy.isEmpty())
+        {
+            throw new IllegalStateException("Keyset pagination requires an order of the query result");
+        }
+        if (orderBy.size() != values.length)
+        {
+            throw new IllegalArgumentException("Expected " + orderBy.size() + " sort-key values, but got " +
+                    values.length);
+        }
+        this.orderBy = orderBy;
+        this.values = values;
+    }
+
+    @Override
+    public String postProcess(String queryString)
+    {
+        if (!enabled)
+        {
+            return queryString;
+        }
+
+        String withoutLiterals = mask(queryString, false);
+
+        // the query must not mix indexed and named parameters
+        firstIndexedParameter = -1;
+        if (!NAMED_PARAMETER.matcher(withoutLiterals).find())
+        {
+            firstIndexedParameter = 1;
+            Matcher matcher = INDEXED_PARAMETER.matcher(withoutLiterals);
+            while (matcher.find())
+            {
+                firstIndexedParameter = Math.max(firstIndexedParameter, Integer.parseInt(matcher.group(1)) + 1);
+            }
+        }
+
+        String restriction = buildRestriction();
+
+        Matcher clause = CLAUSE.matcher(mask(queryString, true));
+
+        int wherePosition = -1;
+        int insertPosition = queryString.length();
+        while (clause.find())
+        {
+            if ("where".equals(clause.group(1)))
+            {
+                wherePosition = clause.end();
+            }
+            else
+            {
+                insertPosition = clause.start();
+                break;
+            }
+        }
+
+        int headEnd = insertPosition;
+        while (headEnd > 0 && Character.isWhitespace(queryString.charAt(headEnd - 1)))
+        {
+            headEnd--;
+        }
+        String head = queryString.substring(0, headEnd);
+        StringBuilder result = new StringBuilder(queryString.length() + restriction.length() + 16);
+        if (wherePosition >= 0)
+        {
+            // the existing restrictions need parentheses, because they might contain an 'or'
+            result.append(head, 0, wherePosition)
+                    .append(" (")
+                    .append(head.substring(wherePosition).trim())
+                    .append(") and (")
+                    .append(restriction)
+                    .append(")");
+        }
+        else
+        {
+            result.append(head)
+                    .append(" where ")
+                    .append(restriction);
+        }
+        if (insertPosition < queryString.length())
+        {
+            result.append(" ").append(queryString, insertPosition, queryString.length());
+        }
+        return result.toString();
+    }
+
+    @Override
+    public Query postProcess(CdiQueryInvocationContext context, Query query)
+    {
+        if (!enabled)
+        {
+            return query;
+        }
+
+        for (int i = 0; i < values.length; i++)
+        {
+            if (firstIndexedParameter > 0)
+            {
+                query.setParameter(firstIndexedParameter + i, values[i]);
+            }
+            else
+            {
+                query.setParameter(NAMED_PARAMETER_PREFIX + i, values[i]);
+            }
+        }
+        return query;
+    }
+
+    /**
+     * Allows to query e.g. the count of all rows and not just the remaining ones.
+     */
+    public void setEnabled(boolean enabled)
+    {
+        this.enabled = enabled;
+    }
+
+    private String buildRestriction()
+    {
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < orderBy.size(); i++)
+        {
+            if (i > 0)
+            {
+                result.append(" or ");
+            }
+            result.append("(");
+            for (int j = 0; j < i; j++)
+            {
+                result.append(orderBy.get(j).getQueryAttribute())
+                        .append(" = ")
+                        .append(parameter(j))
+                        .append(" and ");
+            }
+            OrderByQueryStringPostProcessor current = orderBy.get(i);
+            result.append(current.getQueryAttribute())
+                    .append(current.getDirection() == OrderDirection.ASC ? " > " : " < ")
+                    .append(parameter(i))
+                    .append(")");
+        }
+        return result.toString();
+    }
+
+    private String parameter(int index)
+    {
+        if (firstIndexedParameter > 0)
+        {
+            return "?" + (firstIndexedParameter + index);
+        }
+        return ":" + NAMED_PARAMETER_PREFIX + index;
+    }
+
+    /**
+     * @param maskParentheses true to replace the content of parentheses as well,
+     *                        so that only the clauses of the outermost query get found
+     * @return the lower-case query with the content of string literals replaced
+     */
+    private static String mask(String queryString, boolean maskParentheses)
+    {
+        char[] result = queryString.toCharArray();
+        int depth = 0;
+        boolean literal = false;
+        for (int i = 0; i < result.length; i++)
+        {
+            // lower-casing single chars keeps the positions of the original query
+            char current = Character.toLowerCase(result[i]);
+            result[i] = current;
+            if (current == '\'')
+            {
+                literal = !literal;
+            }
+            else if (!literal && maskParentheses && current == '(')
+            {
+                depth++;
+            }
+            else if (!literal && maskParentheses && current == ')')
+            {
+                depth--;
+            }
+            else if (literal || depth > 0)
+            {
+                result[i] = '_';
+            }
+        }
+        return new String(result);
+    }
+
+}
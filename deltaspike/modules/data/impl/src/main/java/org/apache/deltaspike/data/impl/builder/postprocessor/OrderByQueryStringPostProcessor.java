@@ -87,4 +87,22 @@ public class OrderByQueryStringPostProcessor implements QueryStringPostProcessor
         direction = direction.change();
     }
 
+    public String getAttribute()
+    {
+        return attribute;
+    }
+
+    public OrderDirection getDirection()
+    {
+        return direction;
+    }
+
+    /**
+     * @return the attribute as it gets used in the query
+     */
+    public String getQueryAttribute()
+    {
+        return appendEntityName ? QueryBuilder.ENTITY_NAME + "." + attribute : attribute;
+    }
+
 }
@@ -18,6 +18,7 @@
  */
 package org.apache.deltaspike.data.impl.builder.result;
 
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 
@@ -34,11 +35,15 @@ import org.apache.deltaspike.data.impl.builder.postprocessor.CountQueryPostProce
 import org.apache.deltaspike.data.impl.builder.postprocessor.FirstResultPostProcessor;
 import org.apache.deltaspike.data.impl.builder.postprocessor.FlushModePostProcessor;
 import org.apache.deltaspike.data.impl.builder.postprocessor.HintPostProcessor;
+import org.apache.deltaspike.data.impl.builder.postprocessor.KeysetPostProcessor;
 import org.apache.deltaspike.data.impl.builder.postprocessor.LockModePostProcessor;
 import org.apache.deltaspike.data.impl.builder.postprocessor.MaxResultPostProcessor;
 import org.apache.deltaspike.data.impl.builder.postprocessor.OrderByQueryStringPostProcessor;
 import org.apache.deltaspike.data.impl.handler.CdiQueryInvocationContext;
 import org.apache.deltaspike.data.impl.handler.QueryStringPostProcessor;
+import org.apache.deltaspike.data.impl.property.Property;
+import org.apache.deltaspike.data.impl.property.query.NamedPropertyCriteria;
+import org.apache.deltaspike.data.impl.property.query.PropertyQueries;
 
 public class DefaultQueryResult<T> implements QueryResult<T>
 {
@@ -49,6 +54,10 @@ public class DefaultQueryResult<T> implements QueryResult<T>
     private int page = 0;
     private int pageSize = 10;
 
+    private boolean keysetPagination = false;
+    private KeysetPostProcessor keyset;
+    private Object[] lastSortKeyValues;
+
     public DefaultQueryResult(QueryBuilder builder, CdiQueryInvocationContext context)
     {
         this.builder = builder;
@@ -64,6 +73,7 @@ public class DefaultQueryResult<T> implements QueryResult<T>
     @Override
     public <X> QueryResult<T> orderAsc(SingularAttribute<T, X> attribute, boolean appendEntityName)
     {
+        resetKeyset();
         context.addQueryStringPostProcessor(new OrderByQueryStringPostProcessor(attribute, OrderDirection.ASC,
                 appendEntityName));
         return this;
@@ -78,6 +88,7 @@ public class DefaultQueryResult<T> implements QueryResult<T>
     @Override
     public QueryResult<T> orderAsc(String attribute, boolean appendEntityName)
     {
+        resetKeyset();
         context.addQueryStringPostProcessor(new OrderByQueryStringPostProcessor(attribute, OrderDirection.ASC,
                 appendEntityName));
         return this;
@@ -92,6 +103,7 @@ public class DefaultQueryResult<T> implements QueryResult<T>
     @Override
     public <X> QueryResult<T> orderDesc(SingularAttribute<T, X> attribute, boolean appendEntityName)
     {
+        resetKeyset();
         context.addQueryStringPostProcessor(new OrderByQueryStringPostProcessor(attribute, OrderDirection.DESC,
                 appendEntityName));
         return this;
@@ -106,6 +118,7 @@ public class DefaultQueryResult<T> implements QueryResult<T>
     @Override
     public QueryResult<T> orderDesc(String attribute, boolean appendEntityName)
     {
+        resetKeyset();
         context.addQueryStringPostProcessor(new OrderByQueryStringPostProcessor(attribute, OrderDirection.DESC,
                 appendEntityName));
         return this;
@@ -154,6 +167,7 @@ public class DefaultQueryResult<T> implements QueryResult<T>
     @Override
     public QueryResult<T> clearOrder()
     {
+        resetKeyset();
         for (Iterator<QueryStringPostProcessor> it = context.getQueryStringPostProcessors().iterator(); it.hasNext();)
         {
             if (it.next() instanceof OrderByQueryStringPostProcessor)
@@ -204,7 +218,12 @@ public class DefaultQueryResult<T> implements QueryResult<T>
     @SuppressWarnings("unchecked")
     public List<T> getResultList()
     {
-        return ((Query) builder.executeQuery(context)).getResultList();
+        List<T> result = ((Query) builder.executeQuery(context)).getResultList();
+        if (keysetPagination && !result.isEmpty())
+        {
+            lastSortKeyValues = extractSortKeyValues(result.get(result.size() - 1));
+        }
+        return result;
     }
 
     @Override
@@ -239,6 +258,11 @@ public class DefaultQueryResult<T> implements QueryResult<T>
     {
         CountQueryPostProcessor counter = new CountQueryPostProcessor();
         context.addJpaQueryPostProcessor(counter);
+        if (keyset != null)
+        {
+            // count all the rows and not just the ones after the current keyset
+            keyset.setEnabled(false);
+        }
         try
         {
             Long result = (Long) ((Query) builder.executeQuery(context)).getSingleResult();
@@ -255,6 +279,10 @@ public class DefaultQueryResult<T> implements QueryResult<T>
         finally
         {
             context.removeJpaQueryPostProcessor(counter);
+            if (keyset != null)
+            {
+                keyset.setEnabled(true);
+            }
         }
     }
 
@@ -267,6 +295,7 @@ public class DefaultQueryResult<T> implements QueryResult<T>
     @Override
     public QueryResult<T> toPage(int page)
     {
+        resetKeyset();
         this.page = page;
         return firstResult(pageSize * page);
     }
@@ -275,12 +304,39 @@ public class DefaultQueryResult<T> implements QueryResult<T>
     public QueryResult<T> nextPage()
     {
         page = page + 1;
+
+        Object[] sortKeyValues = lastSortKeyValues;
+        resetKeyset();
+        if (sortKeyValues != null)
+        {
+            seekAfter(sortKeyValues);
+            return firstResult(0);
+        }
+        // nothing fetched so far (or without usable sort-keys) - the offset leads to the same page
         return firstResult(pageSize * page);
     }
 
+    @Override
+    public QueryResult<T> withKeysetPagination()
+    {
+        keysetPagination = true;
+        return this;
+    }
+
+    @Override
+    public QueryResult<T> seekAfter(Object... sortKeyValues)
+    {
+        resetKeyset();
+        keyset = new KeysetPostProcessor(getOrderBy(), sortKeyValues.clone());
+        context.addQueryStringPostProcessor(keyset);
+        context.addJpaQueryPostProcessor(keyset);
+        return this;
+    }
+
     @Override
     public QueryResult<T> previousPage()
     {
+        resetKeyset();
         page = page > 0 ? page - 1 : page;
         return firstResult(pageSize * page);
     }
@@ -305,6 +361,7 @@ public class DefaultQueryResult<T> implements QueryResult<T>
 
     private <X> QueryResult<T> changeOrder(ChangeOrder changeOrder)
     {
+        resetKeyset();
         for (QueryStringPostProcessor processor : context.getQueryStringPostProcessors())
         {
             if (processor instanceof OrderByQueryStringPostProcessor)
@@ -321,6 +378,81 @@ public class DefaultQueryResult<T> implements QueryResult<T>
         return this;
     }
 
+    private void resetKeyset()
+    {
+        lastSortKeyValues = null;
+        if (keyset != null)
+        {
+            context.getQueryStringPostProcessors().remove(keyset);
+            context.removeJpaQueryPostProcessor(keyset);
+            keyset = null;
+        }
+    }
+
+    private List<OrderByQueryStringPostProcessor> getOrderBy()
+    {
+        List<OrderByQueryStringPostProcessor> result = new ArrayList<OrderByQueryStringPostProcessor>();
+        for (QueryStringPostProcessor processor : context.getQueryStringPostProcessors())
+        {
+            if (processor instanceof OrderByQueryStringPostProcessor)
+            {
+                result.add((OrderByQueryStringPostProcessor) processor);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the values of the order attributes of the given entity
+     *         or <code>null</code> if at least one of them isn't available
+     */
+    private Object[] extractSortKeyValues(Object entity)
+    {
+        List<OrderByQueryStringPostProcessor> orderBy = getOrderBy();
+        if (orderBy.isEmpty())
+        {
+            return null;
+        }
+
+        Object[] result = new Object[orderBy.size()];
+        for (int i = 0; i < result.length; i++)
+        {
+            result[i] = readPath(entity, orderBy.get(i).getAttribute());
+            if (result[i] == null)
+            {
+                return null;
+            }
+        }
+        return result;
+    }
+
+    private static Object readPath(Object entity, String path)
+    {
+        String[] segments = path.split("\\.");
+        Object current = entity;
+        for (int i = 0; i < segments.length; i++)
+        {
+            Property<Object> property = PropertyQueries.createQuery(current.getClass())
+                    .addCriteria(new NamedPropertyCriteria(segments[i])).getFirstResult();
+            if (property == null)
+            {
+                if (i == 0 && segments.length > 1)
+                {
+                    // most likely the alias of the entity
+                    continue;
+                }
+                return null;
+            }
+
+            current = property.getValue(current);
+            if (current == null)
+            {
+                return null;
+            }
+        }
+        return current;
+    }
+
     private abstract static class ChangeOrder
     {
 
@@ -20,12 +20,14 @@ package org.apache.deltaspike.data.impl.handler;
 
 import org.apache.deltaspike.data.api.EntityRepository;
 import org.apache.deltaspike.data.api.Query;
+import org.apache.deltaspike.data.api.config.base.DataBaseConfig;
 import org.apache.deltaspike.data.impl.builder.QueryBuilder;
 import org.apache.deltaspike.data.impl.meta.RequiresTransaction;
 import org.apache.deltaspike.data.impl.property.Property;
 import org.apache.deltaspike.data.impl.property.query.NamedPropertyCriteria;
 import org.apache.deltaspike.data.impl.property.query.PropertyQueries;
 import org.apache.deltaspike.data.impl.util.EntityUtils;
+import org.apache.deltaspike.data.impl.util.jpa.JdbcBatchSizeHint;
 import org.apache.deltaspike.data.impl.util.jpa.PersistenceUnitUtilDelegateFactory;
 import org.apache.deltaspike.data.spi.DelegateQueryHandler;
 
@@ -86,6 +88,20 @@ public class EntityRepositoryHandler<E, PK extends Serializable>
         return result;
     }
 
+    @Override
+    @RequiresTransaction
+    public List<E> saveAll(Iterable<E> entities)
+    {
+        return saveInBatches(entities, false);
+    }
+
+    @Override
+    @RequiresTransaction
+    public List<E> saveAllAndFlush(Iterable<E> entities)
+    {
+        return saveInBatches(entities, true);
+    }
+
     @Override
     @RequiresTransaction
     public E saveAndFlushAndRefresh(E entity)
@@ -223,6 +239,21 @@ public class EntityRepositoryHandler<E, PK extends Serializable>
         flush();
     }
 
+    @Override
+    @RequiresTransaction
+    public void removeAll(Iterable<E> entities)
+    {
+        executeInBatches(entities, false, new BulkOperation<E>()
+        {
+            @Override
+            public void execute(E entity)
+            {
+                // entities of a previous batch got detached by clearing the persistence context
+                attachAndRemove(entity);
+            }
+        });
+    }
+
     @Override
     @RequiresTransaction
     public void attachAndRemove(E entity)
@@ -276,6 +307,56 @@ public class EntityRepositoryHandler<E, PK extends Serializable>
     // PRIVATE
     // ----------------------------------------------------------------------------
 
+    private List<E> saveInBatches(Iterable<E> entities, boolean flush)
+    {
+        final List<E> result = new ArrayList<E>();
+        executeInBatches(entities, flush, new BulkOperation<E>()
+        {
+            @Override
+            public void execute(E entity)
+            {
+                result.add(save(entity));
+            }
+        });
+        return result;
+    }
+
+    private void executeInBatches(Iterable<E> entities, boolean flush, BulkOperation<E> operation)
+    {
+        EntityManager entityManager = entityManager();
+        int batchSize = DataBaseConfig.BulkOperationCustomization.BATCH_SIZE;
+
+        JdbcBatchSizeHint batchSizeHint = batchSize > 0 ? JdbcBatchSizeHint.apply(entityManager, batchSize) : null;
+        try
+        {
+            int count = 0;
+            for (E entity : entities)
+            {
+                operation.execute(entity);
+                count++;
+
+                // keeps the persistence context (and the heap) small
+                if (batchSize > 0 && count % batchSize == 0)
+                {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+
+            if (flush)
+            {
+                entityManager.flush();
+            }
+        }
+        finally
+        {
+            if (batchSizeHint != null)
+            {
+                batchSizeHint.restore();
+            }
+        }
+    }
+
     private String allQuery()
     {
         return QueryBuilder.selectQuery(entityName());
@@ -406,4 +487,9 @@ public class EntityRepositoryHandler<E, PK extends Serializable>
     {
         return PersistenceUnitUtilDelegateFactory.get(entityManager());
     }
+
+    private interface BulkOperation<E>
+    {
+        void execute(E entity);
+    }
 }
@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.data.impl.util.jpa;
+
+import org.apache.deltaspike.jpa.impl.entitymanager.HibernateSessionProperty;
+
+import javax.persistence.EntityManager;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Sets the JDBC batch size of an {@link EntityManager} for the duration of a bulk operation
+ * and restores the previous one afterwards.
+ *
+ * Only Hibernate (5.2+) allows to change it for a single session, other providers keep their configured
+ * batch size.
+ */
+public class JdbcBatchSizeHint
+{
+    private static final Logger LOG = Logger.getLogger(JdbcBatchSizeHint.class.getName());
+
+    private static final HibernateSessionProperty<Integer> JDBC_BATCH_SIZE =
+        new HibernateSessionProperty<Integer>("getJdbcBatchSize", "setJdbcBatchSize", Integer.class);
+
+    private final Object hibernateSession;
+    private final Integer previousBatchSize;
+
+    private JdbcBatchSizeHint(Object hibernateSession, Integer previousBatchSize)
+    {
+        this.hibernateSession = hibernateSession;
+        this.previousBatchSize = previousBatchSize;
+    }
+
+    public static JdbcBatchSizeHint apply(EntityManager entityManager, int batchSize)
+    {
+        Object session = JDBC_BATCH_SIZE.unwrapSession(entityManager);
+        if (session != null)
+        {
+            try
+            {
+                Integer previousBatchSize = JDBC_BATCH_SIZE.get(session);
+                JDBC_BATCH_SIZE.set(session, batchSize);
+                return new JdbcBatchSizeHint(session, previousBatchSize);
+            }
+            catch (Exception e)
+            {
+                LOG.log(Level.FINE, "Cannot set the JDBC batch size of the hibernate session", e);
+            }
+        }
+        return new JdbcBatchSizeHint(null, null);
+    }
+
+    public void restore()
+    {
+        if (hibernateSession == null)
+        {
+            return;
+        }
+
+        try
+        {
+            JDBC_BATCH_SIZE.set(hibernateSession, previousBatchSize);
+        }
+        catch (Exception e)
+        {
+            LOG.log(Level.FINE, "Cannot restore the JDBC batch size of the hibernate session", e);
+        }
+    }
+}
@@ -222,6 +222,75 @@ public class QueryResultTest extends TransactionalTestCase
 
     }
 
+    @Test
+    public void should_page_with_keyset()
+    {
+        // given
+        final String name = "testPageKeyset";
+        builder.createSimple(name, Integer.valueOf(22));
+        builder.createSimple(name, Integer.valueOf(56));
+        builder.createSimple(name, Integer.valueOf(56));
+        builder.createSimple(name, Integer.valueOf(99));
+        builder.createSimple(name, Integer.valueOf(123));
+        builder.createSimple(name, Integer.valueOf(229));
+        builder.createSimple("otherName", Integer.valueOf(1));
+
+        // when
+        QueryResult<Simple> pagedQuery = repo
+                .findByName(name)
+                .orderDesc(Simple_.counter)
+                .orderAsc(Simple_.id)
+                .withKeysetPagination()
+                .withPageSize(2);
+        List<Simple> result1 = pagedQuery.getResultList();
+        List<Simple> result2 = pagedQuery.nextPage().getResultList();
+        long count = pagedQuery.count();
+        List<Simple> result3 = pagedQuery.nextPage().getResultList();
+        List<Simple> result4 = pagedQuery.nextPage().getResultList();
+        List<Simple> result5 = pagedQuery.toPage(1).getResultList();
+
+        // then
+        assertEquals(6, count);
+        assertEquals(1, pagedQuery.currentPage());
+        assertEquals(229, result1.get(0).getCounter().intValue());
+        assertEquals(123, result1.get(1).getCounter().intValue());
+        assertEquals(99, result2.get(0).getCounter().intValue());
+        assertEquals(56, result2.get(1).getCounter().intValue());
+        assertEquals(2, result3.size());
+        assertEquals(56, result3.get(0).getCounter().intValue());
+        assertTrue(result2.get(1).getId() < result3.get(0).getId());
+        assertEquals(22, result3.get(1).getCounter().intValue());
+        assertTrue(result4.isEmpty());
+        assertEquals(99, result5.get(0).getCounter().intValue());
+    }
+
+    @Test
+    public void should_seek_after_sort_keys()
+    {
+        // given
+        final String name = "testSeekAfter";
+        builder.createSimple(name, Integer.valueOf(22));
+        builder.createSimple(name, Integer.valueOf(56));
+        builder.createSimple(name, Integer.valueOf(99));
+
+        // when
+        List<Simple> result = repo.queryResultWithNamed("testSeek%")
+                .orderAsc(Simple_.counter)
+                .seekAfter(Integer.valueOf(22))
+                .getResultList();
+        List<Simple> all = repo.queryAll()
+                .orderAsc("s.counter", false)
+                .seekAfter(Integer.valueOf(56))
+                .getResultList();
+
+        // then
+        assertEquals(2, result.size());
+        assertEquals(56, result.get(0).getCounter().intValue());
+        assertEquals(99, result.get(1).getCounter().intValue());
+        assertEquals(1, all.size());
+        assertEquals(99, all.get(0).getCounter().intValue());
+    }
+
     @Test
     public void should_modify_named_query()
     {
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.data.impl.builder.postprocessor;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.apache.deltaspike.data.impl.builder.OrderDirection;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class KeysetPostProcessorTest
+{
+    private final OrderByQueryStringPostProcessor counterDesc =
+            new OrderByQueryStringPostProcessor("counter", OrderDirection.DESC, true);
+    private final OrderByQueryStringPostProcessor idAsc =
+            new OrderByQueryStringPostProcessor("id", OrderDirection.ASC, true);
+
+    @Test
+    public void should_add_restriction_to_where_clause()
+    {
+        // given
+        KeysetPostProcessor keyset = new KeysetPostProcessor(Arrays.asList(counterDesc, idAsc), new Object[] {1, 2L});
+        final String query = "select e from Simple e where e.name = ?1 or e.name = ?2 order by e.counter desc";
+
+        // when
+        String result = keyset.postProcess(query);
+
+        // then
+        assertEquals("select e from Simple e where (e.name = ?1 or e.name = ?2) and " +
+                "((e.counter < ?3) or (e.counter = ?3 and e.id > ?4)) order by e.counter desc", result);
+    }
+
+    @Test
+    public void should_add_where_clause()
+    {
+        // given
+        KeysetPostProcessor keyset = new KeysetPostProcessor(Collections.singletonList(idAsc), new Object[] {2L});
+
+        // when
+        String result = keyset.postProcess("select e from Simple e");
+
+        // then
+        assertEquals("select e from Simple e where (e.id > ?1)", result);
+    }
+
+    @Test
+    public void should_use_named_parameters()
+    {
+        // given
+        KeysetPostProcessor keyset = new KeysetPostProcessor(Collections.singletonList(idAsc), new Object[] {2L});
+        final String query = "select e from Simple e where e.name = :name and e.id in " +
+                "(select s.id from Simple s where s.name <> 'where ?1') order by e.id";
+
+        // when
+        String result = keyset.postProcess(query);
+
+        // then
+        assertEquals("select e from Simple e where (e.name = :name and e.id in " +
+                "(select s.id from Simple s where s.name <> 'where ?1')) and ((e.id > :keysetValue0)) order by e.id",
+                result);
+    }
+
+    @Test
+    public void should_not_restrict_if_disabled()
+    {
+        // given
+        KeysetPostProcessor keyset = new KeysetPostProcessor(Collections.singletonList(idAsc), new Object[] {2L});
+        final String query = "select e from Simple e";
+
+        // when
+        keyset.setEnabled(false);
+        String result = keyset.postProcess(query);
+
+        // then
+        assertEquals(query, result);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void should_fail_with_wrong_number_of_values()
+    {
+        new KeysetPostProcessor(Arrays.asList(counterDesc, idAsc), new Object[] {1});
+    }
+}
@@ -37,6 +37,7 @@ import org.junit.experimental.categories.Category;
 
 import javax.inject.Inject;
 import javax.persistence.metamodel.SingularAttribute;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -127,6 +128,46 @@ public class EntityRepositoryHandlerTest extends TransactionalTestCase
         assertEquals(simple.getId(), fetch.getId());
     }
 
+    @Test
+    public void should_save_all_and_flush() throws Exception
+    {
+        // given
+        Long before = repo.count();
+        List<Simple> entities = new ArrayList<Simple>();
+        for (int i = 0; i < 120; i++)
+        {
+            entities.add(new Simple("testSaveAll" + i));
+        }
+
+        // when
+        List<Simple> result = repo.saveAllAndFlush(entities);
+
+        // then
+        assertEquals(120, result.size());
+        assertNotNull(result.get(119).getId());
+        assertEquals(Long.valueOf(before + 120), repo.count());
+    }
+
+    @Test
+    public void should_remove_all() throws Exception
+    {
+        // given
+        List<Simple> entities = new ArrayList<Simple>();
+        for (int i = 0; i < 60; i++)
+        {
+            entities.add(testData.createSimple("testRemoveAll" + i));
+        }
+        Long before = repo.count();
+        getEntityManager().clear();
+
+        // when
+        repo.removeAll(entities);
+        repo.flush();
+
+        // then
+        assertEquals(Long.valueOf(before - 60), repo.count());
+    }
+
     @Test
     public void should_save_with_string_id()
     {
@@ -35,4 +35,44 @@ public interface JpaBaseConfig extends DeltaSpikeBaseConfig
                 .withCurrentProjectStage(true)
                 .getValue();
     }
+
+    interface TransactionCustomization
+    {
+        /**
+         * Marks the persistence-context as read-only during read-only transactions (if supported by the provider),
+         * so that loaded entities don't get snapshots for dirty-checking.
+         * Entities loaded during such a transaction stay read-only as long as they are managed.
+         */
+        Boolean READ_ONLY_PROVIDER_HINTS =
+                ConfigResolver.resolve("deltaspike.jpa.transaction.read-only.provider-hints")
+                        .as(Boolean.class)
+                        .withCurrentProjectStage(true)
+                        .withDefault(Boolean.FALSE)
+                        .getValue();
+    }
+
+    interface EntityManagerFactoryCustomization
+    {
+        /**
+         * Share the produced EntityManagerFactory per persistence-unit and configuration
+         * instead of creating a new one for every injection-point.
+         */
+        Boolean CACHE_ENABLED =
+                ConfigResolver.resolve("deltaspike.jpa.entity-manager-factory.cache")
+                        .as(Boolean.class)
+                        .withCurrentProjectStage(true)
+                        .withDefault(Boolean.TRUE)
+                        .getValue();
+
+        /**
+         * Create the EntityManagerFactories of all persistence-units in parallel during the bootstrapping process
+         * (instead of creating them lazily).
+         */
+        Boolean EAGER_BOOTSTRAP =
+                ConfigResolver.resolve("deltaspike.jpa.entity-manager-factory.eager-bootstrap")
+                        .as(Boolean.class)
+                        .withCurrentProjectStage(true)
+                        .withDefault(Boolean.FALSE)
+                        .getValue();
+    }
 }
@@ -24,8 +24,8 @@ import java.util.Map;
 public class PersistenceUnitDescriptor
 {
     private String name;
-    /*
     private String transactionType;
+    /*
     private boolean excludeUnlistedClasses;
     */
     private List<EntityDescriptor> entityDescriptors;
@@ -33,8 +33,15 @@ public class PersistenceUnitDescriptor
 
     public PersistenceUnitDescriptor(String name, List<EntityDescriptor> entityDescriptors,
             Map<String, String> properties)
+    {
+        this(name, null, entityDescriptors, properties);
+    }
+
+    public PersistenceUnitDescriptor(String name, String transactionType, List<EntityDescriptor> entityDescriptors,
+            Map<String, String> properties)
     {
         this.name = name;
+        this.transactionType = transactionType;
         this.entityDescriptors = entityDescriptors;
         this.properties = properties;
     }
@@ -49,6 +56,24 @@ public class PersistenceUnitDescriptor
         this.name = name;
     }
 
+    /**
+     * @return {@code JTA} or {@code RESOURCE_LOCAL}, {@code null} if unknown
+     */
+    public String getTransactionType()
+    {
+        return transactionType;
+    }
+
+    public void setTransactionType(String transactionType)
+    {
+        this.transactionType = transactionType;
+    }
+
+    public boolean isJta()
+    {
+        return "JTA".equals(transactionType);
+    }
+
     public List<EntityDescriptor> getEntityDescriptors()
     {
         return entityDescriptors;
@@ -74,6 +99,7 @@ public class PersistenceUnitDescriptor
     {
         StringBuilder builder = new StringBuilder();
         builder.append("PersistenceUnit [name=").append(name)
+                .append(", transactionType=").append(transactionType)
                 .append(", entityDescriptors=").append(entityDescriptors).append("]");
         return builder.toString();
     }
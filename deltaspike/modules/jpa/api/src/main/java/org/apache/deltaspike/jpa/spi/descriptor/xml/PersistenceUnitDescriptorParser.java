@@ -58,11 +58,12 @@ public class PersistenceUnitDescriptorParser extends DescriptorReader
             Node node = list.item(i);
 
             String unitName = extractUnitName(node);
+            String transactionType = extractTransactionType((Element) node);
             String baseUrl = extractBaseUrl(descriptor.getUrl(), RESOURCE_PATH);
             List<EntityDescriptor> entities = extractMappings((Element) node, baseUrl, unitName);
             Map<String, String> properties = extractProperties((Element) node);
 
-            result.add(new PersistenceUnitDescriptor(unitName, entities, properties));
+            result.add(new PersistenceUnitDescriptor(unitName, transactionType, entities, properties));
         }
         return result;
     }
@@ -113,6 +114,23 @@ public class PersistenceUnitDescriptorParser extends DescriptorReader
         return node.getAttributes().getNamedItem("name").getTextContent();
     }
 
+    /**
+     * Without an explicit transaction-type a persistence-unit with a jta-data-source is treated as JTA unit.
+     */
+    protected String extractTransactionType(Element element)
+    {
+        String transactionType = element.getAttribute("transaction-type");
+        if (transactionType.length() > 0)
+        {
+            return transactionType.trim();
+        }
+        if (element.getElementsByTagName("jta-data-source").getLength() > 0)
+        {
+            return "JTA";
+        }
+        return "RESOURCE_LOCAL";
+    }
+
     protected Map<String, String> extractProperties(Element element)
     {
         Map<String, String> propertiesMap = new HashMap<String, String>();
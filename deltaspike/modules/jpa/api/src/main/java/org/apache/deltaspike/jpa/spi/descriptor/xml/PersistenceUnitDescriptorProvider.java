@@ -19,6 +19,7 @@
 package org.apache.deltaspike.jpa.spi.descriptor.xml;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import javax.enterprise.inject.Typed;
@@ -55,6 +56,23 @@ public final class PersistenceUnitDescriptorProvider
         }
     }
 
+    /**
+     * @return the names of all persistence-units found in the persistence.xml files which aren't JTA units
+     *         (those are usually managed by the container)
+     */
+    public List<String> getResourceLocalPersistenceUnitNames()
+    {
+        List<String> result = new ArrayList<String>(persistenceUnitDescriptors.size());
+        for (PersistenceUnitDescriptor unit : persistenceUnitDescriptors)
+        {
+            if (!unit.isJta())
+            {
+                result.add(unit.getName());
+            }
+        }
+        return result;
+    }
+
     public PersistenceUnitDescriptor get(String name)
     {        
         for (PersistenceUnitDescriptor unit : persistenceUnitDescriptors)
@@ -42,6 +42,18 @@ public class QualifierBackedEntityManagerResolver implements EntityManagerResolv
 
     @Override
     public EntityManager resolveEntityManager()
+    {
+        Bean<EntityManager> entityManagerBean = resolveEntityManagerBean();
+
+        return (EntityManager) beanManager.getReference(entityManagerBean, EntityManager.class,
+                beanManager.createCreationalContext(entityManagerBean));
+    }
+
+    /**
+     * @return the bean of the {@link EntityManager} for the configured qualifiers
+     * @throws IllegalStateException if there is no such bean
+     */
+    public Bean<EntityManager> resolveEntityManagerBean()
     {
         Bean<EntityManager> entityManagerBean = resolveEntityManagerBeans();
 
@@ -55,10 +67,9 @@ public class QualifierBackedEntityManagerResolver implements EntityManagerResolv
             throw new IllegalStateException("Cannot find an EntityManager qualified with [" + qualifierNames
                     + "]. Did you add a corresponding producer?");
         }
-
-        return (EntityManager) beanManager.getReference(entityManagerBean, EntityManager.class,
-                beanManager.createCreationalContext(entityManagerBean));
+        return entityManagerBean;
     }
+
     private Bean<EntityManager> resolveEntityManagerBeans()
     {
         Set<Bean<?>> entityManagerBeans = beanManager.getBeans(EntityManager.class, new AnyLiteral());
@@ -19,10 +19,15 @@
 package org.apache.deltaspike.jpa.impl.descriptor.xml;
 
 import javax.enterprise.event.Observes;
+import javax.enterprise.inject.spi.AfterDeploymentValidation;
+import javax.enterprise.inject.spi.BeanManager;
 import javax.enterprise.inject.spi.BeforeBeanDiscovery;
 import javax.enterprise.inject.spi.Extension;
+import org.apache.deltaspike.core.api.provider.BeanProvider;
 import org.apache.deltaspike.core.spi.activation.Deactivatable;
 import org.apache.deltaspike.core.util.ClassDeactivationUtils;
+import org.apache.deltaspike.jpa.api.config.base.JpaBaseConfig;
+import org.apache.deltaspike.jpa.impl.entitymanager.EntityManagerFactoryRegistry;
 import org.apache.deltaspike.jpa.spi.descriptor.xml.PersistenceUnitDescriptorProvider;
 
 public class PersistenceUnitDescriptorInitExtension implements Extension, Deactivatable
@@ -40,4 +45,18 @@ public class PersistenceUnitDescriptorInitExtension implements Extension, Deacti
 
         PersistenceUnitDescriptorProvider.getInstance().init();
     }
+
+    void afterDeploymentValidation(@Observes AfterDeploymentValidation afterDeploymentValidation,
+                                   BeanManager beanManager)
+    {
+        if (!isActivated || !JpaBaseConfig.EntityManagerFactoryCustomization.EAGER_BOOTSTRAP)
+        {
+            return;
+        }
+
+        EntityManagerFactoryRegistry entityManagerFactoryRegistry =
+            BeanProvider.getContextualReference(beanManager, EntityManagerFactoryRegistry.class, false);
+        entityManagerFactoryRegistry.bootstrap(
+            PersistenceUnitDescriptorProvider.getInstance().getResourceLocalPersistenceUnitNames());
+    }
 }
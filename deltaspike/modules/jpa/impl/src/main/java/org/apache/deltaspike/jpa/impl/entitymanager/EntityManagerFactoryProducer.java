@@ -27,6 +27,7 @@ import javax.persistence.Persistence;
 import java.util.Properties;
 import java.util.logging.Logger;
 
+import org.apache.deltaspike.jpa.api.config.base.JpaBaseConfig;
 import org.apache.deltaspike.jpa.spi.entitymanager.PersistenceConfigurationProvider;
 import org.apache.deltaspike.jpa.api.entitymanager.PersistenceUnitName;
 
@@ -37,7 +38,13 @@ import org.apache.deltaspike.jpa.api.entitymanager.PersistenceUnitName;
  * to express the desired persistence unit name.</p>
  *
  * <p>The EntityManagerFactory for the given persistence unit will be produced
- * as &#064;Dependent scoped. It can be used to easily implement own
+ * as &#064;Dependent scoped. Per default it gets created once per persistence unit
+ * (and configuration) and is shared by all injection points, it gets closed once the
+ * application gets shut down (see {@link JpaBaseConfig.EntityManagerFactoryCustomization#CACHE_ENABLED}).
+ * Therefore the shared EntityManagerFactory isn't closable, calling {@link EntityManagerFactory#close()}
+ * has no effect. It implements all public interfaces of the EntityManagerFactory created by the
+ * persistence-provider, therefore it can still be cast to provider specific types.
+ * It can be used to easily implement own
  * EntityManagerProviders as shown in the following example which provides
  * a producer according to the entitymanager-per-request design pattern:</p>
  * <pre>
@@ -67,6 +74,9 @@ public class EntityManagerFactoryProducer
     @Inject
     private PersistenceConfigurationProvider persistenceConfigurationProvider;
 
+    @Inject
+    private EntityManagerFactoryRegistry entityManagerFactoryRegistry;
+
 
     @Produces
     @Dependent
@@ -84,6 +94,11 @@ public class EntityManagerFactoryProducer
 
         String unitName = unitNameAnnotation.value();
 
+        if (JpaBaseConfig.EntityManagerFactoryCustomization.CACHE_ENABLED)
+        {
+            return entityManagerFactoryRegistry.getEntityManagerFactory(unitName);
+        }
+
         Properties properties = persistenceConfigurationProvider.getEntityManagerFactoryConfiguration(unitName);
 
         EntityManagerFactory emf = Persistence.createEntityManagerFactory(unitName, properties);
@@ -0,0 +1,333 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.jpa.impl.entitymanager;
+
+import org.apache.deltaspike.jpa.spi.entitymanager.PersistenceConfigurationProvider;
+
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Creates the {@link EntityManagerFactory} of a persistence-unit once per configuration
+ * and closes all of them once the application gets shut down.
+ * The shared factories are handed out as delegates which ignore {@link EntityManagerFactory#close()}
+ * and implement all public interfaces of the factory created by the persistence-provider.
+ */
+@ApplicationScoped
+public class EntityManagerFactoryRegistry
+{
+    private static final Logger LOG = Logger.getLogger(EntityManagerFactoryRegistry.class.getName());
+
+    private final ConcurrentMap<FactoryKey, FutureTask<EntityManagerFactory>> entityManagerFactories =
+        new ConcurrentHashMap<FactoryKey, FutureTask<EntityManagerFactory>>();
+
+    @Inject
+    private PersistenceConfigurationProvider persistenceConfigurationProvider;
+
+    /**
+     * @param unitName name of the persistence-unit
+     * @return the shared EntityManagerFactory for the current configuration of the given persistence-unit,
+     *         closing it has no effect
+     */
+    public EntityManagerFactory getEntityManagerFactory(String unitName)
+    {
+        final Properties properties = persistenceConfigurationProvider.getEntityManagerFactoryConfiguration(unitName);
+        FactoryKey factoryKey = new FactoryKey(unitName, properties);
+
+        FutureTask<EntityManagerFactory> entityManagerFactoryTask = entityManagerFactories.get(factoryKey);
+
+        if (entityManagerFactoryTask == null)
+        {
+            FutureTask<EntityManagerFactory> newTask = createTask(unitName, properties);
+            entityManagerFactoryTask = entityManagerFactories.putIfAbsent(factoryKey, newTask);
+
+            if (entityManagerFactoryTask == null)
+            {
+                entityManagerFactoryTask = newTask;
+                // only the thread which registered the task creates the EntityManagerFactory
+                entityManagerFactoryTask.run();
+            }
+        }
+
+        try
+        {
+            return entityManagerFactoryTask.get();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while creating the EntityManagerFactory for " +
+                unitName, e);
+        }
+        catch (ExecutionException e)
+        {
+            // allow a retry with the next call
+            entityManagerFactories.remove(factoryKey, entityManagerFactoryTask);
+
+            if (e.getCause() instanceof RuntimeException)
+            {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Creates the EntityManagerFactories of the given persistence-units in parallel.
+     *
+     * @param unitNames names of the persistence-units
+     */
+    public void bootstrap(Collection<String> unitNames)
+    {
+        if (unitNames.isEmpty())
+        {
+            return;
+        }
+
+        ExecutorService executorService = Executors.newFixedThreadPool(
+            Math.min(unitNames.size(), Runtime.getRuntime().availableProcessors()), new ThreadFactory()
+            {
+                private final AtomicInteger counter = new AtomicInteger();
+
+                @Override
+                public Thread newThread(Runnable runnable)
+                {
+                    Thread thread = new Thread(runnable, "deltaspike-emf-bootstrap-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+
+        try
+        {
+            List<Future<EntityManagerFactory>> results = new ArrayList<Future<EntityManagerFactory>>();
+            for (final String unitName : unitNames)
+            {
+                results.add(executorService.submit(new Callable<EntityManagerFactory>()
+                {
+                    @Override
+                    public EntityManagerFactory call()
+                    {
+                        return getEntityManagerFactory(unitName);
+                    }
+                }));
+            }
+
+            for (Future<EntityManagerFactory> result : results)
+            {
+                result.get();
+            }
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while creating the EntityManagerFactories", e);
+        }
+        catch (ExecutionException e)
+        {
+            throw new IllegalStateException("Failed to create the EntityManagerFactories", e.getCause());
+        }
+        finally
+        {
+            executorService.shutdownNow();
+        }
+    }
+
+    @PreDestroy
+    protected void closeEntityManagerFactories()
+    {
+        for (FutureTask<EntityManagerFactory> entityManagerFactoryTask : entityManagerFactories.values())
+        {
+            try
+            {
+                if (!entityManagerFactoryTask.isDone())
+                {
+                    continue;
+                }
+
+                NonClosableEntityManagerFactory entityManagerFactory = (NonClosableEntityManagerFactory)
+                    Proxy.getInvocationHandler(entityManagerFactoryTask.get());
+                entityManagerFactory.closeDelegate();
+            }
+            catch (Exception e)
+            {
+                LOG.log(Level.FINE, "Failed to close EntityManagerFactory", e);
+            }
+        }
+        entityManagerFactories.clear();
+    }
+
+    private static FutureTask<EntityManagerFactory> createTask(final String unitName, final Properties properties)
+    {
+        return new FutureTask<EntityManagerFactory>(new Callable<EntityManagerFactory>()
+        {
+            @Override
+            public EntityManagerFactory call()
+            {
+                EntityManagerFactory entityManagerFactory =
+                    Persistence.createEntityManagerFactory(unitName, properties);
+
+                // all interfaces of the provider specific implementation to allow casts to e.g. SessionFactory
+                return (EntityManagerFactory) Proxy.newProxyInstance(
+                    entityManagerFactory.getClass().getClassLoader(),
+                    getPublicInterfaces(entityManagerFactory.getClass()),
+                    new NonClosableEntityManagerFactory(entityManagerFactory));
+            }
+        });
+    }
+
+    private static Class<?>[] getPublicInterfaces(Class<?> implementationClass)
+    {
+        Set<Class<?>> interfaces = new LinkedHashSet<Class<?>>();
+        interfaces.add(EntityManagerFactory.class);
+
+        for (Class<?> currentClass = implementationClass; currentClass != null;
+             currentClass = currentClass.getSuperclass())
+        {
+            for (Class<?> interfaceClass : currentClass.getInterfaces())
+            {
+                // a proxy can't implement non-public interfaces of different packages
+                if (Modifier.isPublic(interfaceClass.getModifiers()))
+                {
+                    interfaces.add(interfaceClass);
+                }
+            }
+        }
+        return interfaces.toArray(new Class<?>[interfaces.size()]);
+    }
+
+    /**
+     * Delegates to the shared EntityManagerFactory, but ignores {@link EntityManagerFactory#close()}
+     * since it's used by all injection points.
+     */
+    private static final class NonClosableEntityManagerFactory implements InvocationHandler
+    {
+        private final EntityManagerFactory delegate;
+
+        private NonClosableEntityManagerFactory(EntityManagerFactory delegate)
+        {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable
+        {
+            if (method.getParameterTypes().length == 0 && "close".equals(method.getName()))
+            {
+                return null;
+            }
+            if (method.getParameterTypes().length == 1 && "equals".equals(method.getName()))
+            {
+                return proxy == args[0];
+            }
+            if (method.getParameterTypes().length == 0 && "hashCode".equals(method.getName()))
+            {
+                return System.identityHashCode(proxy);
+            }
+            if (method.getParameterTypes().length == 1 && "unwrap".equals(method.getName()) &&
+                args[0] instanceof Class && ((Class<?>) args[0]).isInstance(proxy))
+            {
+                // don't leak the closable delegate if the shared factory already implements the requested type
+                return proxy;
+            }
+
+            try
+            {
+                return method.invoke(delegate, args);
+            }
+            catch (InvocationTargetException e)
+            {
+                throw e.getCause();
+            }
+        }
+
+        private void closeDelegate()
+        {
+            if (delegate.isOpen())
+            {
+                delegate.close();
+            }
+        }
+    }
+
+    private static final class FactoryKey
+    {
+        private final String unitName;
+        private final Properties properties;
+
+        private FactoryKey(String unitName, Properties properties)
+        {
+            this.unitName = unitName;
+            // a copy, since the original gets handed over to the persistence-provider
+            this.properties = new Properties();
+            if (properties != null)
+            {
+                this.properties.putAll(properties);
+            }
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (this == o)
+            {
+                return true;
+            }
+            if (!(o instanceof FactoryKey))
+            {
+                return false;
+            }
+
+            FactoryKey that = (FactoryKey) o;
+            return unitName.equals(that.unitName) && properties.equals(that.properties);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return 31 * unitName.hashCode() + properties.hashCode();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.jpa.impl.entitymanager;
+
+import org.apache.deltaspike.core.util.ClassUtils;
+
+import javax.persistence.EntityManager;
+import java.lang.reflect.Method;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Reads and changes a property of the Hibernate session of an {@link EntityManager} via reflection,
+ * so Hibernate isn't required at runtime.
+ *
+ * @param <T> type of the property
+ */
+public class HibernateSessionProperty<T>
+{
+    private static final Logger LOG = Logger.getLogger(HibernateSessionProperty.class.getName());
+
+    private static final String HIBERNATE_SESSION_CLASS_NAME = "org.hibernate.Session";
+
+    private final String getterName;
+    private final String setterName;
+    private final Class<T> propertyType;
+
+    private volatile SessionMethods sessionMethods;
+
+    /**
+     * @param getterName name of the getter of the property in org.hibernate.Session
+     * @param setterName name of the setter of the property in org.hibernate.Session
+     * @param propertyType parameter type of the setter
+     */
+    public HibernateSessionProperty(String getterName, String setterName, Class<T> propertyType)
+    {
+        this.getterName = getterName;
+        this.setterName = setterName;
+        this.propertyType = propertyType;
+    }
+
+    /**
+     * @param entityManager the current EntityManager
+     * @return the Hibernate session of the given EntityManager or <code>null</code> if Hibernate isn't used
+     *         or the property isn't supported by the Hibernate version
+     */
+    public Object unwrapSession(EntityManager entityManager)
+    {
+        SessionMethods methods = getSessionMethods();
+        if (methods == null)
+        {
+            return null;
+        }
+
+        try
+        {
+            return entityManager.unwrap(methods.sessionClass);
+        }
+        catch (Exception e)
+        {
+            //e.g. an EntityManager of a different provider
+            LOG.log(Level.FINE, "Cannot unwrap the hibernate session", e);
+            return null;
+        }
+    }
+
+    /**
+     * @param session a session returned by {@link #unwrapSession(EntityManager)}
+     */
+    @SuppressWarnings("unchecked")
+    public T get(Object session) throws Exception
+    {
+        return (T) sessionMethods.getter.invoke(session);
+    }
+
+    /**
+     * @param session a session returned by {@link #unwrapSession(EntityManager)}
+     */
+    public void set(Object session, T value) throws Exception
+    {
+        sessionMethods.setter.invoke(session, value);
+    }
+
+    private SessionMethods getSessionMethods()
+    {
+        SessionMethods result = sessionMethods;
+        if (result == null)
+        {
+            result = SessionMethods.NOT_AVAILABLE;
+
+            Class sessionClass = ClassUtils.tryToLoadClassForName(HIBERNATE_SESSION_CLASS_NAME);
+            if (sessionClass != null)
+            {
+                try
+                {
+                    result = new SessionMethods(sessionClass,
+                        sessionClass.getMethod(getterName),
+                        sessionClass.getMethod(setterName, propertyType));
+                }
+                catch (NoSuchMethodException e)
+                {
+                    LOG.log(Level.FINE, "Unsupported version of hibernate", e);
+                }
+            }
+            sessionMethods = result;
+        }
+        return result == SessionMethods.NOT_AVAILABLE ? null : result;
+    }
+
+    private static final class SessionMethods
+    {
+        private static final SessionMethods NOT_AVAILABLE = new SessionMethods(null, null, null);
+
+        private final Class<?> sessionClass;
+        private final Method getter;
+        private final Method setter;
+
+        private SessionMethods(Class<?> sessionClass, Method getter, Method setter)
+        {
+            this.sessionClass = sessionClass;
+            this.getter = getter;
+            this.setter = setter;
+        }
+    }
+}
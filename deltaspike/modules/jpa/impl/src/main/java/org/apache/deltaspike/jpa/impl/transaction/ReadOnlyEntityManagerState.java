@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.jpa.impl.transaction;
+
+import org.apache.deltaspike.jpa.api.config.base.JpaBaseConfig;
+import org.apache.deltaspike.jpa.impl.entitymanager.HibernateSessionProperty;
+
+import javax.persistence.EntityManager;
+import javax.persistence.FlushModeType;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Switches an {@link EntityManager} to a read-only mode for the duration of a read-only transaction
+ * and restores the previous settings afterwards.
+ *
+ * The flush-mode gets changed to {@link FlushModeType#COMMIT}, so queries don't trigger a flush
+ * (and a read-only transaction never gets committed).
+ * If {@link JpaBaseConfig.TransactionCustomization#READ_ONLY_PROVIDER_HINTS} is enabled and Hibernate is used,
+ * the session gets marked as read-only as well.
+ */
+class ReadOnlyEntityManagerState
+{
+    private static final Logger LOG = Logger.getLogger(ReadOnlyEntityManagerState.class.getName());
+
+    private static final HibernateSessionProperty<Boolean> DEFAULT_READ_ONLY =
+        new HibernateSessionProperty<Boolean>("isDefaultReadOnly", "setDefaultReadOnly", boolean.class);
+
+    private final EntityManager entityManager;
+    private final FlushModeType previousFlushMode;
+    private final Object hibernateSession;
+    private final boolean previousDefaultReadOnly;
+
+    private ReadOnlyEntityManagerState(EntityManager entityManager, FlushModeType previousFlushMode,
+                                       Object hibernateSession, boolean previousDefaultReadOnly)
+    {
+        this.entityManager = entityManager;
+        this.previousFlushMode = previousFlushMode;
+        this.hibernateSession = hibernateSession;
+        this.previousDefaultReadOnly = previousDefaultReadOnly;
+    }
+
+    static ReadOnlyEntityManagerState apply(EntityManager entityManager)
+    {
+        FlushModeType previousFlushMode = entityManager.getFlushMode();
+        entityManager.setFlushMode(FlushModeType.COMMIT);
+
+        Object hibernateSession = null;
+        boolean previousDefaultReadOnly = false;
+
+        if (JpaBaseConfig.TransactionCustomization.READ_ONLY_PROVIDER_HINTS)
+        {
+            Object session = DEFAULT_READ_ONLY.unwrapSession(entityManager);
+            if (session != null)
+            {
+                try
+                {
+                    previousDefaultReadOnly = DEFAULT_READ_ONLY.get(session);
+                    DEFAULT_READ_ONLY.set(session, Boolean.TRUE);
+                    hibernateSession = session;
+                }
+                catch (Exception e)
+                {
+                    LOG.log(Level.FINE, "Cannot mark the hibernate session as read-only", e);
+                }
+            }
+        }
+
+        return new ReadOnlyEntityManagerState(
+            entityManager, previousFlushMode, hibernateSession, previousDefaultReadOnly);
+    }
+
+    void restore()
+    {
+        try
+        {
+            if (hibernateSession != null)
+            {
+                DEFAULT_READ_ONLY.set(hibernateSession, previousDefaultReadOnly);
+            }
+
+            if (entityManager.isOpen())
+            {
+                entityManager.setFlushMode(previousFlushMode);
+            }
+        }
+        catch (Exception e)
+        {
+            LOG.log(Level.FINE, "Cannot restore the settings of the EntityManager", e);
+        }
+    }
+}
@@ -20,27 +20,24 @@ package org.apache.deltaspike.jpa.impl.transaction;
 
 
 import java.lang.annotation.Annotation;
-import java.util.Arrays;
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import javax.enterprise.context.Dependent;
 import javax.enterprise.inject.Default;
-import javax.enterprise.inject.spi.BeanManager;
 import javax.inject.Inject;
 import javax.interceptor.InvocationContext;
 import javax.persistence.EntityManager;
 import javax.persistence.EntityTransaction;
 
-import org.apache.deltaspike.core.util.ProxyUtils;
 import org.apache.deltaspike.jpa.api.transaction.Transactional;
-import org.apache.deltaspike.jpa.impl.entitymanager.EntityManagerMetadata;
 import org.apache.deltaspike.jpa.impl.transaction.context.EntityManagerEntry;
 import org.apache.deltaspike.jpa.impl.transaction.context.TransactionBeanStorage;
 import org.apache.deltaspike.jpa.spi.entitymanager.ActiveEntityManagerHolder;
-import org.apache.deltaspike.jpa.spi.entitymanager.QualifierBackedEntityManagerResolver;
 import org.apache.deltaspike.jpa.spi.transaction.TransactionStrategy;
 
 /**
@@ -67,8 +64,8 @@ public class ResourceLocalTransactionStrategy implements TransactionStrategy
 
     private static final Logger LOGGER = Logger.getLogger(ResourceLocalTransactionStrategy.class.getName());
 
-    @Inject
-    private BeanManager beanManager;
+    private static final Set<Class<? extends Annotation>> ACTIVE_ENTITY_MANAGER_QUALIFIERS =
+            Collections.<Class<? extends Annotation>>singleton(Default.class);
 
     @Inject
     private TransactionStrategyHelper transactionHelper;
@@ -79,15 +76,14 @@ public class ResourceLocalTransactionStrategy implements TransactionStrategy
     @Override
     public Object execute(InvocationContext invocationContext) throws Exception
     {
-        EntityManagerMetadata metadata = transactionHelper.createEntityManagerMetadata(invocationContext);
-        Transactional transactionalAnnotation = transactionHelper.extractTransactionalAnnotation(invocationContext);
-
-        Class targetClass = ProxyUtils.getUnproxiedClass(invocationContext.getTarget().getClass()); //see DELTASPIKE-517
+        TransactionMetadata metadata = transactionHelper.resolveTransactionMetadata(invocationContext);
+        Transactional transactionalAnnotation = metadata.getTransactionalAnnotation();
 
         // all the configured qualifier keys
         Set<Class<? extends Annotation>> emQualifiers = emHolder.isSet() ?
-                new HashSet<Class<? extends Annotation>>(Arrays.asList(Default.class)) :
-                transactionHelper.resolveEntityManagerQualifiers(metadata, targetClass);
+                ACTIVE_ENTITY_MANAGER_QUALIFIERS : metadata.getQualifiers();
+        boolean readOnly = metadata.isReadOnly() || isRollbackOnly(transactionalAnnotation);
+        List<ReadOnlyEntityManagerState> readOnlyStates = null;
 
         TransactionBeanStorage transactionBeanStorage = TransactionBeanStorage.getInstance();
 
@@ -123,6 +119,11 @@ public class ResourceLocalTransactionStrategy implements TransactionStrategy
                     startedTransaction = true;
                 }
 
+                if (readOnly && startedTransaction && isOutermostInterceptor)
+                {
+                    readOnlyStates = applyReadOnlyState(readOnlyStates, entityManagerEntry.getEntityManager());
+                }
+
                 //don't move it before EntityTransaction#begin() and invoke it in any case
                 beforeProceed(invocationContext, entityManagerEntry, transaction);
             }
@@ -188,7 +189,7 @@ public class ResourceLocalTransactionStrategy implements TransactionStrategy
                         Set<EntityManagerEntry> entityManagerEntryList =
                             transactionBeanStorage.getUsedEntityManagerEntries();
 
-                        boolean rollbackOnly = metadata.isReadOnly() || isRollbackOnly(transactionalAnnotation);
+                        boolean rollbackOnly = readOnly;
 
                         if (!rollbackOnly && entityManagerEntryList.size() > 1)
                         {
@@ -260,6 +261,7 @@ public class ResourceLocalTransactionStrategy implements TransactionStrategy
                         }
                     }
                 }
+                restoreReadOnlyStates(readOnlyStates);
                 // and now we close the open transaction scope
                 transactionBeanStorage.endTransactionScope();
                 onCloseTransactionScope();
@@ -274,6 +276,33 @@ public class ResourceLocalTransactionStrategy implements TransactionStrategy
         }
     }
 
+    /**
+     * A read-only transaction gets rolled back anyway, so there is no need to flush changes.
+     */
+    private static List<ReadOnlyEntityManagerState> applyReadOnlyState(List<ReadOnlyEntityManagerState> states,
+                                                                       EntityManager entityManager)
+    {
+        List<ReadOnlyEntityManagerState> result = states;
+        if (result == null)
+        {
+            result = new ArrayList<ReadOnlyEntityManagerState>();
+        }
+        result.add(ReadOnlyEntityManagerState.apply(entityManager));
+        return result;
+    }
+
+    private static void restoreReadOnlyStates(List<ReadOnlyEntityManagerState> states)
+    {
+        if (states != null)
+        {
+            // in reverse order, because the same EntityManager might be used for several qualifiers
+            for (int i = states.size() - 1; i >= 0; i--)
+            {
+                states.get(i).restore();
+            }
+        }
+    }
+
     protected void beforeBegin(InvocationContext invocationContext,
                                EntityManagerEntry entityManagerEntry,
                                EntityTransaction transaction)
@@ -374,7 +403,7 @@ public class ResourceLocalTransactionStrategy implements TransactionStrategy
         {
             return emHolder.get();
         }
-        return new QualifierBackedEntityManagerResolver(beanManager, emQualifier).resolveEntityManager();
+        return transactionHelper.resolveEntityManager(emQualifier);
     }
 
     /**
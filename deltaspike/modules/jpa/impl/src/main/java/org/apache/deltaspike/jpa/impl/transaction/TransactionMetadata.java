@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.jpa.impl.transaction;
+
+import org.apache.deltaspike.jpa.api.transaction.Transactional;
+
+import java.lang.annotation.Annotation;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Immutable transaction settings of an intercepted method.
+ * They only depend on the target class and the method, so they get resolved once and cached afterwards.
+ */
+public class TransactionMetadata
+{
+    private final Transactional transactionalAnnotation;
+    private final Set<Class<? extends Annotation>> qualifiers;
+    private final boolean readOnly;
+
+    public TransactionMetadata(Transactional transactionalAnnotation,
+                               Set<Class<? extends Annotation>> qualifiers,
+                               boolean readOnly)
+    {
+        this.transactionalAnnotation = transactionalAnnotation;
+        this.qualifiers = Collections.unmodifiableSet(new HashSet<Class<? extends Annotation>>(qualifiers));
+        this.readOnly = readOnly;
+    }
+
+    /**
+     * @return the &#064;Transactional annotation from either the method or class
+     *         or <code>null</code> if none present.
+     */
+    public Transactional getTransactionalAnnotation()
+    {
+        return transactionalAnnotation;
+    }
+
+    /**
+     * @return the qualifiers of the entity-managers which take part in the transaction
+     */
+    public Set<Class<? extends Annotation>> getQualifiers()
+    {
+        return qualifiers;
+    }
+
+    public boolean isReadOnly()
+    {
+        return readOnly;
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.jpa.impl.transaction;
+
+import org.apache.deltaspike.jpa.spi.entitymanager.QualifierBackedEntityManagerResolver;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.BeanManager;
+import javax.inject.Inject;
+import javax.persistence.EntityManager;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Caches the {@link TransactionMetadata} per intercepted class and method
+ * as well as the {@link EntityManager} beans per qualifier.
+ * Both only depend on the deployment, so they don't change at runtime.
+ */
+@ApplicationScoped
+public class TransactionMetadataCache
+{
+    private final ConcurrentMap<MethodKey, TransactionMetadata> transactionMetadata =
+        new ConcurrentHashMap<MethodKey, TransactionMetadata>();
+
+    private final ConcurrentMap<Class<? extends Annotation>, Bean<EntityManager>> entityManagerBeans =
+        new ConcurrentHashMap<Class<? extends Annotation>, Bean<EntityManager>>();
+
+    @Inject
+    private BeanManager beanManager;
+
+    /**
+     * @return the cached metadata or <code>null</code> if it wasn't resolved so far
+     */
+    public TransactionMetadata getTransactionMetadata(Class<?> targetClass, Method method)
+    {
+        return transactionMetadata.get(new MethodKey(targetClass, method));
+    }
+
+    public void putTransactionMetadata(Class<?> targetClass, Method method, TransactionMetadata metadata)
+    {
+        transactionMetadata.put(new MethodKey(targetClass, method), metadata);
+    }
+
+    /**
+     * @return the bean of the {@link EntityManager} with the given qualifier
+     * @throws IllegalStateException if there is no such bean
+     */
+    public Bean<EntityManager> getEntityManagerBean(Class<? extends Annotation> qualifier)
+    {
+        Bean<EntityManager> entityManagerBean = entityManagerBeans.get(qualifier);
+        if (entityManagerBean == null)
+        {
+            entityManagerBean = new QualifierBackedEntityManagerResolver(beanManager, qualifier)
+                .resolveEntityManagerBean();
+            entityManagerBeans.put(qualifier, entityManagerBean);
+        }
+        return entityManagerBean;
+    }
+
+    private static final class MethodKey
+    {
+        private final Class<?> targetClass;
+        private final Method method;
+
+        private MethodKey(Class<?> targetClass, Method method)
+        {
+            this.targetClass = targetClass;
+            this.method = method;
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (this == o)
+            {
+                return true;
+            }
+            if (!(o instanceof MethodKey))
+            {
+                return false;
+            }
+
+            MethodKey that = (MethodKey) o;
+            return targetClass.equals(that.targetClass) && method.equals(that.method);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return 31 * targetClass.hashCode() + method.hashCode();
+        }
+    }
+}
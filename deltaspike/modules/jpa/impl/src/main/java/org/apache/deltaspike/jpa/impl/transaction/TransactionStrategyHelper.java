@@ -19,12 +19,14 @@
 package org.apache.deltaspike.jpa.impl.transaction;
 
 import org.apache.deltaspike.core.util.AnnotationUtils;
+import org.apache.deltaspike.core.util.ProxyUtils;
 import org.apache.deltaspike.jpa.api.transaction.Transactional;
 import org.apache.deltaspike.jpa.impl.entitymanager.EntityManagerMetadata;
 
 import javax.enterprise.context.Dependent;
 import javax.enterprise.inject.Any;
 import javax.enterprise.inject.Default;
+import javax.enterprise.inject.spi.Bean;
 import javax.enterprise.inject.spi.BeanManager;
 import javax.inject.Inject;
 import javax.interceptor.InvocationContext;
@@ -48,6 +50,49 @@ public class TransactionStrategyHelper implements Serializable
     @Inject
     private BeanManager beanManager;
 
+    @Inject
+    private TransactionMetadataCache transactionMetadataCache;
+
+    /**
+     * Resolves the transaction settings of the intercepted method once and returns the cached ones afterwards.
+     *
+     * @param context the InvocationContext of the intercepted method
+     * @return the transaction settings of the intercepted method
+     */
+    public TransactionMetadata resolveTransactionMetadata(InvocationContext context)
+    {
+        Class targetClass = context.getTarget() != null ? context.getTarget().getClass() :
+            context.getMethod().getDeclaringClass();
+
+        TransactionMetadata transactionMetadata =
+            transactionMetadataCache.getTransactionMetadata(targetClass, context.getMethod());
+
+        if (transactionMetadata == null)
+        {
+            EntityManagerMetadata entityManagerMetadata = createEntityManagerMetadata(context);
+            Set<Class<? extends Annotation>> emQualifiers = resolveEntityManagerQualifiers(
+                entityManagerMetadata, ProxyUtils.getUnproxiedClass(targetClass)); //see DELTASPIKE-517
+
+            transactionMetadata = new TransactionMetadata(
+                extractTransactionalAnnotation(context), emQualifiers, entityManagerMetadata.isReadOnly());
+            transactionMetadataCache.putTransactionMetadata(targetClass, context.getMethod(), transactionMetadata);
+        }
+        return transactionMetadata;
+    }
+
+    /**
+     * @param qualifier the qualifier of the EntityManager
+     * @return the contextual reference of the EntityManager with the given qualifier
+     * @throws IllegalStateException if there is no such EntityManager
+     */
+    public EntityManager resolveEntityManager(Class<? extends Annotation> qualifier)
+    {
+        Bean<EntityManager> entityManagerBean = transactionMetadataCache.getEntityManagerBean(qualifier);
+
+        return (EntityManager) beanManager.getReference(entityManagerBean, EntityManager.class,
+            beanManager.createCreationalContext(entityManagerBean));
+    }
+
     /**
      * <p>This method uses the InvocationContext to scan the &#064;Transactional
      * interceptor for a manually specified Qualifier.</p>
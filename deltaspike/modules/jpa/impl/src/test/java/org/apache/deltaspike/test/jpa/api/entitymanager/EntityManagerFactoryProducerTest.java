@@ -20,8 +20,13 @@ package org.apache.deltaspike.test.jpa.api.entitymanager;
 
 import javax.inject.Inject;
 import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
 import javax.persistence.spi.PersistenceProviderResolverHolder;
+import java.util.Arrays;
+import java.util.List;
 
+import org.apache.deltaspike.jpa.api.entitymanager.PersistenceUnitName;
+import org.apache.deltaspike.jpa.impl.entitymanager.EntityManagerFactoryRegistry;
 import org.apache.deltaspike.jpa.spi.entitymanager.PersistenceConfigurationProvider;
 import org.apache.deltaspike.test.category.SeCategory;
 import org.apache.deltaspike.test.jpa.api.shared.TestEntityManager;
@@ -70,6 +75,17 @@ public class EntityManagerFactoryProducerTest
 
     private @Inject PersistenceConfigurationProvider persistenceConfigurationProvider;
 
+    @Inject
+    @PersistenceUnitName("testPersistenceUnit")
+    private EntityManagerFactory entityManagerFactory;
+
+    @Inject
+    @PersistenceUnitName("testPersistenceUnit")
+    private EntityManagerFactory otherEntityManagerFactory;
+
+    @Inject
+    private EntityManagerFactoryRegistry entityManagerFactoryRegistry;
+
     @Test
     public void testUnitDefinitionQualifier() throws Exception
     {
@@ -80,4 +96,56 @@ public class EntityManagerFactoryProducerTest
         TestEntityManager tem = (TestEntityManager) entityManager.getDelegate();
         Assert.assertEquals("testPersistenceUnit", tem.getUnitName());
     }
+
+    @Test
+    public void testSharedEntityManagerFactory()
+    {
+        Assert.assertTrue(entityManagerFactory.isOpen());
+        Assert.assertSame(entityManagerFactory, otherEntityManagerFactory);
+    }
+
+    @Test
+    public void testSharedEntityManagerFactoryIsNotClosable()
+    {
+        entityManagerFactory.close();
+
+        Assert.assertTrue(entityManagerFactory.isOpen());
+        Assert.assertSame(entityManagerFactory,
+                entityManagerFactoryRegistry.getEntityManagerFactory("testPersistenceUnit"));
+    }
+
+    @Test
+    public void testSharedEntityManagerFactoryKeepsProviderSpecificTypes()
+    {
+        Assert.assertTrue(entityManagerFactory instanceof TestPersistenceProviderResolver.DummySessionFactory);
+
+        TestPersistenceProviderResolver.DummySessionFactory sessionFactory =
+                (TestPersistenceProviderResolver.DummySessionFactory) entityManagerFactory;
+        Assert.assertEquals("testPersistenceUnit", sessionFactory.getUnitName());
+
+        // the shared instance gets returned if it implements the requested type already
+        Assert.assertSame(entityManagerFactory,
+                sessionFactory.unwrap(TestPersistenceProviderResolver.DummySessionFactory.class));
+        Assert.assertTrue(sessionFactory.unwrap(TestPersistenceProviderResolver.DummyEntityManagerFactory.class)
+                instanceof TestPersistenceProviderResolver.DummyEntityManagerFactory);
+    }
+
+    @Test
+    public void testEagerBootstrap()
+    {
+        List<String> unitNames = Arrays.asList("bootstrapUnit1", "bootstrapUnit2", "bootstrapUnit3");
+
+        entityManagerFactoryRegistry.bootstrap(unitNames);
+
+        for (String unitName : unitNames)
+        {
+            Assert.assertEquals(1, TestPersistenceProviderResolver.DummyPersistenceProvider
+                    .getCreatedFactoryCount(unitName));
+
+            // the factory created during the bootstrap gets reused
+            Assert.assertTrue(entityManagerFactoryRegistry.getEntityManagerFactory(unitName).isOpen());
+            Assert.assertEquals(1, TestPersistenceProviderResolver.DummyPersistenceProvider
+                    .getCreatedFactoryCount(unitName));
+        }
+    }
 }
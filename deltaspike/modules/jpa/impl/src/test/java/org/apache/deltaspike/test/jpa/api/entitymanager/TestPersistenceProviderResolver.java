@@ -22,6 +22,7 @@ import javax.enterprise.inject.Typed;
 import javax.persistence.Cache;
 import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceException;
 import javax.persistence.PersistenceUnitUtil;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.metamodel.Metamodel;
@@ -32,6 +33,9 @@ import javax.persistence.spi.ProviderUtil;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.deltaspike.test.jpa.api.shared.TestEntityManager;
 
@@ -64,6 +68,9 @@ public class TestPersistenceProviderResolver implements PersistenceProviderResol
     @Typed()
     public static class DummyPersistenceProvider implements PersistenceProvider
     {
+        private static final ConcurrentMap<String, AtomicInteger> CREATED_FACTORIES =
+                new ConcurrentHashMap<String, AtomicInteger>();
+
         @Override
         public EntityManagerFactory createContainerEntityManagerFactory(PersistenceUnitInfo info, Map map)
         {
@@ -73,6 +80,8 @@ public class TestPersistenceProviderResolver implements PersistenceProviderResol
         @Override
         public EntityManagerFactory createEntityManagerFactory(String emName, Map map)
         {
+            CREATED_FACTORIES.putIfAbsent(emName, new AtomicInteger());
+            CREATED_FACTORIES.get(emName).incrementAndGet();
             return new DummyEntityManagerFactory(emName, map);
         }
 
@@ -81,13 +90,33 @@ public class TestPersistenceProviderResolver implements PersistenceProviderResol
         {
             return null;  
         }
+
+        /**
+         * @return how often an EntityManagerFactory got created for the given persistence-unit
+         */
+        public static int getCreatedFactoryCount(String emName)
+        {
+            AtomicInteger count = CREATED_FACTORIES.get(emName);
+            return count != null ? count.get() : 0;
+        }
+    }
+
+    /**
+     * Simulates a provider specific type like the SessionFactory of Hibernate.
+     */
+    public interface DummySessionFactory
+    {
+        String getUnitName();
+
+        <T> T unwrap(Class<T> type);
     }
 
     @Typed()
-    public static class DummyEntityManagerFactory implements EntityManagerFactory
+    public static class DummyEntityManagerFactory implements EntityManagerFactory, DummySessionFactory
     {
         private final String emName;
         private final Map map;
+        private boolean open = true;
 
         public DummyEntityManagerFactory()
         {
@@ -106,6 +135,7 @@ public class TestPersistenceProviderResolver implements PersistenceProviderResol
         @Override
         public void close()
         {
+            open = false;
         }
 
         @Override
@@ -135,7 +165,7 @@ public class TestPersistenceProviderResolver implements PersistenceProviderResol
         @Override
         public boolean isOpen()
         {
-            return false;  
+            return open;
         }
 
         @Override
@@ -155,5 +185,21 @@ public class TestPersistenceProviderResolver implements PersistenceProviderResol
         {
             return null;  
         }
+
+        @Override
+        public String getUnitName()
+        {
+            return emName;
+        }
+
+        @Override
+        public <T> T unwrap(Class<T> type)
+        {
+            if (type.isInstance(this))
+            {
+                return type.cast(this);
+            }
+            throw new PersistenceException("Unsupported type " + type);
+        }
     }
 }
@@ -38,6 +38,7 @@ public class TestEntityManager implements EntityManager
 
     private boolean open = true;
     private boolean flushed = false;
+    private FlushModeType flushMode = FlushModeType.AUTO;
     private String unitName = null;
 
     public TestEntityManager()
@@ -111,13 +112,13 @@ public class TestEntityManager implements EntityManager
     @Override
     public void setFlushMode(FlushModeType flushMode)
     {
-        throw new IllegalStateException("not implemented");
+        this.flushMode = flushMode;
     }
 
     @Override
     public FlushModeType getFlushMode()
     {
-        throw new IllegalStateException("not implemented");
+        return flushMode;
     }
 
     @Override
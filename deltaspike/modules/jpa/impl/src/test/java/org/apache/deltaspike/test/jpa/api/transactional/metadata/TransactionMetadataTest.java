@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.test.jpa.api.transactional.metadata;
+
+import org.apache.deltaspike.core.api.projectstage.ProjectStage;
+import org.apache.deltaspike.core.util.ProjectStageProducer;
+import org.apache.deltaspike.core.util.interceptor.AbstractInvocationContext;
+import org.apache.deltaspike.jpa.impl.transaction.TransactionMetadata;
+import org.apache.deltaspike.jpa.impl.transaction.TransactionMetadataCache;
+import org.apache.deltaspike.jpa.impl.transaction.TransactionStrategyHelper;
+import org.apache.deltaspike.jpa.impl.transaction.context.TransactionContextExtension;
+import org.apache.deltaspike.test.category.SeCategory;
+import org.apache.deltaspike.test.jpa.api.shared.First;
+import org.apache.deltaspike.test.jpa.api.shared.Second;
+import org.apache.deltaspike.test.util.ArchiveUtils;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.EmptyAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.jboss.shrinkwrap.api.spec.WebArchive;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import javax.enterprise.inject.Default;
+import javax.enterprise.inject.spi.Extension;
+import javax.inject.Inject;
+import javax.interceptor.InvocationContext;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+@RunWith(Arquillian.class)
+@Category(SeCategory.class)
+public class TransactionMetadataTest
+{
+    @Inject
+    private TransactionStrategyHelper transactionStrategyHelper;
+
+    @Inject
+    private TransactionMetadataCache transactionMetadataCache;
+
+    @Deployment
+    public static WebArchive deploy()
+    {
+        JavaArchive testJar = ShrinkWrap.create(JavaArchive.class, "transactionMetadataTest.jar")
+                .addPackage(ArchiveUtils.SHARED_PACKAGE)
+                .addPackage(TransactionMetadataTest.class.getPackage().getName())
+                .addAsManifestResource(EmptyAsset.INSTANCE, "beans.xml");
+
+        return ShrinkWrap.create(WebArchive.class)
+                .addAsLibraries(ArchiveUtils.getDeltaSpikeCoreAndJpaArchive())
+                .addAsLibraries(testJar)
+                .addAsServiceProvider(Extension.class, TransactionContextExtension.class)
+                .addAsWebInfResource(ArchiveUtils.getBeansXml(), "beans.xml");
+    }
+
+    @Before
+    public void init()
+    {
+        ProjectStageProducer.setProjectStage(ProjectStage.UnitTest);
+    }
+
+    @Test
+    public void metadataIsCached() throws Exception
+    {
+        MethodLevelTransactionalBean target = new MethodLevelTransactionalBean();
+        Method method = MethodLevelTransactionalBean.class.getMethod("executeInTransaction");
+
+        TransactionMetadata metadata =
+                transactionStrategyHelper.resolveTransactionMetadata(createInvocationContext(target, method));
+
+        Assert.assertSame(metadata,
+                transactionStrategyHelper.resolveTransactionMetadata(createInvocationContext(target, method)));
+        Assert.assertSame(metadata, transactionStrategyHelper.resolveTransactionMetadata(
+                createInvocationContext(new MethodLevelTransactionalBean(), method)));
+        Assert.assertSame(metadata,
+                transactionMetadataCache.getTransactionMetadata(MethodLevelTransactionalBean.class, method));
+    }
+
+    @Test
+    public void classLevelTransactional() throws Exception
+    {
+        TransactionMetadata metadata = resolve(new ClassLevelTransactionalBean(), "executeInTransaction");
+
+        Assert.assertNotNull(metadata.getTransactionalAnnotation());
+        Assert.assertEquals(qualifiers(First.class), metadata.getQualifiers());
+        Assert.assertTrue(metadata.isReadOnly());
+    }
+
+    @Test
+    public void methodLevelTransactionalOverridesReadOnly() throws Exception
+    {
+        TransactionMetadata metadata = resolve(new ClassLevelTransactionalBean(), "executeInWritableTransaction");
+
+        // the qualifiers of the class-level annotation are kept
+        Assert.assertEquals(qualifiers(First.class), metadata.getQualifiers());
+        Assert.assertFalse(metadata.isReadOnly());
+    }
+
+    @Test
+    public void methodLevelTransactionalWithInjectedEntityManagers() throws Exception
+    {
+        // without a qualifier the ones of the injected EntityManagers are used
+        TransactionMetadata metadata = resolve(new MethodLevelTransactionalBean(), "executeInTransaction");
+
+        Assert.assertNotNull(metadata.getTransactionalAnnotation());
+        Assert.assertEquals(qualifiers(Default.class, First.class), metadata.getQualifiers());
+        Assert.assertTrue(metadata.isReadOnly());
+    }
+
+    @Test
+    public void methodLevelTransactionalWithQualifier() throws Exception
+    {
+        TransactionMetadata metadata = resolve(new MethodLevelTransactionalBean(), "executeInQualifiedTransaction");
+
+        Assert.assertEquals(qualifiers(Second.class), metadata.getQualifiers());
+        Assert.assertFalse(metadata.isReadOnly());
+    }
+
+    private TransactionMetadata resolve(Object target, String methodName) throws NoSuchMethodException
+    {
+        Method method = target.getClass().getMethod(methodName);
+        return transactionStrategyHelper.resolveTransactionMetadata(createInvocationContext(target, method));
+    }
+
+    private static Set<Class<? extends Annotation>> qualifiers(Class<? extends Annotation>... qualifiers)
+    {
+        return new HashSet<Class<? extends Annotation>>(Arrays.asList(qualifiers));
+    }
+
+    private static InvocationContext createInvocationContext(Object target, Method method)
+    {
+        return new AbstractInvocationContext<Object>(target, method, new Object[0], null)
+        {
+            @Override
+            public Object proceed() throws Exception
+            {
+                return null;
+            }
+        };
+    }
+}
@@ -25,6 +25,7 @@ import org.apache.deltaspike.test.jpa.api.shared.Second;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 import javax.persistence.EntityManager;
+import javax.persistence.FlushModeType;
 
 @ApplicationScoped
 public class MultiTransactionBean
@@ -38,8 +39,16 @@ public class MultiTransactionBean
     @Inject
     private @Second EntityManager secondEntityManager;
 
+    private FlushModeType flushModeInTransaction;
+
     @Transactional(readOnly = true)
     public void executeInTransaction()
     {
+        flushModeInTransaction = defaultEntityManager.getFlushMode();
+    }
+
+    public FlushModeType getFlushModeInTransaction()
+    {
+        return flushModeInTransaction;
     }
 }
@@ -40,6 +40,7 @@ import org.junit.runner.RunWith;
 
 import javax.enterprise.inject.spi.Extension;
 import javax.inject.Inject;
+import javax.persistence.FlushModeType;
 
 //different classes needed due to arquillian restriction
 @RunWith(Arquillian.class)
@@ -109,6 +110,11 @@ public class MultipleEntityManagerInjectionReadOnlyTest
 
         multiTransactionBean.executeInTransaction();
 
+        Assert.assertEquals(FlushModeType.COMMIT, multiTransactionBean.getFlushModeInTransaction());
+        Assert.assertEquals(FlushModeType.AUTO, defaultEntityManager.getFlushMode());
+        Assert.assertEquals(FlushModeType.AUTO, firstEntityManager.getFlushMode());
+        Assert.assertEquals(FlushModeType.AUTO, secondEntityManager.getFlushMode());
+
         Assert.assertEquals(false, defaultEntityManager.isFlushed());
         Assert.assertEquals(false, defaultTransaction.isActive());
         Assert.assertEquals(true, defaultTransaction.isStarted());
@@ -68,4 +68,14 @@ public class PersistenceUnitDescriptorParserTest
         Assert.assertEquals(MappedOne.class,
             descriptors.get(0).getEntityDescriptors().get(0).getEntityClass());
     }
+
+    @Test
+    public void testTransactionType() throws IOException
+    {
+        // jta-data-source without transaction-type
+        Assert.assertEquals("JTA", descriptors.get(0).getTransactionType());
+        Assert.assertEquals("RESOURCE_LOCAL", descriptors.get(1).getTransactionType());
+        Assert.assertEquals("RESOURCE_LOCAL", descriptors.get(2).getTransactionType());
+        Assert.assertEquals("JTA", descriptors.get(3).getTransactionType());
+    }
 }
@@ -19,6 +19,7 @@
 package org.apache.deltaspike.test.jpa.spi.descriptor.xml;
 
 import java.io.IOException;
+import java.util.Arrays;
 import junit.framework.Assert;
 import org.apache.deltaspike.jpa.spi.descriptor.xml.PersistenceUnitDescriptorProvider;
 import org.junit.Before;
@@ -40,4 +41,12 @@ public class PersistenceUnitDescriptorProviderTest
         Assert.assertNotNull(ids);
         Assert.assertEquals(1, ids.length);
     }
+
+    @Test
+    public void testResourceLocalPersistenceUnitNames()
+    {
+        // JTA units are skipped by the eager bootstrap
+        Assert.assertEquals(Arrays.asList("test2", "test3"),
+            PersistenceUnitDescriptorProvider.getInstance().getResourceLocalPersistenceUnitNames());
+    }
 }
@@ -24,7 +24,9 @@ import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import javax.enterprise.inject.Stereotype;
 import javax.enterprise.inject.spi.BeanManager;
+import javax.interceptor.InterceptorBinding;
 
 import org.apache.deltaspike.core.util.ClassUtils;
 import org.apache.deltaspike.core.util.ReflectionUtils;
@@ -35,6 +37,20 @@ public abstract class DeltaSpikeProxyFactory
 {
     private static final String SUPER_ACCESSOR_METHOD_SUFFIX = "$super";
 
+    private static final int PROXY_CLASS_LOCK_STRIPES = 64;
+
+    // striped by the proxy class name, so mostly only the generation of the same proxy class gets serialized
+    // while the number of locks stays bounded
+    private final Object[] proxyClassLocks = new Object[PROXY_CLASS_LOCK_STRIPES];
+
+    protected DeltaSpikeProxyFactory()
+    {
+        for (int i = 0; i < proxyClassLocks.length; i++)
+        {
+            proxyClassLocks[i] = new Object();
+        }
+    }
+
     private <T> Class<T> resolveAlreadyDefinedProxyClass(Class<T> targetClass)
     {
         Class<T> proxyClass = ClassUtils.tryToLoadClassForName(constructProxyClassName(targetClass),
@@ -44,59 +60,106 @@ public abstract class DeltaSpikeProxyFactory
         return proxyClass;
     }
     
+    /**
+     * Returns the proxy class for the given class.
+     * A proxy class which got generated ahead of time (see {@link #generateProxyClassBytes(BeanManager, Class)})
+     * and is visible to the {@link ClassLoader} of the target class gets used as it is,
+     * otherwise it gets generated now.
+     */
     public <T> Class<T> getProxyClass(BeanManager beanManager, Class<T> targetClass)
     {
         // check if a proxy is already defined for this class
         Class<T> proxyClass = resolveAlreadyDefinedProxyClass(targetClass);
         if (proxyClass == null)
         {
-            proxyClass = createProxyClass(beanManager, targetClass.getClassLoader(), targetClass);
+            synchronized (getProxyClassLock(targetClass))
+            {
+                proxyClass = resolveAlreadyDefinedProxyClass(targetClass);
+                if (proxyClass == null)
+                {
+                    proxyClass = createProxyClass(beanManager, targetClass.getClassLoader(), targetClass);
+                }
+            }
         }
 
         return proxyClass;
     }
 
-    private synchronized <T> Class<T> createProxyClass(BeanManager beanManager, ClassLoader classLoader,
-            Class<T> targetClass)
+    /**
+     * Generates the bytecode of the proxy class for the given class ahead of time, e.g. during the build.
+     * If the resulting class file gets packaged next to the target class, {@link #getProxyClass} picks it up
+     * instead of generating the proxy class at runtime.
+     *
+     * @param beanManager The {@link BeanManager} to detect interceptor bindings. If it is {@code null},
+     *                    only annotations which are annotated with {@link InterceptorBinding} (directly or via a
+     *                    {@link Stereotype}) are detected, so bindings which get added by extensions are missed.
+     * @param targetClass The class to proxy.
+     * @return The bytecode of the proxy class.
+     */
+    public byte[] generateProxyClassBytes(BeanManager beanManager, Class<?> targetClass)
     {
-        Class<T> proxyClass = resolveAlreadyDefinedProxyClass(targetClass);
-        if (proxyClass == null)
+        DeltaSpikeProxyClassGenerator proxyClassGenerator = DeltaSpikeProxyClassGeneratorHolder.lookup();
+
+        return proxyClassGenerator.generateProxyClassBytes(targetClass,
+                getProxyClassSuffix(),
+                SUPER_ACCESSOR_METHOD_SUFFIX,
+                getAdditionalInterfacesToImplement(targetClass),
+                getDelegateMethods(targetClass),
+                getInterceptMethods(beanManager, targetClass));
+    }
+
+    /**
+     * @return The name of the proxy class for the given class.
+     */
+    public String getProxyClassName(Class<?> targetClass)
+    {
+        return constructProxyClassName(targetClass);
+    }
+
+    private Object getProxyClassLock(Class<?> targetClass)
+    {
+        int hash = constructProxyClassName(targetClass).hashCode();
+        return proxyClassLocks[Math.floorMod(hash ^ (hash >>> 16), proxyClassLocks.length)];
+    }
+
+    private <T> Class<T> createProxyClass(BeanManager beanManager, ClassLoader classLoader, Class<T> targetClass)
+    {
+        DeltaSpikeProxyClassGenerator proxyClassGenerator = DeltaSpikeProxyClassGeneratorHolder.lookup();
+
+        return proxyClassGenerator.generateProxyClass(classLoader,
+                targetClass,
+                getProxyClassSuffix(),
+                SUPER_ACCESSOR_METHOD_SUFFIX,
+                getAdditionalInterfacesToImplement(targetClass),
+                getDelegateMethods(targetClass),
+                getInterceptMethods(beanManager, targetClass));
+    }
+
+    private Method[] getInterceptMethods(BeanManager beanManager, Class<?> targetClass)
+    {
+        ArrayList<Method> allMethods = collectAllMethods(targetClass);
+        ArrayList<Method> interceptMethods = filterInterceptMethods(targetClass, allMethods);
+
+        // check if a interceptor is defined on class level. if not, skip interceptor methods
+        if (interceptMethods != null
+                && !interceptMethods.isEmpty()
+                && !containsInterceptorBinding(beanManager, targetClass.getDeclaredAnnotations()))
         {
-            ArrayList<Method> allMethods = collectAllMethods(targetClass);
-            ArrayList<Method> interceptMethods = filterInterceptMethods(targetClass, allMethods);
-            Method[] delegateMethods = getDelegateMethods(targetClass);
-
-            // check if a interceptor is defined on class level. if not, skip interceptor methods
-            if (interceptMethods != null
-                    && !interceptMethods.isEmpty()
-                    && !containsInterceptorBinding(beanManager, targetClass.getDeclaredAnnotations()))
+            // loop every method and check if a interceptor is defined on the method -> otherwise don't overwrite
+            // interceptMethods
+            Iterator<Method> iterator = interceptMethods.iterator();
+            while (iterator.hasNext())
             {
-                // loop every method and check if a interceptor is defined on the method -> otherwise don't overwrite
-                // interceptMethods
-                Iterator<Method> iterator = interceptMethods.iterator();
-                while (iterator.hasNext())
+                Method method = iterator.next();
+                if (!containsInterceptorBinding(beanManager, method.getDeclaredAnnotations()))
                 {
-                    Method method = iterator.next();
-                    if (!containsInterceptorBinding(beanManager, method.getDeclaredAnnotations()))
-                    {
-                        iterator.remove();
-                    }
+                    iterator.remove();
                 }
             }
-
-            DeltaSpikeProxyClassGenerator proxyClassGenerator = DeltaSpikeProxyClassGeneratorHolder.lookup();
-
-            proxyClass = proxyClassGenerator.generateProxyClass(classLoader,
-                    targetClass,
-                    getProxyClassSuffix(),
-                    SUPER_ACCESSOR_METHOD_SUFFIX,
-                    getAdditionalInterfacesToImplement(targetClass),
-                    delegateMethods,
-                    interceptMethods == null ? new Method[0]
-                            : interceptMethods.toArray(new Method[interceptMethods.size()]));
         }
 
-        return proxyClass;
+        return interceptMethods == null ? new Method[0]
+                : interceptMethods.toArray(new Method[interceptMethods.size()]);
     }
 
     private boolean containsInterceptorBinding(BeanManager beanManager, Annotation[] annotations)
@@ -105,12 +168,12 @@ public abstract class DeltaSpikeProxyFactory
         {            
             Class<? extends Annotation> annotationType = annotation.annotationType();
             
-            if (beanManager.isInterceptorBinding(annotationType))
+            if (isInterceptorBinding(beanManager, annotationType))
             {
                 return true;
             }
 
-            if (beanManager.isStereotype(annotationType))
+            if (isStereotype(beanManager, annotationType))
             {                
                 boolean containsInterceptorBinding = containsInterceptorBinding(
                         beanManager,
@@ -125,6 +188,24 @@ public abstract class DeltaSpikeProxyFactory
         
         return false;
     }
+
+    private static boolean isInterceptorBinding(BeanManager beanManager, Class<? extends Annotation> annotationType)
+    {
+        if (beanManager == null)
+        {
+            return annotationType.isAnnotationPresent(InterceptorBinding.class);
+        }
+        return beanManager.isInterceptorBinding(annotationType);
+    }
+
+    private static boolean isStereotype(BeanManager beanManager, Class<? extends Annotation> annotationType)
+    {
+        if (beanManager == null)
+        {
+            return annotationType.isAnnotationPresent(Stereotype.class);
+        }
+        return beanManager.isStereotype(annotationType);
+    }
         
     private String constructProxyClassName(Class<?> clazz)
     {
@@ -48,4 +48,21 @@ public interface DeltaSpikeProxyClassGenerator
                                     Class<?>[] additionalInterfaces,
                                     java.lang.reflect.Method[] delegateMethods,
                                     java.lang.reflect.Method[] interceptMethods);
+
+    /**
+     * Generates the bytecode of a proxy class without defining it, e.g. to generate the proxy classes
+     * ahead of time. The parameters are the same as for {@link #generateProxyClass}.
+     *
+     * @return The bytecode of the proxy class.
+     */
+    default byte[] generateProxyClassBytes(Class<?> targetClass,
+                                           String suffix,
+                                           String superAccessorMethodSuffix,
+                                           Class<?>[] additionalInterfaces,
+                                           java.lang.reflect.Method[] delegateMethods,
+                                           java.lang.reflect.Method[] interceptMethods)
+    {
+        throw new UnsupportedOperationException(
+                getClass().getName() + " doesn't support generating proxy classes ahead of time");
+    }
 }
@@ -0,0 +1,38 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.proxy.spi;
+
+/**
+ * Optional interface of a {@link DeltaSpikeProxy} which can invoke the original implementation
+ * of its intercepted methods without reflection.
+ * Proxies which don't implement it get their super accessor methods invoked reflectively.
+ */
+public interface DeltaSpikeProxySuperAccessor
+{
+    /**
+     * Invokes the original implementation of an intercepted method without any reflection.
+     *
+     * @param superAccessorIndex the index which got passed by the proxy method to
+     *        {@link org.apache.deltaspike.proxy.spi.invocation.DeltaSpikeProxyInvocationHandler#invoke}
+     * @param parameters the method parameters
+     * @return the return value of the original method, boxed if it is a primitive
+     * @throws Throwable the exception thrown by the original method
+     */
+    Object invokeSuper(int superAccessorIndex, Object[] parameters) throws Throwable;
+}
@@ -21,9 +21,10 @@ package org.apache.deltaspike.proxy.spi.invocation;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.inject.spi.BeanManager;
 import javax.enterprise.inject.spi.InterceptionType;
@@ -32,20 +33,40 @@ import org.apache.deltaspike.core.api.provider.BeanManagerProvider;
 
 /**
  * Utility which stores the information about configured interceptors for each method.
+ *
+ * The interceptor chain of a method gets resolved once per proxy class and is immutable afterwards,
+ * so it can be shared by all the concurrent invocations.
  */
 @ApplicationScoped
 public class DeltaSpikeProxyInterceptorLookup
 {
-    private final Map<Method, List<Interceptor<?>>> cache = new HashMap<>();
+    // the class level interceptor bindings depend on the proxy class, so the chains are cached per class
+    private final ConcurrentMap<Class<?>, ConcurrentMap<Method, List<Interceptor<?>>>> cache =
+            new ConcurrentHashMap<>();
     
     public List<Interceptor<?>> lookup(Object instance, Method method)
     {
-        List<Interceptor<?>> interceptors = cache.get(method);
-        
+        Class<?> proxyClass = instance.getClass();
+        ConcurrentMap<Method, List<Interceptor<?>>> classCache = cache.get(proxyClass);
+        if (classCache == null)
+        {
+            classCache = new ConcurrentHashMap<>();
+            ConcurrentMap<Method, List<Interceptor<?>>> existing = cache.putIfAbsent(proxyClass, classCache);
+            if (existing != null)
+            {
+                classCache = existing;
+            }
+        }
+
+        List<Interceptor<?>> interceptors = classCache.get(method);
         if (interceptors == null)
         {
             interceptors = resolveInterceptors(instance, method);
-            cache.put(method, interceptors);
+            List<Interceptor<?>> existing = classCache.putIfAbsent(method, interceptors);
+            if (existing != null)
+            {
+                interceptors = existing;
+            }
         }
         
         return interceptors;
@@ -58,10 +79,15 @@ public class DeltaSpikeProxyInterceptorLookup
         Annotation[] interceptorBindings = extractInterceptorBindings(beanManager, instance, method);
         if (interceptorBindings.length > 0)
         {
-            return beanManager.resolveInterceptors(InterceptionType.AROUND_INVOKE, interceptorBindings);
+            List<Interceptor<?>> interceptors =
+                    beanManager.resolveInterceptors(InterceptionType.AROUND_INVOKE, interceptorBindings);
+            if (!interceptors.isEmpty())
+            {
+                return Collections.unmodifiableList(new ArrayList<>(interceptors));
+            }
         }
 
-        return new ArrayList<>();
+        return Collections.emptyList();
     }
 
     private Annotation[] extractInterceptorBindings(BeanManager beanManager, Object instance, Method method)
@@ -38,6 +38,7 @@ public class DeltaSpikeProxyInvocationContext<T, H> extends AbstractInvocationCo
     protected List<Interceptor<H>> interceptors;
     protected int interceptorIndex;
     protected DeltaSpikeProxyInvocationHandler invocationHandler;
+    protected int superAccessorIndex;
 
     protected BeanManager beanManager;
 
@@ -47,12 +48,21 @@ public class DeltaSpikeProxyInvocationContext<T, H> extends AbstractInvocationCo
     public DeltaSpikeProxyInvocationContext(DeltaSpikeProxyInvocationHandler invocationHandler,
             BeanManager beanManager, List<Interceptor<H>> interceptors, 
             T target, Method method, Object[] parameters, Object timer)
+    {
+        this(invocationHandler, beanManager, interceptors, target, method, parameters, timer,
+                DeltaSpikeProxyInvocationHandler.UNKNOWN_METHOD_INDEX);
+    }
+
+    public DeltaSpikeProxyInvocationContext(DeltaSpikeProxyInvocationHandler invocationHandler,
+            BeanManager beanManager, List<Interceptor<H>> interceptors,
+            T target, Method method, Object[] parameters, Object timer, int superAccessorIndex)
     {
         super(target, method, parameters, timer);
 
         this.invocationHandler = invocationHandler;
         this.interceptors = interceptors;
         this.beanManager = beanManager;
+        this.superAccessorIndex = superAccessorIndex;
 
         this.interceptorIndex = 0;
     }
@@ -98,7 +108,8 @@ public class DeltaSpikeProxyInvocationContext<T, H> extends AbstractInvocationCo
         try
         {
             proceedOriginal = true;
-            proceedOriginalReturnValue = invocationHandler.proceed(target, method, parameters);
+            proceedOriginalReturnValue =
+                    invocationHandler.proceedOriginal(target, method, parameters, superAccessorIndex);
         }
         catch (Exception e)
         {
@@ -29,6 +29,7 @@ import javax.inject.Inject;
 import org.apache.deltaspike.core.util.ReflectionUtils;
 import org.apache.deltaspike.proxy.api.DeltaSpikeProxyFactory;
 import org.apache.deltaspike.proxy.spi.DeltaSpikeProxy;
+import org.apache.deltaspike.proxy.spi.DeltaSpikeProxySuperAccessor;
 
 /**
  * The {@link InvocationHandler} which will be called directly by the proxy methods.
@@ -42,14 +43,43 @@ import org.apache.deltaspike.proxy.spi.DeltaSpikeProxy;
 @ApplicationScoped
 public class DeltaSpikeProxyInvocationHandler implements InvocationHandler
 {
+    /**
+     * Passed by the proxy methods which delegate to the {@link DeltaSpikeProxy#getDelegateInvocationHandler()}.
+     */
+    public static final int DELEGATE_METHOD_INDEX = -1;
+
+    /**
+     * Used if the caller doesn't know the index of the method, which requires a reflective lookup.
+     */
+    public static final int UNKNOWN_METHOD_INDEX = -2;
+
     @Inject
     private BeanManager beanManager;
     
     @Inject
     private DeltaSpikeProxyInterceptorLookup interceptorLookup;
 
+    // subclasses which override the former proceed method keep getting called
+    private final boolean legacyProceed = overridesLegacyProceed(getClass());
+
     @Override
     public Object invoke(Object proxy, Method method, Object[] parameters) throws Throwable
+    {
+        return invoke(proxy, method, parameters, UNKNOWN_METHOD_INDEX);
+    }
+
+    /**
+     * Called by the generated proxy methods.
+     *
+     * @param proxy The current proxy instance.
+     * @param method The current invoked method.
+     * @param parameters The method parameter.
+     * @param superAccessorIndex The index for {@link DeltaSpikeProxySuperAccessor#invokeSuper(int, Object[])},
+     *                           {@link #DELEGATE_METHOD_INDEX} or {@link #UNKNOWN_METHOD_INDEX}.
+     * @return The return value of the method.
+     * @throws Throwable
+     */
+    public Object invoke(Object proxy, Method method, Object[] parameters, int superAccessorIndex) throws Throwable
     {
         // check if interceptors are defined, otherwise just call the original logik
         List<Interceptor<?>> interceptors = interceptorLookup.lookup(proxy, method);
@@ -58,7 +88,7 @@ public class DeltaSpikeProxyInvocationHandler implements InvocationHandler
             try
             {
                 DeltaSpikeProxyInvocationContext invocationContext = new DeltaSpikeProxyInvocationContext(
-                        this, beanManager, interceptors, proxy, method, parameters, null);
+                        this, beanManager, interceptors, proxy, method, parameters, null, superAccessorIndex);
 
                 Object returnValue = invocationContext.proceed();
 
@@ -75,7 +105,21 @@ public class DeltaSpikeProxyInvocationHandler implements InvocationHandler
             }
         }
 
-        return proceed(proxy, method, parameters);
+        return proceedOriginal(proxy, method, parameters, superAccessorIndex);
+    }
+
+    /**
+     * Calls {@link #proceed(Object, Method, Object[])} instead of
+     * {@link #proceed(Object, Method, Object[], int)} if a subclass overrides it.
+     */
+    Object proceedOriginal(Object proxy, Method method, Object[] parameters, int superAccessorIndex)
+        throws Throwable
+    {
+        if (legacyProceed)
+        {
+            return proceed(proxy, method, parameters);
+        }
+        return proceed(proxy, method, parameters, superAccessorIndex);
     }
 
     /**
@@ -89,10 +133,33 @@ public class DeltaSpikeProxyInvocationHandler implements InvocationHandler
      * @throws Throwable
      */
     protected Object proceed(Object proxy, Method method, Object[] parameters) throws Throwable
+    {
+        return proceed(proxy, method, parameters, UNKNOWN_METHOD_INDEX);
+    }
+
+    /**
+     * Calls the original method or delegates to {@link DeltaSpikeProxy#getDelegateInvocationHandler()}
+     * after invoking the interceptor chain.
+     *
+     * @param proxy The current proxy instance.
+     * @param method The current invoked method.
+     * @param parameters The method parameter.
+     * @param superAccessorIndex The index passed by the proxy method,
+     *                           see {@link #invoke(Object, Method, Object[], int)}.
+     * @return The original value from the original method.
+     * @throws Throwable
+     */
+    protected Object proceed(Object proxy, Method method, Object[] parameters, int superAccessorIndex)
+        throws Throwable
     {
         DeltaSpikeProxy deltaSpikeProxy = (DeltaSpikeProxy) proxy;
 
-        if (contains(deltaSpikeProxy.getDelegateMethods(), method))
+        if (superAccessorIndex >= 0 && proxy instanceof DeltaSpikeProxySuperAccessor)
+        {
+            return ((DeltaSpikeProxySuperAccessor) proxy).invokeSuper(superAccessorIndex, parameters);
+        }
+
+        if (superAccessorIndex == DELEGATE_METHOD_INDEX || contains(deltaSpikeProxy.getDelegateMethods(), method))
         {
             return deltaSpikeProxy.getDelegateInvocationHandler().invoke(proxy, method, parameters);
         }
@@ -111,6 +178,25 @@ public class DeltaSpikeProxyInvocationHandler implements InvocationHandler
         }
     }
     
+    private static boolean overridesLegacyProceed(Class<?> handlerClass)
+    {
+        for (Class<?> current = handlerClass;
+             current != null && current != DeltaSpikeProxyInvocationHandler.class;
+             current = current.getSuperclass())
+        {
+            try
+            {
+                current.getDeclaredMethod("proceed", Object.class, Method.class, Object[].class);
+                return true;
+            }
+            catch (NoSuchMethodException e)
+            {
+                // check the superclass
+            }
+        }
+        return false;
+    }
+
     protected boolean contains(Method[] methods, Method method)
     {
         if (methods == null || methods.length == 0)
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.proxy.util;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import org.apache.deltaspike.core.util.ClassUtils;
+import org.apache.deltaspike.proxy.api.DeltaSpikeProxyFactory;
+
+/**
+ * Generates the proxy classes of a {@link DeltaSpikeProxyFactory} ahead of time and writes them as class files.
+ * Proxy classes which are packaged next to their target class don't get generated at runtime anymore.
+ *
+ * It can be used during the build, e.g. via the exec-maven-plugin in the <code>process-classes</code> phase:
+ * <pre>
+ * java org.apache.deltaspike.proxy.util.DeltaSpikeProxyClassFileWriter target/classes
+ *     org.apache.deltaspike.partialbean.impl.PartialBeanProxyFactory org.acme.MyPartialBean org.acme.MyRepository
+ * </pre>
+ * The factory, the target classes and a {@link org.apache.deltaspike.proxy.spi.DeltaSpikeProxyClassGenerator}
+ * have to be on the classpath.
+ * As there is no container during the build, only interceptor bindings which are declared via annotations
+ * get detected. Classes which get interceptor bindings from CDI extensions have to be proxied at runtime.
+ */
+public final class DeltaSpikeProxyClassFileWriter
+{
+    private DeltaSpikeProxyClassFileWriter()
+    {
+    }
+
+    public static void main(String[] args) throws Exception
+    {
+        if (args.length < 3)
+        {
+            throw new IllegalArgumentException("Usage: " + DeltaSpikeProxyClassFileWriter.class.getName()
+                    + " <outputDirectory> <proxyFactoryClass> <targetClass>...");
+        }
+
+        File outputDirectory = new File(args[0]);
+        DeltaSpikeProxyFactory proxyFactory = getProxyFactory(args[1]);
+        for (int i = 2; i < args.length; i++)
+        {
+            write(outputDirectory, proxyFactory, loadClass(args[i]));
+        }
+    }
+
+    /**
+     * Generates the proxy class for the given class and writes it below the output directory.
+     *
+     * @return The written class file.
+     */
+    public static File write(File outputDirectory, DeltaSpikeProxyFactory proxyFactory, Class<?> targetClass)
+        throws IOException
+    {
+        byte[] proxyBytes = proxyFactory.generateProxyClassBytes(null, targetClass);
+
+        File classFile = new File(outputDirectory,
+                proxyFactory.getProxyClassName(targetClass).replace('.', File.separatorChar) + ".class");
+        File packageDirectory = classFile.getParentFile();
+        if (!packageDirectory.isDirectory() && !packageDirectory.mkdirs())
+        {
+            throw new IOException("Cannot create directory " + packageDirectory);
+        }
+
+        OutputStream out = new FileOutputStream(classFile);
+        try
+        {
+            out.write(proxyBytes);
+        }
+        finally
+        {
+            out.close();
+        }
+        return classFile;
+    }
+
+    private static DeltaSpikeProxyFactory getProxyFactory(String className) throws Exception
+    {
+        Class<?> proxyFactoryClass = loadClass(className);
+
+        // the factories are usually singletons
+        try
+        {
+            Method getInstance = proxyFactoryClass.getMethod("getInstance");
+            if (Modifier.isStatic(getInstance.getModifiers()))
+            {
+                return (DeltaSpikeProxyFactory) getInstance.invoke(null);
+            }
+        }
+        catch (NoSuchMethodException e)
+        {
+            // use the constructor
+        }
+
+        Constructor<?> constructor = proxyFactoryClass.getDeclaredConstructor();
+        constructor.setAccessible(true);
+        return (DeltaSpikeProxyFactory) constructor.newInstance();
+    }
+
+    private static Class<?> loadClass(String className)
+    {
+        Class<?> result = ClassUtils.tryToLoadClassForName(className);
+        if (result == null)
+        {
+            throw new IllegalArgumentException("Cannot load " + className);
+        }
+        return result;
+    }
+}
@@ -19,6 +19,7 @@
 package org.apache.deltaspike.proxy.impl;
 
 import org.apache.deltaspike.proxy.spi.DeltaSpikeProxy;
+import org.apache.deltaspike.proxy.spi.DeltaSpikeProxySuperAccessor;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.InvocationHandler;
@@ -39,6 +40,7 @@ import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.Type;
 import org.objectweb.asm.commons.GeneratorAdapter;
 import org.objectweb.asm.commons.Method;
+import org.objectweb.asm.commons.TableSwitchGenerator;
 import org.apache.deltaspike.proxy.spi.DeltaSpikeProxyClassGenerator;
 
 @Typed
@@ -47,11 +49,13 @@ public class AsmDeltaSpikeProxyClassGenerator implements DeltaSpikeProxyClassGen
     private static final String FIELDNAME_INVOCATION_HANDLER = "invocationHandler";
     private static final String FIELDNAME_DELEGATE_INVOCATION_HANDLER = "delegateInvocationHandler";
     private static final String FIELDNAME_DELEGATE_METHODS = "delegateMethods";
+    private static final String FIELDNAME_PROXIED_METHODS = "proxiedMethods";
 
     private static final Type TYPE_CLASS = Type.getType(Class.class);
     private static final Type TYPE_OBJECT = Type.getType(Object.class);
     private static final Type TYPE_DELTA_SPIKE_PROXY_INVOCATION_HANDLER =
             Type.getType(DeltaSpikeProxyInvocationHandler.class);
+    private static final Type TYPE_METHOD = Type.getType(java.lang.reflect.Method.class);
     private static final Type TYPE_METHOD_ARRAY = Type.getType(java.lang.reflect.Method[].class);
     private static final Type TYPE_INVOCATION_HANDLER = Type.getType(InvocationHandler.class);
 
@@ -65,10 +69,9 @@ public class AsmDeltaSpikeProxyClassGenerator implements DeltaSpikeProxyClassGen
             java.lang.reflect.Method[] interceptMethods)
     {
         String proxyName = targetClass.getName() + suffix;
-        String classFileName = proxyName.replace('.', '/');
 
         byte[] proxyBytes = generateProxyClassBytes(targetClass,
-                classFileName, superAccessorMethodSuffix, additionalInterfaces, delegateMethods, interceptMethods);
+                suffix, superAccessorMethodSuffix, additionalInterfaces, delegateMethods, interceptMethods);
 
         Class<T> proxyClass = (Class<T>) loadClass(classLoader, proxyName, proxyBytes,
                 targetClass.getProtectionDomain());
@@ -76,13 +79,15 @@ public class AsmDeltaSpikeProxyClassGenerator implements DeltaSpikeProxyClassGen
         return proxyClass;
     }
 
-    private static byte[] generateProxyClassBytes(Class<?> targetClass,
-            String proxyName,
+    @Override
+    public byte[] generateProxyClassBytes(Class<?> targetClass,
+            String suffix,
             String superAccessorMethodSuffix,
             Class<?>[] additionalInterfaces,
             java.lang.reflect.Method[] delegateMethods,
             java.lang.reflect.Method[] interceptMethods)
     {
+        String proxyName = (targetClass.getName() + suffix).replace('.', '/');
         Class<?> superClass = targetClass;
         String[] interfaces = new String[] { };
 
@@ -92,9 +97,10 @@ public class AsmDeltaSpikeProxyClassGenerator implements DeltaSpikeProxyClassGen
             interfaces = new String[] { Type.getInternalName(targetClass) };
         }
 
-        // add DeltaSpikeProxy as interface
-        interfaces = Arrays.copyOf(interfaces, interfaces.length + 1);
-        interfaces[interfaces.length - 1] = Type.getInternalName(DeltaSpikeProxy.class);
+        // add DeltaSpikeProxy and DeltaSpikeProxySuperAccessor as interfaces
+        interfaces = Arrays.copyOf(interfaces, interfaces.length + 2);
+        interfaces[interfaces.length - 2] = Type.getInternalName(DeltaSpikeProxy.class);
+        interfaces[interfaces.length - 1] = Type.getInternalName(DeltaSpikeProxySuperAccessor.class);
 
         if (additionalInterfaces != null && additionalInterfaces.length > 0)
         {
@@ -113,25 +119,25 @@ public class AsmDeltaSpikeProxyClassGenerator implements DeltaSpikeProxyClassGen
                 superType.getInternalName(), interfaces);
 
         
+        // all proxied methods get an index into the proxiedMethods table,
+        // starting with the delegate methods followed by the intercept methods
+        java.lang.reflect.Method[] proxiedMethods = concat(delegateMethods, interceptMethods);
+        int delegateMethodCount = delegateMethods == null ? 0 : delegateMethods.length;
+
         defineDefaultConstructor(cw, proxyType, superType);
         defineDeltaSpikeProxyFields(cw);
+        defineProxiedMethodsTable(cw, proxyType, proxiedMethods);
         defineDeltaSpikeProxyMethods(cw, proxyType);
+        defineInvokeSuperMethod(cw, superType, proxiedMethods, delegateMethodCount);
 
-        if (delegateMethods != null)
-        {
-            for (java.lang.reflect.Method method : delegateMethods)
-            {
-                defineMethod(cw, method, proxyType);
-            }
-        }
-
-        if (interceptMethods != null)
+        for (int i = 0; i < proxiedMethods.length; i++)
         {
-            for (java.lang.reflect.Method method : interceptMethods)
+            if (i >= delegateMethodCount)
             {
-                defineSuperAccessorMethod(cw, method, superType, superAccessorMethodSuffix);
-                defineMethod(cw, method, proxyType);
+                defineSuperAccessorMethod(cw, proxiedMethods[i], superType, superAccessorMethodSuffix);
             }
+            defineMethod(cw, proxiedMethods[i], proxyType, i,
+                    i < delegateMethodCount ? DeltaSpikeProxyInvocationHandler.DELEGATE_METHOD_INDEX : i);
         }
 
         // copy all annotations from the source class
@@ -199,6 +205,137 @@ public class AsmDeltaSpikeProxyClassGenerator implements DeltaSpikeProxyClassGen
                 TYPE_METHOD_ARRAY.getDescriptor(), null, null).visitEnd();
     }
 
+    private static java.lang.reflect.Method[] concat(java.lang.reflect.Method[] first,
+            java.lang.reflect.Method[] second)
+    {
+        ArrayList<java.lang.reflect.Method> result = new ArrayList<java.lang.reflect.Method>();
+        if (first != null)
+        {
+            result.addAll(Arrays.asList(first));
+        }
+        if (second != null)
+        {
+            result.addAll(Arrays.asList(second));
+        }
+        return result.toArray(new java.lang.reflect.Method[result.size()]);
+    }
+
+    /**
+     * Generates:
+     * <pre>
+     * private static final Method[] proxiedMethods = new Method[] { ... };
+     * </pre>
+     * so the proxy methods don't need to look up their {@link java.lang.reflect.Method} on each invocation.
+     */
+    private static void defineProxiedMethodsTable(ClassWriter cw, Type proxyType,
+            java.lang.reflect.Method[] proxiedMethods)
+    {
+        cw.visitField(Opcodes.ACC_PRIVATE + Opcodes.ACC_STATIC + Opcodes.ACC_FINAL, FIELDNAME_PROXIED_METHODS,
+                TYPE_METHOD_ARRAY.getDescriptor(), null, null).visitEnd();
+
+        GeneratorAdapter mg = new GeneratorAdapter(Opcodes.ACC_STATIC,
+                new Method("<clinit>", Type.VOID_TYPE, new Type[]{ }),
+                null,
+                null,
+                cw);
+
+        mg.visitCode();
+
+        mg.push(proxiedMethods.length);
+        mg.newArray(TYPE_METHOD);
+        for (int i = 0; i < proxiedMethods.length; i++)
+        {
+            // keep copy of array on stack
+            mg.dup();
+
+            mg.push(i);
+            loadCurrentMethod(mg, proxiedMethods[i], Type.getType(proxiedMethods[i]));
+            mg.arrayStore(TYPE_METHOD);
+        }
+        mg.putStatic(proxyType, FIELDNAME_PROXIED_METHODS, TYPE_METHOD_ARRAY);
+        mg.returnValue();
+
+        mg.endMethod();
+        mg.visitEnd();
+    }
+
+    /**
+     * Generates:
+     * <pre>
+     * public Object invokeSuper(int superAccessorIndex, Object[] parameters)
+     * {
+     *     switch (superAccessorIndex)
+     *     {
+     *         case 2:
+     *             return super.interceptedMethod((String) parameters[0]);
+     *         ...
+     *         default:
+     *             throw new IllegalArgumentException(...);
+     *     }
+     * }
+     * </pre>
+     */
+    private static void defineInvokeSuperMethod(ClassWriter cw, final Type superType,
+            final java.lang.reflect.Method[] proxiedMethods, int delegateMethodCount)
+    {
+        final GeneratorAdapter mg;
+        try
+        {
+            Method asmMethod = Method.getMethod(DeltaSpikeProxySuperAccessor.class.getDeclaredMethod(
+                    "invokeSuper", int.class, Object[].class));
+            mg = new GeneratorAdapter(Opcodes.ACC_PUBLIC, asmMethod, null, getTypes(Throwable.class), cw);
+        }
+        catch (NoSuchMethodException e)
+        {
+            throw new IllegalStateException("Unable to implement " + DeltaSpikeProxySuperAccessor.class.getName(), e);
+        }
+
+        mg.visitCode();
+
+        int[] keys = new int[proxiedMethods.length - delegateMethodCount];
+        for (int i = 0; i < keys.length; i++)
+        {
+            keys[i] = delegateMethodCount + i;
+        }
+
+        mg.loadArg(0);
+        mg.tableSwitch(keys, new TableSwitchGenerator()
+        {
+            @Override
+            public void generateCase(int key, Label end)
+            {
+                java.lang.reflect.Method method = proxiedMethods[key];
+                Type methodType = Type.getType(method);
+                Type[] argumentTypes = methodType.getArgumentTypes();
+
+                mg.loadThis();
+                for (int i = 0; i < argumentTypes.length; i++)
+                {
+                    mg.loadArg(1);
+                    mg.push(i);
+                    mg.arrayLoad(TYPE_OBJECT);
+                    mg.unbox(argumentTypes[i]);
+                }
+                mg.visitMethodInsn(Opcodes.INVOKESPECIAL,
+                        superType.getInternalName(),
+                        method.getName(),
+                        methodType.getDescriptor(),
+                        false);
+                mg.valueOf(methodType.getReturnType());
+                mg.returnValue();
+            }
+
+            @Override
+            public void generateDefault()
+            {
+                mg.throwException(Type.getType(IllegalArgumentException.class), "Unknown super accessor index");
+            }
+        });
+
+        mg.endMethod();
+        mg.visitEnd();
+    }
+
     private static void defineDeltaSpikeProxyMethods(ClassWriter cw, Type proxyType)
     {
         try
@@ -332,7 +469,8 @@ public class AsmDeltaSpikeProxyClassGenerator implements DeltaSpikeProxyClassGen
         mg.visitEnd();
     }
     
-    private static void defineMethod(ClassWriter cw, java.lang.reflect.Method method, Type proxyType)
+    private static void defineMethod(ClassWriter cw, java.lang.reflect.Method method, Type proxyType,
+            int proxiedMethodIndex, int superAccessorIndex)
     {
         Type methodType = Type.getType(method);
         
@@ -367,11 +505,14 @@ public class AsmDeltaSpikeProxyClassGenerator implements DeltaSpikeProxyClassGen
         mg.loadThis();
         mg.getField(proxyType, FIELDNAME_INVOCATION_HANDLER, TYPE_DELTA_SPIKE_PROXY_INVOCATION_HANDLER);
         mg.loadThis();
-        loadCurrentMethod(mg, method, methodType);
+        mg.getStatic(proxyType, FIELDNAME_PROXIED_METHODS, TYPE_METHOD_ARRAY);
+        mg.push(proxiedMethodIndex);
+        mg.arrayLoad(TYPE_METHOD);
         loadArguments(mg, method, methodType);
-        
+        mg.push(superAccessorIndex);
+
         mg.invokeVirtual(TYPE_DELTA_SPIKE_PROXY_INVOCATION_HANDLER,
-                Method.getMethod("Object invoke(Object, java.lang.reflect.Method, Object[])"));
+                Method.getMethod("Object invoke(Object, java.lang.reflect.Method, Object[], int)"));
 
         // cast the result
         mg.unbox(methodType.getReturnType());
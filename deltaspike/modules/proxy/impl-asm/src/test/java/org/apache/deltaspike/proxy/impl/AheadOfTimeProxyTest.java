@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.proxy.impl;
+
+import java.io.File;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.apache.deltaspike.proxy.api.DeltaSpikeProxyFactory;
+import org.apache.deltaspike.proxy.spi.DeltaSpikeProxy;
+import org.apache.deltaspike.proxy.util.DeltaSpikeProxyClassFileWriter;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AheadOfTimeProxyTest
+{
+    @Test
+    public void writeProxyClassFile() throws Exception
+    {
+        File outputDirectory = Files.createTempDirectory("deltaspike-proxy").toFile();
+        TestProxyFactory proxyFactory = new TestProxyFactory("$$AheadOfTimeTest");
+
+        File classFile = DeltaSpikeProxyClassFileWriter.write(outputDirectory, proxyFactory, TestClass.class);
+        Assert.assertEquals(new File(outputDirectory,
+                TestClass.class.getName().replace('.', File.separatorChar) + "$$AheadOfTimeTest.class"), classFile);
+        Assert.assertTrue(classFile.isFile());
+
+        URLClassLoader classLoader = new URLClassLoader(
+                new URL[] { outputDirectory.toURI().toURL() }, TestClass.class.getClassLoader());
+        try
+        {
+            Class<?> proxyClass = classLoader.loadClass(TestClass.class.getName() + "$$AheadOfTimeTest");
+            Assert.assertTrue(TestClass.class.isAssignableFrom(proxyClass));
+            Assert.assertTrue(DeltaSpikeProxy.class.isAssignableFrom(proxyClass));
+            Assert.assertTrue(proxyClass.newInstance() instanceof DeltaSpikeProxy);
+        }
+        finally
+        {
+            classLoader.close();
+        }
+    }
+
+    @Test
+    public void concurrentProxyClassGeneration() throws Exception
+    {
+        final TestProxyFactory proxyFactory = new TestProxyFactory("$$ConcurrentTest");
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try
+        {
+            List<Future<Class<?>>> proxyClasses = new ArrayList<Future<Class<?>>>();
+            for (int i = 0; i < 8; i++)
+            {
+                final Class<?> targetClass = i % 2 == 0 ? TestClass.class : TestInterceptedClass.class;
+                proxyClasses.add(executor.submit(new Callable<Class<?>>()
+                {
+                    @Override
+                    public Class<?> call()
+                    {
+                        return proxyFactory.getProxyClass(null, targetClass);
+                    }
+                }));
+            }
+
+            for (int i = 0; i < proxyClasses.size(); i++)
+            {
+                Assert.assertSame(proxyClasses.get(i % 2).get(), proxyClasses.get(i).get());
+            }
+            Assert.assertNotSame(proxyClasses.get(0).get(), proxyClasses.get(1).get());
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+    private static class TestProxyFactory extends DeltaSpikeProxyFactory
+    {
+        private final String suffix;
+
+        private TestProxyFactory(String suffix)
+        {
+            this.suffix = suffix;
+        }
+
+        @Override
+        protected ArrayList<Method> getDelegateMethods(Class<?> targetClass, ArrayList<Method> allMethods)
+        {
+            return null;
+        }
+
+        @Override
+        protected String getProxyClassSuffix()
+        {
+            return suffix;
+        }
+    }
+}
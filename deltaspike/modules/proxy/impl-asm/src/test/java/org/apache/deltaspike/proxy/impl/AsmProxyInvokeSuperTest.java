@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.proxy.impl;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.List;
+import javax.enterprise.inject.spi.Interceptor;
+import org.apache.deltaspike.proxy.spi.DeltaSpikeProxy;
+import org.apache.deltaspike.proxy.spi.DeltaSpikeProxySuperAccessor;
+import org.apache.deltaspike.proxy.spi.invocation.DeltaSpikeProxyInterceptorLookup;
+import org.apache.deltaspike.proxy.spi.invocation.DeltaSpikeProxyInvocationHandler;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class AsmProxyInvokeSuperTest
+{
+    private static Method[] interceptMethods;
+    private static Class<? extends TestInterceptedClass> proxyClass;
+
+    @BeforeClass
+    public static void init() throws Exception
+    {
+        interceptMethods = new Method[] {
+            TestInterceptedClass.class.getMethod("add", int.class, long.class),
+            TestInterceptedClass.class.getMethod("echo", String.class),
+            TestInterceptedClass.class.getMethod("fail", String.class)
+        };
+
+        AsmDeltaSpikeProxyClassGenerator asmProxyClassGenerator = new AsmDeltaSpikeProxyClassGenerator();
+        proxyClass = asmProxyClassGenerator.generateProxyClass(TestInterceptedClass.class.getClassLoader(),
+                TestInterceptedClass.class,
+                "$InvokeSuperTest",
+                "$super",
+                null,
+                null,
+                interceptMethods);
+    }
+
+    @Test
+    public void invokeSuperWithoutReflection() throws Throwable
+    {
+        DeltaSpikeProxySuperAccessor proxy = (DeltaSpikeProxySuperAccessor) proxyClass.newInstance();
+
+        Assert.assertEquals(5, proxy.invokeSuper(0, new Object[] { 2, 3L }));
+        Assert.assertEquals("value", proxy.invokeSuper(1, new Object[] { "value" }));
+
+        try
+        {
+            proxy.invokeSuper(2, new Object[] { "expected" });
+            Assert.fail();
+        }
+        catch (IOException e)
+        {
+            Assert.assertEquals("expected", e.getMessage());
+        }
+
+        try
+        {
+            proxy.invokeSuper(3, new Object[0]);
+            Assert.fail();
+        }
+        catch (IllegalArgumentException e)
+        {
+            // expected
+        }
+    }
+
+    @Test
+    public void proxyMethodsPassTheirIndex() throws Exception
+    {
+        final StringBuilder invocations = new StringBuilder();
+
+        TestInterceptedClass instance = proxyClass.newInstance();
+        ((DeltaSpikeProxy) instance).setInvocationHandler(new DeltaSpikeProxyInvocationHandler()
+        {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] parameters, int superAccessorIndex)
+                throws Throwable
+            {
+                Assert.assertEquals(interceptMethods[superAccessorIndex], method);
+                invocations.append(method.getName()).append(' ');
+                return proceed(proxy, method, parameters, superAccessorIndex);
+            }
+        });
+
+        Assert.assertEquals(7, instance.add(3, 4L));
+        Assert.assertEquals("value", instance.echo("value"));
+        try
+        {
+            instance.fail("expected");
+            Assert.fail();
+        }
+        catch (IOException e)
+        {
+            Assert.assertEquals("expected", e.getMessage());
+        }
+
+        Assert.assertEquals("add echo fail ", invocations.toString());
+    }
+
+    @Test
+    public void overriddenProceedStillGetsCalled() throws Exception
+    {
+        final StringBuilder invocations = new StringBuilder();
+
+        DeltaSpikeProxyInvocationHandler invocationHandler = new DeltaSpikeProxyInvocationHandler()
+        {
+            @Override
+            protected Object proceed(Object proxy, Method method, Object[] parameters) throws Throwable
+            {
+                invocations.append(method.getName()).append(' ');
+                return super.proceed(proxy, method, parameters);
+            }
+        };
+        Field interceptorLookup = DeltaSpikeProxyInvocationHandler.class.getDeclaredField("interceptorLookup");
+        interceptorLookup.setAccessible(true);
+        interceptorLookup.set(invocationHandler, new DeltaSpikeProxyInterceptorLookup()
+        {
+            @Override
+            public List<Interceptor<?>> lookup(Object instance, Method method)
+            {
+                return null;
+            }
+        });
+
+        TestInterceptedClass instance = proxyClass.newInstance();
+        ((DeltaSpikeProxy) instance).setInvocationHandler(invocationHandler);
+
+        Assert.assertEquals(7, instance.add(3, 4L));
+        Assert.assertEquals("value", instance.echo("value"));
+        Assert.assertEquals("add echo ", invocations.toString());
+    }
+}
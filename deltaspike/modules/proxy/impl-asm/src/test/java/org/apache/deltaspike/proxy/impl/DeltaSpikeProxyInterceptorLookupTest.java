@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.proxy.impl;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.inject.spi.Interceptor;
+import javax.inject.Inject;
+
+import org.apache.deltaspike.proxy.impl.enableinterceptors.MyBean;
+import org.apache.deltaspike.proxy.impl.enableinterceptors.MyBeanInterceptor;
+import org.apache.deltaspike.proxy.spi.invocation.DeltaSpikeProxyInterceptorLookup;
+import org.apache.deltaspike.proxy.util.EnableInterceptorsInterceptor;
+import org.apache.deltaspike.test.proxy.impl.util.ArchiveUtils;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.StringAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.jboss.shrinkwrap.api.spec.WebArchive;
+import org.jboss.shrinkwrap.descriptor.api.Descriptors;
+import org.jboss.shrinkwrap.descriptor.api.beans10.BeansDescriptor;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(Arquillian.class)
+public class DeltaSpikeProxyInterceptorLookupTest
+{
+    @Deployment
+    public static WebArchive war()
+    {
+        String simpleName = DeltaSpikeProxyInterceptorLookupTest.class.getSimpleName();
+        String archiveName = simpleName.substring(0, 1).toLowerCase() + simpleName.substring(1);
+
+        BeansDescriptor beansWithEnablingInterceptor = Descriptors.create(BeansDescriptor.class);
+        beansWithEnablingInterceptor.getOrCreateInterceptors().clazz(EnableInterceptorsInterceptor.class.getName());
+
+        BeansDescriptor beans = Descriptors.create(BeansDescriptor.class);
+        beans.getOrCreateInterceptors().clazz(MyBeanInterceptor.class.getName());
+
+        JavaArchive testJar = ShrinkWrap.create(JavaArchive.class, archiveName + ".jar")
+                .addPackage(MyBean.class.getPackage())
+                .addClass(DeltaSpikeProxyInterceptorLookupTest.class)
+                .addAsManifestResource(new StringAsset(beansWithEnablingInterceptor.exportAsString()), "beans.xml");
+
+        return ShrinkWrap.create(WebArchive.class, archiveName + ".war")
+                .addAsLibraries(ArchiveUtils.getDeltaSpikeCoreAndProxyArchive())
+                .addAsLibraries(testJar)
+                .addAsWebInfResource(new StringAsset(beans.exportAsString()), "beans.xml");
+    }
+
+    @Inject
+    private DeltaSpikeProxyInterceptorLookup interceptorLookup;
+
+    @Inject
+    private MyBean myBean;
+
+    @Test
+    public void repeatedLookup() throws Exception
+    {
+        Method intercepted = MyBean.class.getMethod("somethingIntercepted");
+        Method notIntercepted = MyBean.class.getMethod("somethingNotIntercepted");
+
+        List<Interceptor<?>> interceptors = interceptorLookup.lookup(myBean, intercepted);
+        Assert.assertEquals(1, interceptors.size());
+        Assert.assertEquals(MyBeanInterceptor.class, interceptors.get(0).getBeanClass());
+
+        // the chain gets resolved once and is shared afterwards
+        Assert.assertSame(interceptors, interceptorLookup.lookup(myBean, intercepted));
+        Assert.assertTrue(interceptorLookup.lookup(myBean, notIntercepted).isEmpty());
+    }
+
+    @Test
+    public void concurrentLookup() throws Exception
+    {
+        final Method method = MyBean.class.getMethod("somethingIntercepted");
+        final int threadCount = 8;
+        final CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try
+        {
+            List<Future<List<Interceptor<?>>>> results = new ArrayList<Future<List<Interceptor<?>>>>();
+            for (int i = 0; i < threadCount; i++)
+            {
+                results.add(executor.submit(new Callable<List<Interceptor<?>>>()
+                {
+                    @Override
+                    public List<Interceptor<?>> call() throws Exception
+                    {
+                        start.await();
+                        return interceptorLookup.lookup(myBean, method);
+                    }
+                }));
+            }
+            start.countDown();
+
+            List<Interceptor<?>> first = results.get(0).get(10, TimeUnit.SECONDS);
+            Assert.assertEquals(1, first.size());
+            for (Future<List<Interceptor<?>>> result : results)
+            {
+                Assert.assertSame(first, result.get(10, TimeUnit.SECONDS));
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+}